@@ -0,0 +1,168 @@
+/**
+ * AnswerComparator - Vergleicht Antworten mit dem erwarteten Ergebnis
+ *
+ * Eine feste absolute Toleranz passt nicht zu allen Aufgaben: Bei großen
+ * Determinanten ist 0,001 unnötig streng gegenüber Rechenrauschen, bei kleinen
+ * Einträgen einer Inversen viel zu großzügig. Jede {@link Question} bringt
+ * deshalb ihren eigenen Vergleich mit:
+ *
+ * - EXACT_INTEGER: ganzzahlige Ergebnisse müssen exakt stimmen
+ * - EXACT_RATIONAL: Brüche mit bekanntem Nenner (z.B. det bei der Inversen);
+ *   die Antwort mal Nenner muss den ganzzahligen Zähler treffen, "1/3" und
+ *   "2/6" sind gleichwertig
+ * - RELATIVE: relative Abweichung höchstens epsilon (bei Werten unter 1 absolut)
+ * - ULP: höchstens n darstellbare double-Werte Abstand, für maschinell
+ *   berechnete Antworten
+ *
+ * Beim Matrixvergleich wird der Modus einmal pro Zeile ausgewertet, danach
+ * läuft eine einfache Schleife über die Einträge, die beim ersten Fehler
+ * abbricht.
+ */
+public final class AnswerComparator {
+
+    public enum Mode { EXACT_INTEGER, EXACT_RATIONAL, RELATIVE, ULP }
+
+    // Rundungsrauschen beim Einlesen von Brüchen wie 1/3
+    private static final double RATIONAL_SLACK = 1e-9;
+
+    public static final AnswerComparator EXACT_INTEGER = new AnswerComparator(Mode.EXACT_INTEGER, 0, 1, 0);
+
+    // Bisheriges Verhalten (0,001) für Werte unter 1, darüber relativ
+    public static final AnswerComparator DEFAULT_RELATIVE = relative(0.001);
+
+    private final Mode mode;
+    private final double epsilon;
+    private final double denominator;
+    private final long maxUlps;
+
+    private AnswerComparator(Mode mode, double epsilon, double denominator, long maxUlps) {
+        this.mode = mode;
+        this.epsilon = epsilon;
+        this.denominator = denominator;
+        this.maxUlps = maxUlps;
+    }
+
+    /**
+     * Exakte Brüche mit dem angegebenen Nenner (ungleich 0)
+     */
+    public static AnswerComparator rational(double denominator) {
+        if (denominator == 0 || Double.isNaN(denominator)) {
+            throw new IllegalArgumentException("Nenner darf nicht 0 sein");
+        }
+        return new AnswerComparator(Mode.EXACT_RATIONAL, 0, Math.abs(denominator), 0);
+    }
+
+    public static AnswerComparator relative(double epsilon) {
+        return new AnswerComparator(Mode.RELATIVE, epsilon, 1, 0);
+    }
+
+    public static AnswerComparator ulps(long maxUlps) {
+        return new AnswerComparator(Mode.ULP, 0, 1, maxUlps);
+    }
+
+    /**
+     * Passender Vergleich für ein Ergebnis: exakt, wenn alle Einträge ganzzahlig sind
+     */
+    public static AnswerComparator forExpected(double[][] expected) {
+        for (double[] row : expected) {
+            for (double value : row) {
+                if (value != Math.rint(value) || Double.isInfinite(value)) return DEFAULT_RELATIVE;
+            }
+        }
+        return EXACT_INTEGER;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Nenner im Modus EXACT_RATIONAL, sonst 1
+     */
+    public double getDenominator() {
+        return denominator;
+    }
+
+    /**
+     * Vergleicht einen einzelnen Eintrag; NaN (ungültige Eingabe) ist nie richtig
+     */
+    public boolean matches(double actual, double expected) {
+        return !mismatch(actual, expected);
+    }
+
+    /**
+     * Gleiche Form und jeder Eintrag passend
+     */
+    public boolean matches(double[][] actual, double[][] expected) {
+        if (actual.length != expected.length) return false;
+        for (int i = 0; i < actual.length; i++) {
+            if (actual[i].length != expected[i].length) return false;
+            if (!matchesRow(actual[i], expected[i])) return false;
+        }
+        return true;
+    }
+
+    private boolean matchesRow(double[] actual, double[] expected) {
+        switch (mode) {
+            case EXACT_INTEGER -> {
+                for (int k = 0; k < actual.length; k++) {
+                    if (actual[k] != expected[k]) return false;
+                }
+            }
+            case EXACT_RATIONAL -> {
+                for (int k = 0; k < actual.length; k++) {
+                    if (rationalMismatch(actual[k], expected[k])) return false;
+                }
+            }
+            case RELATIVE -> {
+                for (int k = 0; k < actual.length; k++) {
+                    if (relativeMismatch(actual[k], expected[k])) return false;
+                }
+            }
+            case ULP -> {
+                for (int k = 0; k < actual.length; k++) {
+                    if (ulpMismatch(actual[k], expected[k])) return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean mismatch(double actual, double expected) {
+        return switch (mode) {
+            case EXACT_INTEGER -> actual != expected;
+            case EXACT_RATIONAL -> rationalMismatch(actual, expected);
+            case RELATIVE -> relativeMismatch(actual, expected);
+            case ULP -> ulpMismatch(actual, expected);
+        };
+    }
+
+    private boolean rationalMismatch(double actual, double expected) {
+        double numerator = Math.rint(expected * denominator);
+        double scaled = actual * denominator;
+        // Negiert, damit NaN als Fehler zählt
+        return !(Math.abs(scaled - numerator) <= RATIONAL_SLACK * Math.max(1, Math.abs(numerator)));
+    }
+
+    private boolean relativeMismatch(double actual, double expected) {
+        return !(Math.abs(actual - expected) <= epsilon * Math.max(1, Math.abs(expected)));
+    }
+
+    private boolean ulpMismatch(double actual, double expected) {
+        if (Double.isNaN(actual) || Double.isNaN(expected)) return true;
+        long a = orderedBits(actual);
+        long b = orderedBits(expected);
+        // Überläuft nur bei extrem weit entfernten Werten, dann negativ
+        long distance = a > b ? a - b : b - a;
+        return distance < 0 || distance > maxUlps;
+    }
+
+    /**
+     * Bitmuster so umgeordnet, dass benachbarte doubles benachbarte longs sind
+     * (auch über die Null hinweg)
+     */
+    private static long orderedBits(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? Long.MIN_VALUE - bits : bits;
+    }
+}
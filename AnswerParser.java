@@ -0,0 +1,158 @@
+import javax.swing.JTextField;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Segment;
+
+/**
+ * AnswerParser - Liest Zahlen direkt aus dem Document der Eingabefelder
+ *
+ * Statt getText().trim().replace(",", ".") und Double.parseDouble pro Feld
+ * werden die Zeichen über ein wiederverwendetes {@link Segment} gelesen
+ * und in einem Durchlauf ausgewertet, ohne Zwischen-Strings anzulegen.
+ *
+ * Erlaubt sind ganze Zahlen, Dezimalzahlen mit Komma oder Punkt und
+ * Brüche wie -3/4 (Leerzeichen außen und um den Bruchstrich werden
+ * ignoriert). Ungültige oder leere Eingaben ergeben NaN.
+ *
+ * Nicht threadsicher - jedes Panel hält eine eigene Instanz für den Event-Thread.
+ */
+public final class AnswerParser {
+
+    // Mehr Stellen passen nicht verlustfrei in einen long
+    private static final int MAX_DIGITS = 18;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // Zeigt direkt in den Puffer des Documents; nur wenn der Text über die
+    // Lücke des Puffers reicht, kopiert getText ihn in ein eigenes Array
+    private final Segment segment = new Segment();
+
+    // Lesezeiger für den aktuellen Durchlauf
+    private char[] chars;
+    private int pos;
+    private int end;
+
+    /**
+     * Wert eines Eingabefelds oder NaN
+     */
+    public double parse(JTextField field) {
+        return parse(field.getDocument());
+    }
+
+    /**
+     * Wert eines Documents oder NaN
+     */
+    public double parse(Document document) {
+        try {
+            document.getText(0, document.getLength(), segment);
+        } catch (BadLocationException e) {
+            return Double.NaN;
+        }
+        return parse(segment.array, segment.offset, segment.count);
+    }
+
+    /**
+     * Liest alle Felder in result (gleiche Dimensionen) und liefert
+     * die Anzahl ungültiger Felder; diese stehen in result als NaN
+     */
+    public int parseGrid(JTextField[][] fields, double[][] result) {
+        int invalid = 0;
+        for (int i = 0; i < fields.length; i++) {
+            for (int j = 0; j < fields[i].length; j++) {
+                double value = parse(fields[i][j].getDocument());
+                if (Double.isNaN(value)) invalid++;
+                result[i][j] = value;
+            }
+        }
+        return invalid;
+    }
+
+    /**
+     * Wertet chars[offset .. offset+length) aus
+     */
+    public double parse(char[] chars, int offset, int length) {
+        this.chars = chars;
+        this.pos = offset;
+        this.end = offset + length;
+
+        skipWhitespace();
+        double numerator = readNumber(true);
+        skipWhitespace();
+
+        double result = numerator;
+        if (pos < end && chars[pos] == '/') {
+            pos++;
+            skipWhitespace();
+            double denominator = readNumber(false);
+            skipWhitespace();
+            result = denominator == 0 ? Double.NaN : numerator / denominator;
+        }
+
+        // Reste hinter der Zahl machen die Eingabe ungültig
+        boolean complete = pos == end;
+        this.chars = null;
+        return complete ? result : Double.NaN;
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && Character.isWhitespace(chars[pos])) pos++;
+    }
+
+    /**
+     * Liest [Vorzeichen] Ziffern [(,|.) Ziffern], NaN ohne Ziffern
+     */
+    private double readNumber(boolean signAllowed) {
+        boolean negative = false;
+        if (signAllowed && pos < end && (chars[pos] == '-' || chars[pos] == '−' || chars[pos] == '+')) {
+            negative = chars[pos] != '+';
+            pos++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int significantDigits = 0;
+        int fractionDigits = 0;
+        int ignoredIntegerDigits = 0;
+        boolean seenSeparator = false;
+
+        while (pos < end) {
+            char c = chars[pos];
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (significantDigits < MAX_DIGITS) {
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) significantDigits++;
+                    if (seenSeparator) fractionDigits++;
+                } else if (!seenSeparator) {
+                    // Sehr große Zahl: weitere Stellen nur noch zählen
+                    ignoredIntegerDigits++;
+                }
+                pos++;
+            } else if ((c == ',' || c == '.') && !seenSeparator) {
+                seenSeparator = true;
+                pos++;
+            } else {
+                break;
+            }
+        }
+
+        // Mindestens eine Ziffer (auch "0" oder ",5")
+        if (digits == 0) return Double.NaN;
+
+        double value = mantissa;
+        if (ignoredIntegerDigits > 0) {
+            value *= Math.pow(10, ignoredIntegerDigits);
+        }
+        if (fractionDigits > 0) {
+            value /= fractionDigits <= MAX_DIGITS ? POWERS_OF_TEN[fractionDigits] : Math.pow(10, fractionDigits);
+        }
+        return negative ? -value : value;
+    }
+}
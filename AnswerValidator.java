@@ -0,0 +1,161 @@
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.Document;
+
+/**
+ * AnswerValidator - Prüft die Eingabefelder schon während des Tippens
+ *
+ * Jedes Feld bekommt einen {@link DocumentListener}, der bei einer Änderung
+ * nur diese eine Zelle neu liest und mit dem erwarteten Wert vergleicht.
+ * Das Ergebnis steht in einer Bitmap (ein Bit pro Zelle) zusammen mit
+ * einem laufenden Zähler der richtigen Zellen, "alles richtig" ist damit
+ * ohne erneutes Durchlaufen des Rasters bekannt.
+ *
+ * Optional wird ein Callback ausgelöst, sobald die letzte Zelle richtig wird
+ * (automatisches Absenden im Herausforderungsmodus).
+ *
+ * Werden die Felder für die nächste Aufgabe wiederverwendet (siehe
+ * {@link QuestionView}), hängt {@link #dispose} die Listener wieder ab.
+ */
+public final class AnswerValidator {
+
+    private final double[][] expected;
+    private final AnswerComparator comparator;
+    private final AnswerParser parser;
+    private final int cols;
+
+    // Zuletzt gelesene Werte (NaN = ungültig) und Bitmap der richtigen Zellen
+    private final double[][] values;
+    private final long[] correctBits;
+    private int correctCount;
+    private int invalidCount;
+
+    // Zum Abhängen in dispose()
+    private final Document[] documents;
+    private final DocumentListener[] listeners;
+
+    private Runnable onAllCorrect;
+
+    public AnswerValidator(JTextField[][] fields, double[][] expected, AnswerComparator comparator,
+                           AnswerParser parser) {
+        this.expected = expected;
+        this.comparator = comparator;
+        this.parser = parser;
+        this.cols = fields[0].length;
+        this.values = new double[fields.length][cols];
+        this.correctBits = new long[(fields.length * cols + 63) / 64];
+        this.documents = new Document[fields.length * cols];
+        this.listeners = new DocumentListener[fields.length * cols];
+
+        for (int i = 0; i < fields.length; i++) {
+            for (int j = 0; j < cols; j++) {
+                values[i][j] = Double.NaN;
+                invalidCount++;
+                final int row = i, col = j;
+                Document document = fields[i][j].getDocument();
+                DocumentListener listener = new DocumentListener() {
+                    @Override
+                    public void insertUpdate(DocumentEvent e) {
+                        update(row, col, document);
+                    }
+
+                    @Override
+                    public void removeUpdate(DocumentEvent e) {
+                        update(row, col, document);
+                    }
+
+                    @Override
+                    public void changedUpdate(DocumentEvent e) {
+                        // Nur Attribute geändert, der Text bleibt gleich
+                    }
+                };
+                document.addDocumentListener(listener);
+                documents[i * cols + j] = document;
+                listeners[i * cols + j] = listener;
+                // Bereits vorhandenen Text übernehmen
+                if (document.getLength() > 0) {
+                    update(row, col, document);
+                }
+            }
+        }
+    }
+
+    /**
+     * Entfernt die Listener von den Feldern; danach bleibt der Stand eingefroren
+     * und der Callback wird nicht mehr ausgelöst
+     */
+    public void dispose() {
+        for (int k = 0; k < documents.length; k++) {
+            documents[k].removeDocumentListener(listeners[k]);
+        }
+        onAllCorrect = null;
+    }
+
+    /**
+     * Wird ausgelöst (über invokeLater), sobald alle Zellen richtig sind
+     */
+    public void setOnAllCorrect(Runnable onAllCorrect) {
+        this.onAllCorrect = onAllCorrect;
+    }
+
+    /**
+     * Liest eine geänderte Zelle neu und aktualisiert Bitmap und Zähler
+     */
+    private void update(int row, int col, Document document) {
+        double value = parser.parse(document);
+        double before = values[row][col];
+        values[row][col] = value;
+
+        if (Double.isNaN(before) != Double.isNaN(value)) {
+            invalidCount += Double.isNaN(value) ? 1 : -1;
+        }
+
+        int index = row * cols + col;
+        long mask = 1L << (index & 63);
+        boolean wasCorrect = (correctBits[index >>> 6] & mask) != 0;
+        boolean correct = comparator.matches(value, expected[row][col]);
+        if (correct == wasCorrect) return;
+
+        if (correct) {
+            correctBits[index >>> 6] |= mask;
+            correctCount++;
+            if (isAllCorrect() && onAllCorrect != null) {
+                // Nicht innerhalb der Document-Benachrichtigung umbauen
+                SwingUtilities.invokeLater(onAllCorrect);
+            }
+        } else {
+            correctBits[index >>> 6] &= ~mask;
+            correctCount--;
+        }
+    }
+
+    public boolean isCorrect(int row, int col) {
+        int index = row * cols + col;
+        return (correctBits[index >>> 6] & (1L << (index & 63))) != 0;
+    }
+
+    public boolean isAllCorrect() {
+        return correctCount == values.length * cols;
+    }
+
+    public int getCorrectCount() {
+        return correctCount;
+    }
+
+    /**
+     * Anzahl leerer oder ungültiger Felder
+     */
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * Die aktuell eingegebenen Werte (ungültige Felder als NaN).
+     * Wird laufend aktualisiert und darf nicht verändert werden.
+     */
+    public double[][] getValues() {
+        return values;
+    }
+}
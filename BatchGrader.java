@@ -0,0 +1,300 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * BatchGrader - Wertet eingereichte Antworten ohne Oberfläche aus
+ *
+ * Für Lehrkräfte, die Antworten auf Papier oder online sammeln. Jede Zeile
+ * der Eingabe ist eine Abgabe:
+ *
+ *   schüler;aufgabenId;antwort
+ *
+ * Die Aufgaben-ID ist die Datensatznummer in der {@link ExerciseBank}.
+ * Die Antwort enthält die Zeilen getrennt durch '|', die Einträge einer Zeile
+ * durch Leerzeichen, z.B. "1 -2|3/4 0,5". Ein Einzelwert ist einfach "17".
+ *
+ * Die Eingabe wird in Blöcken gelesen und auf einem Work-Stealing-Pool
+ * ausgewertet. Ein Semaphor begrenzt die Zahl der Blöcke im Speicher,
+ * sodass auch Millionen Abgaben mit konstantem Speicher durchlaufen.
+ * Das erwartete Ergebnis wird pro Aufgabe nur einmal berechnet.
+ *
+ * Aufruf: java BatchGrader abgaben.csv [ergebnisse.csv]   ("-" = Standardein-/ausgabe)
+ */
+public class BatchGrader {
+
+    private static final int BATCH_SIZE = 8192;
+    private static final int SPLIT_THRESHOLD = 512;
+
+    private final ExerciseBank bank;
+    private final ForkJoinPool pool;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    // Erwartete Ergebnisse, lazy pro Aufgaben-ID (gleichzeitiges Füllen ist harmlos)
+    private final Solution[] solutions;
+
+    // Ergebnisse pro Schüler: {abgegeben, richtig, ungültig, punkte}
+    private final ConcurrentHashMap<String, long[]> students = new ConcurrentHashMap<>();
+
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    /**
+     * Erwartetes Ergebnis einer Aufgabe mit ihrem Vergleich und ihren Punkten
+     */
+    private static class Solution {
+        final double[][] expected;
+        final AnswerComparator comparator;
+        final int points;
+
+        Solution(double[][] expected, AnswerComparator comparator, int points) {
+            this.expected = expected;
+            this.comparator = comparator;
+            this.points = points;
+        }
+    }
+
+    public BatchGrader(ExerciseBank bank, int parallelism) {
+        this.bank = bank;
+        this.pool = new ForkJoinPool(parallelism);
+        this.maxInFlight = 2 * parallelism;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.solutions = new Solution[bank.size()];
+    }
+
+    /**
+     * Liest alle Abgaben und wartet, bis jede ausgewertet ist.
+     * Liefert die Anzahl der gelesenen Zeilen.
+     */
+    public long grade(BufferedReader input) throws IOException, InterruptedException {
+        long lines = 0;
+        String[] batch = new String[BATCH_SIZE];
+        int size = 0;
+
+        String line;
+        while ((line = input.readLine()) != null) {
+            if (line.isEmpty() || line.charAt(0) == '#') continue;
+            batch[size++] = line;
+            lines++;
+            if (size == BATCH_SIZE) {
+                submit(batch, size);
+                batch = new String[BATCH_SIZE];
+                size = 0;
+            }
+        }
+        if (size > 0) submit(batch, size);
+
+        // Warten, bis alle Blöcke zurückgegeben wurden
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        pool.shutdown();
+
+        Throwable error = failure.get();
+        if (error != null) {
+            throw new IOException("Auswertung fehlgeschlagen", error);
+        }
+        return lines;
+    }
+
+    private void submit(String[] batch, int size) throws InterruptedException {
+        // Blockiert, solange schon genug Blöcke in Arbeit sind
+        inFlight.acquire();
+        pool.execute(() -> {
+            try {
+                new GradeTask(batch, 0, size).invoke();
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Teilt einen Block rekursiv auf, bis die Stücke klein genug sind
+     */
+    private class GradeTask extends RecursiveAction {
+        private final String[] lines;
+        private final int from;
+        private final int to;
+
+        GradeTask(String[] lines, int from, int to) {
+            this.lines = lines;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new GradeTask(lines, from, middle), new GradeTask(lines, middle, to));
+                return;
+            }
+
+            // Erst lokal zusammenfassen, dann einmal pro Schüler in die gemeinsame Tabelle
+            AnswerParser parser = new AnswerParser();
+            char[] buffer = new char[256];
+            Map<String, long[]> local = new HashMap<>();
+
+            for (int n = from; n < to; n++) {
+                String line = lines[n];
+                if (line.length() > buffer.length) buffer = new char[line.length()];
+                line.getChars(0, line.length(), buffer, 0);
+
+                int first = line.indexOf(';');
+                int second = first < 0 ? -1 : line.indexOf(';', first + 1);
+                String student = first < 0 ? line : line.substring(0, first).trim();
+                long[] stats = local.computeIfAbsent(student, key -> new long[4]);
+                stats[0]++;
+
+                Solution solution = second < 0 ? null : solutionFor(buffer, first + 1, second);
+                if (solution == null) {
+                    stats[2]++;
+                    continue;
+                }
+
+                int result = check(parser, buffer, second + 1, line.length(), solution);
+                if (result > 0) {
+                    stats[1]++;
+                    stats[3] += solution.points;
+                } else if (result < 0) {
+                    stats[2]++;
+                }
+            }
+
+            for (Map.Entry<String, long[]> entry : local.entrySet()) {
+                long[] add = entry.getValue();
+                // merge läuft pro Schlüssel atomar
+                students.merge(entry.getKey(), add, (total, part) -> {
+                    for (int k = 0; k < total.length; k++) total[k] += part[k];
+                    return total;
+                });
+            }
+        }
+    }
+
+    /**
+     * Liest die Aufgaben-ID aus chars[from .. to) und liefert das erwartete Ergebnis
+     */
+    private Solution solutionFor(char[] chars, int from, int to) {
+        int id = 0;
+        boolean digits = false;
+        for (int k = from; k < to; k++) {
+            char c = chars[k];
+            if (c == ' ') continue;
+            if (c < '0' || c > '9' || id > (Integer.MAX_VALUE - 9) / 10) return null;
+            id = id * 10 + (c - '0');
+            digits = true;
+        }
+        if (!digits || id >= solutions.length) return null;
+
+        Solution solution = solutions[id];
+        if (solution == null) {
+            ExerciseBank.Exercise exercise = bank.get(id);
+            QuestionType type = exercise == null ? null : QuestionTypes.forModule(exercise.module);
+            if (type == null) return null;
+            Question question = type.create(exercise.matrixA, exercise.matrixB, exercise.scalar);
+            solution = new Solution(question.expected, question.comparator, question.basePoints);
+            solutions[id] = solution;
+        }
+        return solution;
+    }
+
+    /**
+     * Vergleicht die Antwort in chars[from .. to) Eintrag für Eintrag mit dem
+     * erwarteten Ergebnis, ohne sie vorher in eine Matrix zu kopieren.
+     * Liefert 1 = richtig, 0 = falsch, -1 = ungültige Zahl
+     */
+    private static int check(AnswerParser parser, char[] chars, int from, int to, Solution solution) {
+        double[][] expected = solution.expected;
+        boolean correct = true;
+        int row = 0;
+        int col = 0;
+        int k = from;
+
+        while (k < to) {
+            while (k < to && chars[k] == ' ') k++;
+            int start = k;
+            while (k < to && chars[k] != ' ' && chars[k] != '|') k++;
+
+            if (k > start) {
+                double value = parser.parse(chars, start, k - start);
+                if (Double.isNaN(value)) return -1;
+                if (row >= expected.length || col >= expected[row].length
+                        || !solution.comparator.matches(value, expected[row][col])) {
+                    correct = false;
+                }
+                col++;
+            }
+
+            while (k < to && chars[k] == ' ') k++;
+            if (k < to && chars[k] == '|') {
+                if (row >= expected.length || col != expected[row].length) correct = false;
+                row++;
+                col = 0;
+                k++;
+            }
+        }
+
+        // Letzte Zeile muss vollständig sein und es dürfen keine Zeilen fehlen
+        if (row != expected.length - 1 || col != expected[row].length) correct = false;
+        return correct ? 1 : 0;
+    }
+
+    /**
+     * Schreibt die Ergebnisse pro Schüler (alphabetisch) als CSV
+     */
+    public void writeResults(Writer out) throws IOException {
+        out.write("schueler;abgaben;richtig;ungueltig;punkte;quote\n");
+        for (Map.Entry<String, long[]> entry : new TreeMap<>(students).entrySet()) {
+            long[] stats = entry.getValue();
+            double percentage = stats[0] > 0 ? 100.0 * stats[1] / stats[0] : 0;
+            out.write(String.format(Locale.ROOT, "%s;%d;%d;%d;%d;%.1f%n",
+                entry.getKey(), stats[0], stats[1], stats[2], stats[3], percentage));
+        }
+        out.flush();
+    }
+
+    public int getStudentCount() {
+        return students.size();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Aufruf: java BatchGrader abgaben.csv [ergebnisse.csv]");
+            System.exit(2);
+        }
+
+        ExerciseBank bank = ExerciseBank.getDefault();
+        if (bank == null) {
+            System.err.println("Keine Aufgabenbank gefunden (erst 'java ExerciseBank' ausführen "
+                + "oder -Dmatrixgame.bank=datei angeben)");
+            System.exit(1);
+        }
+
+        BatchGrader grader = new BatchGrader(bank, Runtime.getRuntime().availableProcessors());
+        long start = System.nanoTime();
+        long lines;
+        try (BufferedReader in = args[0].equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+            lines = grader.grade(in);
+        }
+
+        if (args.length > 1 && !args[1].equals("-")) {
+            try (Writer out = Files.newBufferedWriter(Paths.get(args[1]), StandardCharsets.UTF_8)) {
+                grader.writeResults(out);
+            }
+        } else {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            grader.writeResults(out);
+        }
+
+        System.err.printf("%d Abgaben von %d Schülern ausgewertet (%.0f ms)%n",
+            lines, grader.getStudentCount(), (System.nanoTime() - start) / 1e6);
+    }
+}
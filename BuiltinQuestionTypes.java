@@ -0,0 +1,434 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * BuiltinQuestionTypes - Die mitgelieferten Aufgabentypen
+ *
+ * Jede innere Klasse ist ein eigener Provider für {@link QuestionType}
+ * und in META-INF/services/QuestionType eingetragen.
+ */
+public final class BuiltinQuestionTypes {
+
+    private BuiltinQuestionTypes() {
+    }
+
+    /**
+     * Alle eingebauten Typen, falls der ServiceLoader nichts findet
+     */
+    static List<QuestionType> all() {
+        return List.of(new Element(), new Addition(), new Subtraction(), new ScalarMultiplication(),
+                       new MatrixMultiplication(), new Transposition(), new Determinant(), new Inverse());
+    }
+
+    private static int randomSize(Random random, int maxSize) {
+        return 2 + random.nextInt(Math.max(1, maxSize - 1));
+    }
+
+    /**
+     * Lösungsweg für elementweise Operationen (Addition/Subtraktion)
+     */
+    private static String explainElementWise(Question question, String operator) {
+        StringBuilder sb = new StringBuilder(String.format("Regel: c_ij = a_ij %s b_ij\n\n", operator));
+        double[][] a = question.matrixA;
+        double[][] b = question.matrixB;
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                sb.append(String.format("c%d%d = %s %s %s = %s\n", i + 1, j + 1,
+                    WorkedSolutions.formatValue(a[i][j]), operator, WorkedSolutions.formatValue(b[i][j]),
+                    WorkedSolutions.formatValue(question.expected[i][j])));
+            }
+        }
+        sb.append("\n");
+        WorkedSolutions.appendAnswer(sb, question);
+        return sb.toString();
+    }
+
+    /**
+     * Element a_ij ablesen
+     */
+    public static class Element implements QuestionType {
+        @Override public String id() { return "element"; }
+        @Override public int module() { return 0; }
+
+        /**
+         * Ohne Zufallsquelle wird das Element aus dem Inhalt der Matrix bestimmt,
+         * dieselbe Matrix ergibt also immer dieselbe Frage
+         */
+        @Override
+        public Question create(double[][] matrixA, double[][] matrixB, double scalar) {
+            int cell = Math.floorMod(Arrays.deepHashCode(matrixA), matrixA.length * matrixA[0].length);
+            return create(matrixA, cell / matrixA[0].length, cell % matrixA[0].length);
+        }
+
+        public Question create(double[][] matrixA, int row, int col) {
+            return new Question(id(), String.format("Was ist a%d%d?", row + 1, col + 1),
+                matrixA, null, null, 0, new double[][]{{matrixA[row][col]}},
+                String.format("a%d%d = ", row + 1, col + 1), null, 8, new double[]{row, col});
+        }
+
+        @Override
+        public Question generate(Random random, int maxSize) {
+            double[][] matrix = MatrixOps.randomMatrix(random, randomSize(random, 3), randomSize(random, 3), 1, 15);
+            return create(matrix, random.nextInt(matrix.length), random.nextInt(matrix[0].length));
+        }
+
+        @Override
+        public String explain(Question question) {
+            return "a_ij steht in Zeile i und Spalte j.\n"
+                 + "Erst die Zeile abzählen (von oben), dann die Spalte (von links).\n\n"
+                 + WorkedSolutions.answerOnly(question);
+        }
+
+        @Override
+        public String hint(Question question) {
+            return "Grundlagen: Der erste Index ist die Zeile, der zweite die Spalte!";
+        }
+    }
+
+    public static class Addition implements QuestionType {
+        @Override public String id() { return "addition"; }
+        @Override public int module() { return 1; }
+
+        @Override
+        public Question create(double[][] matrixA, double[][] matrixB, double scalar) {
+            return new Question(id(), "Berechne A + B", matrixA, "+", matrixB, 0,
+                MatrixOps.add(matrixA, matrixB), null, null, 10);
+        }
+
+        @Override
+        public Question generate(Random random, int maxSize) {
+            int rows = randomSize(random, maxSize);
+            int cols = randomSize(random, maxSize);
+            return create(MatrixOps.randomMatrix(random, rows, cols, 1, 9),
+                          MatrixOps.randomMatrix(random, rows, cols, 1, 9), 0);
+        }
+
+        @Override
+        public Question generateChallenge(Random random) {
+            return create(MatrixOps.randomMatrix(random, 2, 2, 1, 10), MatrixOps.randomMatrix(random, 2, 2, 1, 10), 0);
+        }
+
+        @Override
+        public String explain(Question question) {
+            return explainElementWise(question, "+");
+        }
+
+        @Override
+        public String hint(Question question) {
+            return "Addition: Addiere die Elemente an der gleichen Position: c_ij = a_ij + b_ij";
+        }
+    }
+
+    public static class Subtraction implements QuestionType {
+        @Override public String id() { return "subtraction"; }
+        @Override public int module() { return 2; }
+
+        @Override
+        public Question create(double[][] matrixA, double[][] matrixB, double scalar) {
+            return new Question(id(), "Berechne A - B", matrixA, "-", matrixB, 0,
+                MatrixOps.subtract(matrixA, matrixB), null, null, 10);
+        }
+
+        @Override
+        public Question generate(Random random, int maxSize) {
+            int rows = randomSize(random, maxSize);
+            int cols = randomSize(random, maxSize);
+            return create(MatrixOps.randomMatrix(random, rows, cols, 1, 15),
+                          MatrixOps.randomMatrix(random, rows, cols, 1, 10), 0);
+        }
+
+        @Override
+        public Question generateChallenge(Random random) {
+            // A größer als B, damit unter Zeitdruck keine negativen Ergebnisse entstehen
+            return create(MatrixOps.randomMatrix(random, 2, 2, 5, 15), MatrixOps.randomMatrix(random, 2, 2, 1, 10), 0);
+        }
+
+        @Override
+        public String explain(Question question) {
+            return explainElementWise(question, "-");
+        }
+
+        @Override
+        public String hint(Question question) {
+            return "Subtraktion: Subtrahiere die Elemente an der gleichen Position: c_ij = a_ij - b_ij";
+        }
+    }
+
+    public static class ScalarMultiplication implements QuestionType {
+        @Override public String id() { return "scalar"; }
+        @Override public int module() { return 3; }
+
+        @Override
+        public Question create(double[][] matrixA, double[][] matrixB, double scalar) {
+            return new Question(id(), String.format("Berechne %.0f · A", scalar), matrixA, null, null, scalar,
+                MatrixOps.scale(scalar, matrixA), null, null, 12);
+        }
+
+        @Override
+        public Question generate(Random random, int maxSize) {
+            double[][] matrix = MatrixOps.randomMatrix(random, randomSize(random, maxSize), randomSize(random, maxSize), 1, 10);
+            return create(matrix, null, 2 + random.nextInt(5));
+        }
+
+        @Override
+        public String explain(Question question) {
+            StringBuilder sb = new StringBuilder("Regel: c_ij = k · a_ij\n\n");
+            double[][] a = question.matrixA;
+            for (int i = 0; i < a.length; i++) {
+                for (int j = 0; j < a[0].length; j++) {
+                    sb.append(String.format("c%d%d = %s · %s = %s\n", i + 1, j + 1,
+                        WorkedSolutions.formatValue(question.scalar), WorkedSolutions.formatValue(a[i][j]),
+                        WorkedSolutions.formatValue(question.expected[i][j])));
+                }
+            }
+            sb.append("\n");
+            WorkedSolutions.appendAnswer(sb, question);
+            return sb.toString();
+        }
+
+        @Override
+        public String hint(Question question) {
+            return String.format("Skalar-Multiplikation: Multipliziere JEDEN Eintrag mit %s!",
+                WorkedSolutions.formatValue(question.scalar));
+        }
+    }
+
+    public static class MatrixMultiplication implements QuestionType {
+        @Override public String id() { return "multiplication"; }
+        @Override public int module() { return 4; }
+        @Override public boolean availableInChallenge() { return false; }
+
+        @Override
+        public Question create(double[][] matrixA, double[][] matrixB, double scalar) {
+            // Einzelprodukte a_ik · b_kj merken, Index ((i · p) + j) · n + k
+            int m = matrixA.length;
+            int n = matrixA[0].length;
+            int p = matrixB[0].length;
+            double[] products = new double[m * p * n];
+            double[][] result = new double[m][p];
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < p; j++) {
+                    for (int k = 0; k < n; k++) {
+                        products[(i * p + j) * n + k] = matrixA[i][k] * matrixB[k][j];
+                        result[i][j] += products[(i * p + j) * n + k];
+                    }
+                }
+            }
+            return new Question(id(), "Berechne A · B (Zeile × Spalte!)", matrixA, "·", matrixB, 0,
+                result, null, null, 25, products);
+        }
+
+        @Override
+        public Question generate(Random random, int maxSize) {
+            return create(MatrixOps.randomMatrix(random, 2, 2, 1, 5), MatrixOps.randomMatrix(random, 2, 2, 1, 5), 0);
+        }
+
+        @Override
+        public String explain(Question question) {
+            StringBuilder sb = new StringBuilder("Regel: c_ij = Zeile i von A · Spalte j von B\n\n");
+            double[][] a = question.matrixA;
+            double[][] b = question.matrixB;
+            for (int i = 0; i < a.length; i++) {
+                for (int j = 0; j < b[0].length; j++) {
+                    sb.append(String.format("c%d%d = ", i + 1, j + 1));
+                    for (int k = 0; k < b.length; k++) {
+                        if (k > 0) sb.append(" + ");
+                        sb.append(WorkedSolutions.formatValue(a[i][k])).append("·")
+                          .append(WorkedSolutions.formatValue(b[k][j]));
+                    }
+                    sb.append(" = ").append(WorkedSolutions.formatValue(question.expected[i][j])).append("\n");
+                }
+            }
+            sb.append("\n");
+            WorkedSolutions.appendAnswer(sb, question);
+            return sb.toString();
+        }
+
+        @Override
+        public String hint(Question question) {
+            double[][] a = question.matrixA;
+            double[][] b = question.matrixB;
+            return String.format("Matrix-Multiplikation: c_ij = Zeile i von A · Spalte j von B (Skalarprodukt)\n"
+                + "Beispiel: c11 = %s·%s + %s·%s + ...",
+                WorkedSolutions.formatValue(a[0][0]), WorkedSolutions.formatValue(b[0][0]),
+                WorkedSolutions.formatValue(a[0][1]), WorkedSolutions.formatValue(b[1][0]));
+        }
+    }
+
+    public static class Transposition implements QuestionType {
+        @Override public String id() { return "transposition"; }
+        @Override public int module() { return 5; }
+
+        @Override
+        public Question create(double[][] matrixA, double[][] matrixB, double scalar) {
+            return new Question(id(), "Berechne Aᵀ (Transponierte von A)", matrixA, null, null, 0,
+                MatrixOps.transpose(matrixA), null, null, 15);
+        }
+
+        @Override
+        public Question generate(Random random, int maxSize) {
+            return create(MatrixOps.randomMatrix(random, randomSize(random, maxSize), randomSize(random, maxSize), 1, 10), null, 0);
+        }
+
+        @Override
+        public Question generateChallenge(Random random) {
+            // Auch nicht-quadratisch, sonst ändert sich beim Transponieren die Form nie
+            return generate(random, 3);
+        }
+
+        @Override
+        public String explain(Question question) {
+            double[][] a = question.matrixA;
+            StringBuilder sb = new StringBuilder(String.format(
+                "Regel: a_ij wird zu a_ji - aus %dx%d wird %dx%d\n\n", a.length, a[0].length, a[0].length, a.length));
+            for (int i = 0; i < a.length; i++) {
+                sb.append(String.format("Zeile %d von A wird Spalte %d von Aᵀ\n", i + 1, i + 1));
+            }
+            sb.append("\n");
+            WorkedSolutions.appendAnswer(sb, question);
+            return sb.toString();
+        }
+
+        @Override
+        public String hint(Question question) {
+            return "Transposition: Die Zeilen werden zu Spalten! a_ij wird zu a_ji";
+        }
+    }
+
+    public static class Determinant implements QuestionType {
+        @Override public String id() { return "determinant"; }
+        @Override public int module() { return 6; }
+
+        @Override
+        public Question create(double[][] matrixA, double[][] matrixB, double scalar) {
+            String formula = matrixA.length == 2 ? "Formel: ad - bc für [[a,b],[c,d]]" : null;
+            double[] diagonals = diagonalProducts(matrixA);
+
+            // Erste Hälfte positiv, zweite Hälfte negativ
+            double det = 0;
+            for (int t = 0; t < diagonals.length; t++) {
+                det += t < diagonals.length / 2 ? diagonals[t] : -diagonals[t];
+            }
+            return new Question(id(), "Berechne die Determinante det(A)", matrixA, null, null, 0,
+                new double[][]{{det}}, "det(A) = ", formula, 20, diagonals);
+        }
+
+        /**
+         * Diagonalprodukte: 2×2 [ad, bc], 3×3 nach Sarrus [+, +, +, -, -, -]
+         */
+        private static double[] diagonalProducts(double[][] a) {
+            if (a.length == 2) {
+                return new double[]{a[0][0] * a[1][1], a[0][1] * a[1][0]};
+            }
+            return new double[]{
+                a[0][0] * a[1][1] * a[2][2], a[0][1] * a[1][2] * a[2][0], a[0][2] * a[1][0] * a[2][1],
+                a[0][2] * a[1][1] * a[2][0], a[0][0] * a[1][2] * a[2][1], a[0][1] * a[1][0] * a[2][2]
+            };
+        }
+
+        @Override
+        public Question generate(Random random, int maxSize) {
+            int size = randomSize(random, maxSize);
+            return create(MatrixOps.randomMatrix(random, size, size, -5, 10), null, 0);
+        }
+
+        @Override
+        public Question generateChallenge(Random random) {
+            return create(MatrixOps.randomMatrix(random, 2, 2, 1, 8), null, 0);
+        }
+
+        @Override
+        public String explain(Question question) {
+            double[][] a = question.matrixA;
+            StringBuilder sb = new StringBuilder();
+            if (a.length == 2) {
+                sb.append("Formel für 2×2: det = a·d - b·c\n\n");
+                sb.append(String.format("det = %s·%s - %s·%s = %s - %s\n\n",
+                    WorkedSolutions.formatValue(a[0][0]), WorkedSolutions.formatValue(a[1][1]),
+                    WorkedSolutions.formatValue(a[0][1]), WorkedSolutions.formatValue(a[1][0]),
+                    WorkedSolutions.formatValue(a[0][0] * a[1][1]), WorkedSolutions.formatValue(a[0][1] * a[1][0])));
+            } else {
+                sb.append("Regel von Sarrus für 3×3:\n");
+                sb.append("+ Hauptdiagonalen:\n");
+                appendDiagonal(sb, a, 0, 0, 1, 1, 2, 2);
+                appendDiagonal(sb, a, 0, 1, 1, 2, 2, 0);
+                appendDiagonal(sb, a, 0, 2, 1, 0, 2, 1);
+                sb.append("- Nebendiagonalen:\n");
+                appendDiagonal(sb, a, 0, 2, 1, 1, 2, 0);
+                appendDiagonal(sb, a, 0, 0, 1, 2, 2, 1);
+                appendDiagonal(sb, a, 0, 1, 1, 0, 2, 2);
+                sb.append("\n");
+            }
+            WorkedSolutions.appendAnswer(sb, question);
+            return sb.toString();
+        }
+
+        private void appendDiagonal(StringBuilder sb, double[][] a, int r1, int c1, int r2, int c2, int r3, int c3) {
+            sb.append(String.format("  %s·%s·%s = %s\n",
+                WorkedSolutions.formatValue(a[r1][c1]), WorkedSolutions.formatValue(a[r2][c2]),
+                WorkedSolutions.formatValue(a[r3][c3]),
+                WorkedSolutions.formatValue(a[r1][c1] * a[r2][c2] * a[r3][c3])));
+        }
+
+        @Override
+        public String hint(Question question) {
+            return question.matrixA.length == 2
+                ? "Determinante 2x2: det = ad - bc"
+                : "Determinante 3x3: Regel von Sarrus - drei Hauptdiagonalen plus, drei Nebendiagonalen minus";
+        }
+    }
+
+    public static class Inverse implements QuestionType {
+        @Override public String id() { return "inverse"; }
+        @Override public int module() { return 7; }
+        @Override public boolean availableInChallenge() { return false; }
+
+        @Override
+        public Question create(double[][] matrixA, double[][] matrixB, double scalar) {
+            double det = MatrixOps.determinant(matrixA);
+
+            // Inverse berechnen: 1/det * [[d, -b], [-c, a]], exakt als Brüche mit Nenner det
+            double[][] expected = new double[2][2];
+            expected[0][0] = matrixA[1][1] / det;
+            expected[0][1] = -matrixA[0][1] / det;
+            expected[1][0] = -matrixA[1][0] / det;
+            expected[1][1] = matrixA[0][0] / det;
+
+            return new Question(id(), "Berechne A⁻¹ (Brüche wie 1/3 eingeben)", matrixA, null, null, 0,
+                expected, null, "Formel: A⁻¹ = (1/det) · [[d,-b],[-c,a]]", 30, new double[]{det},
+                AnswerComparator.rational(det));
+        }
+
+        @Override
+        public Question generate(Random random, int maxSize) {
+            // Einfache 2x2 Inverse, Matrix mit det != 0
+            double[][] matrix;
+            do {
+                matrix = MatrixOps.randomMatrix(random, 2, 2, 1, 5);
+            } while (Math.abs(MatrixOps.determinant(matrix)) < 0.001);
+            return create(matrix, null, 0);
+        }
+
+        @Override
+        public String explain(Question question) {
+            double[][] a = question.matrixA;
+            double det = MatrixOps.determinant(a);
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Schritt 1: det = %s·%s - %s·%s = %s\n",
+                WorkedSolutions.formatValue(a[0][0]), WorkedSolutions.formatValue(a[1][1]),
+                WorkedSolutions.formatValue(a[0][1]), WorkedSolutions.formatValue(a[1][0]),
+                WorkedSolutions.formatValue(det)));
+            sb.append("Schritt 2: Adjunkte [[d,-b],[-c,a]]\n");
+            WorkedSolutions.appendMatrix(sb, new double[][]{{a[1][1], -a[0][1]}, {-a[1][0], a[0][0]}});
+            sb.append(String.format("Schritt 3: Mit 1/det = 1/%s multiplizieren\n\n", WorkedSolutions.formatValue(det)));
+            WorkedSolutions.appendAnswer(sb, question);
+            return sb.toString();
+        }
+
+        @Override
+        public String hint(Question question) {
+            return "Inverse 2x2: A⁻¹ = (1/det) · [[d,-b],[-c,a]]";
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.Arrays;
+
+/**
+ * ChallengeClock - Spielzeit und Antwortzeiten der Herausforderung
+ *
+ * Die Restzeit wird nicht heruntergezählt, sondern jedes Mal aus einer festen
+ * Frist auf System.nanoTime berechnet. Verspätete Takte unter Last verschieben
+ * so nie das Spielende, sie zeigen die Zeit höchstens etwas später an.
+ *
+ * Pro Aufgabe wird die Antwortzeit gemessen, von {@link #questionShown} bis
+ * {@link #answered}, in Nanosekunden. Daraus entstehen Zeitbonus und die
+ * Auswertung am Ende (Durchschnitt, Median, schnellste Antwort).
+ *
+ * Nur auf dem Event-Thread verwenden.
+ */
+public class ChallengeClock {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long durationNanos;
+    private long deadline;
+    private boolean running;
+
+    // Beginn der aktuellen Aufgabe, 0 = keine offen
+    private long questionStart;
+
+    private long[] latencies = new long[32];
+    private int count;
+    private long totalNanos;
+
+    public ChallengeClock(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    public static ChallengeClock ofSeconds(int seconds) {
+        return new ChallengeClock(seconds * NANOS_PER_SECOND);
+    }
+
+    /**
+     * Setzt die Frist und verwirft alle bisherigen Antwortzeiten
+     */
+    public void start() {
+        deadline = System.nanoTime() + durationNanos;
+        running = true;
+        questionStart = 0;
+        count = 0;
+        totalNanos = 0;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Verbleibende Zeit, nie negativ
+     */
+    public long remainingNanos() {
+        if (!running) return durationNanos;
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    /**
+     * Verbleibende Zeit in ganzen Sekunden, aufgerundet wie bei einer Uhr
+     */
+    public int remainingSeconds() {
+        return (int) ((remainingNanos() + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+
+    /**
+     * Abgelaufener Anteil 0..1
+     */
+    public double progress() {
+        return durationNanos == 0 ? 1 : 1 - (double) remainingNanos() / durationNanos;
+    }
+
+    public boolean isExpired() {
+        return running && System.nanoTime() - deadline >= 0;
+    }
+
+    // ==================== ANTWORTZEITEN ====================
+
+    /**
+     * Die nächste Aufgabe ist zu sehen; ab jetzt läuft ihre Antwortzeit
+     */
+    public void questionShown() {
+        questionStart = System.nanoTime();
+    }
+
+    /**
+     * Beendet die Messung der aktuellen Aufgabe
+     *
+     * @return Antwortzeit in Nanosekunden, -1 wenn keine Aufgabe offen war
+     */
+    public long answered() {
+        if (questionStart == 0) return -1;
+        long latency = System.nanoTime() - questionStart;
+        questionStart = 0;
+
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latency;
+        totalNanos += latency;
+        return latency;
+    }
+
+    /**
+     * Anzahl gemessener Antworten
+     */
+    public int getAnswerCount() {
+        return count;
+    }
+
+    public long averageNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    public long fastestNanos() {
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            fastest = Math.min(fastest, latencies[i]);
+        }
+        return count == 0 ? 0 : fastest;
+    }
+
+    public long medianNanos() {
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return count % 2 == 1 ? sorted[count / 2] : (sorted[count / 2 - 1] + sorted[count / 2]) / 2;
+    }
+
+    /**
+     * Nanosekunden als Sekunden, z.B. für die Anzeige mit "%.2f s"
+     */
+    public static double toSeconds(long nanos) {
+        return (double) nanos / NANOS_PER_SECOND;
+    }
+}
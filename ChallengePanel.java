@@ -1,7 +1,7 @@
 import javax.swing.*;
-import javax.swing.Timer;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.List;
 import java.util.Random;
 
 /**
@@ -12,26 +12,34 @@ import java.util.Random;
  * die Antworten, desto mehr Punkte gibt es!
  * 
  * Features:
- * - Countdown-Timer
+ * - Countdown mit fester Frist (siehe ChallengeClock)
+ * - Zeitbonus nach gemessener Antwortzeit
  * - Zufällige Aufgaben aus allen Modulen
  * - Kombo-System für aufeinanderfolgende richtige Antworten
+ * - Optional Multiple Choice (Antwort per Klick)
  * - Highscore-Tracking
  */
-public class ChallengePanel extends JPanel {
+public class ChallengePanel extends JPanel implements PanelRegistry.Disposable {
     
     // Farben
-    private static final Color BACKGROUND_COLOR = new Color(25, 25, 35);
-    private static final Color PANEL_COLOR = new Color(40, 44, 52);
-    private static final Color ACCENT_COLOR = new Color(97, 175, 239);
-    private static final Color SUCCESS_COLOR = new Color(152, 195, 121);
-    private static final Color ERROR_COLOR = new Color(224, 108, 117);
-    private static final Color TEXT_COLOR = new Color(220, 223, 228);
-    private static final Color HIGHLIGHT_COLOR = new Color(229, 192, 123);
-    private static final Color MATRIX_CELL_COLOR = new Color(55, 60, 72);
-    private static final Color WARNING_COLOR = new Color(224, 108, 117);
+    private static final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    private static final Color PANEL_COLOR = Theme.PANEL;
+    private static final Color ACCENT_COLOR = Theme.ACCENT;
+    private static final Color SUCCESS_COLOR = Theme.SUCCESS;
+    private static final Color ERROR_COLOR = Theme.ERROR;
+    private static final Color TEXT_COLOR = Theme.TEXT;
+    private static final Color HIGHLIGHT_COLOR = Theme.HIGHLIGHT;
+    private static final Color MATRIX_CELL_COLOR = Theme.MATRIX_CELL;
+    private static final Color WARNING_COLOR = Theme.ERROR;
+    
+    // Zeitbonus: volle Punkte bei sofortiger Antwort, keine mehr nach 10 s
+    private static final int SPEED_BONUS_MAX = 10;
+    private static final long SPEED_BONUS_NANOS = 10_000_000_000L;
     
     private MatrixGame game;
     private Random random = new Random();
+    private final AnswerParser answerParser = new AnswerParser();
+    private AnswerValidator validator;
     
     // Spielzustand
     private int timeRemaining = 120; // 2 Minuten
@@ -41,17 +49,23 @@ public class ChallengePanel extends JPanel {
     private int correctAnswers = 0;
     private boolean gameActive = false;
     private boolean gameStarted = false;
+    private boolean multipleChoice = false;
+    private boolean autoSubmit = true;
+    private boolean answered = false;
     
     // Aktuelle Aufgabe
     private double[][] matrixA;
     private double[][] matrixB;
     private double[][] expectedResult;
     private double scalar;
-    private String currentOperation;
-    private int currentQuestionType;
+    private Question currentQuestion;
+    
+    // Spielzeit als feste Frist, Antwortzeiten pro Aufgabe
+    private ChallengeClock clock;
     
-    // Timer
-    private Timer gameTimer;
+    // Anzeige des Countdowns im gemeinsamen Bildtakt (siehe FrameScheduler)
+    private FrameScheduler.Task countdown;
+    private FrameScheduler.Task nextQuestion;
     
     // UI-Komponenten
     private JLabel timerLabel;
@@ -61,6 +75,21 @@ public class ChallengePanel extends JPanel {
     private JPanel matrixPanel;
     private JPanel inputArea;
     private JTextField[][] inputFields;
+    private JButton[] choiceButtons;
+    private double[][][] choiceValues;
+    
+    // Wiederverwendete Aufgabenfläche (einmal pro Spiel aufgebaut)
+    private QuestionView.MatrixDisplay viewA;
+    private QuestionView.MatrixDisplay viewB;
+    private JLabel scalarLabel;
+    private JLabel operatorLabel;
+    private QuestionView.InputGrid inputGrid;
+    private JPanel singleInput;
+    private JLabel singleLabel;
+    private JTextField singleField;
+    private JTextField[][] singleFields;
+    private JPanel choiceInput;
+    private JButton[] choiceOptions;
     private JButton submitButton;
     private JTextArea feedbackArea;
     private JProgressBar timeBar;
@@ -86,7 +115,7 @@ public class ChallengePanel extends JPanel {
         
         // Titel
         JLabel titleLabel = new JLabel("⚡ HERAUSFORDERUNG ⚡");
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 42));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 42));
         titleLabel.setForeground(HIGHLIGHT_COLOR);
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
@@ -106,7 +135,7 @@ public class ChallengePanel extends JPanel {
         
         JLabel diffLabel = new JLabel("Schwierigkeit: ");
         diffLabel.setForeground(TEXT_COLOR);
-        diffLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
+        diffLabel.setFont(Theme.sans(Font.BOLD, 14));
         
         String[] difficulties = {"Anfänger (3 min)", "Normal (2 min)", "Experte (90 sec)"};
         JComboBox<String> diffBox = new JComboBox<>(difficulties);
@@ -125,9 +154,26 @@ public class ChallengePanel extends JPanel {
         difficultyPanel.add(diffLabel);
         difficultyPanel.add(diffBox);
         
+        // Antwortmodus
+        JCheckBox choiceBox = new JCheckBox("Multiple Choice (Antwort per Klick)", multipleChoice);
+        choiceBox.setFont(Theme.sans(Font.BOLD, 14));
+        choiceBox.setForeground(TEXT_COLOR);
+        choiceBox.setBackground(BACKGROUND_COLOR);
+        choiceBox.setFocusPainted(false);
+        choiceBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        choiceBox.addActionListener(e -> multipleChoice = choiceBox.isSelected());
+        
+        JCheckBox autoSubmitBox = new JCheckBox("Automatisch absenden, sobald alles stimmt", autoSubmit);
+        autoSubmitBox.setFont(Theme.sans(Font.BOLD, 14));
+        autoSubmitBox.setForeground(TEXT_COLOR);
+        autoSubmitBox.setBackground(BACKGROUND_COLOR);
+        autoSubmitBox.setFocusPainted(false);
+        autoSubmitBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        autoSubmitBox.addActionListener(e -> autoSubmit = autoSubmitBox.isSelected());
+        
         // Start-Button
         JButton startBtn = new JButton("🎮 START!");
-        startBtn.setFont(new Font("SansSerif", Font.BOLD, 24));
+        startBtn.setFont(Theme.sans(Font.BOLD, 24));
         startBtn.setForeground(TEXT_COLOR);
         startBtn.setBackground(SUCCESS_COLOR);
         startBtn.setPreferredSize(new Dimension(200, 60));
@@ -153,6 +199,10 @@ public class ChallengePanel extends JPanel {
         startPanel.add(descLabel);
         startPanel.add(Box.createVerticalStrut(30));
         startPanel.add(difficultyPanel);
+        startPanel.add(Box.createVerticalStrut(15));
+        startPanel.add(choiceBox);
+        startPanel.add(Box.createVerticalStrut(5));
+        startPanel.add(autoSubmitBox);
         startPanel.add(Box.createVerticalStrut(40));
         startPanel.add(startBtn);
         startPanel.add(Box.createVerticalStrut(20));
@@ -174,8 +224,11 @@ public class ChallengePanel extends JPanel {
         combo = 0;
         questionsAnswered = 0;
         correctAnswers = 0;
+        clock = ChallengeClock.ofSeconds(timeRemaining);
         
         initializeGameUI();
+        // Uhr vor der ersten Frage starten, start() verwirft sonst deren Messbeginn
+        clock.start();
         generateQuestion();
         startTimer();
     }
@@ -197,7 +250,7 @@ public class ChallengePanel extends JPanel {
         timerPanel.setBackground(PANEL_COLOR);
         
         timerLabel = new JLabel("⏱️ " + formatTime(timeRemaining));
-        timerLabel.setFont(new Font("Monospaced", Font.BOLD, 28));
+        timerLabel.setFont(Theme.mono(Font.BOLD, 28));
         timerLabel.setForeground(ACCENT_COLOR);
         
         timeBar = new JProgressBar(0, timeRemaining);
@@ -216,11 +269,11 @@ public class ChallengePanel extends JPanel {
         statsPanel.setBackground(PANEL_COLOR);
         
         comboLabel = new JLabel("🔥 x" + combo);
-        comboLabel.setFont(new Font("SansSerif", Font.BOLD, 20));
+        comboLabel.setFont(Theme.sans(Font.BOLD, 20));
         comboLabel.setForeground(ERROR_COLOR);
         
         scoreLabel = new JLabel("⭐ " + challengeScore);
-        scoreLabel.setFont(new Font("SansSerif", Font.BOLD, 20));
+        scoreLabel.setFont(Theme.sans(Font.BOLD, 20));
         scoreLabel.setForeground(HIGHLIGHT_COLOR);
         
         statsPanel.add(comboLabel);
@@ -240,12 +293,12 @@ public class ChallengePanel extends JPanel {
         JPanel questionPanel = new JPanel(new BorderLayout());
         questionPanel.setBackground(PANEL_COLOR);
         questionPanel.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(60, 65, 77)),
+            BorderFactory.createLineBorder(Theme.BORDER),
             BorderFactory.createEmptyBorder(10, 15, 10, 15)
         ));
         
         questionLabel = new JLabel();
-        questionLabel.setFont(new Font("SansSerif", Font.BOLD, 18));
+        questionLabel.setFont(Theme.sans(Font.BOLD, 18));
         questionLabel.setForeground(TEXT_COLOR);
         questionPanel.add(questionLabel, BorderLayout.CENTER);
         
@@ -263,6 +316,8 @@ public class ChallengePanel extends JPanel {
         inputArea.setBackground(BACKGROUND_COLOR);
         inputArea.setLayout(new BoxLayout(inputArea, BoxLayout.Y_AXIS));
         
+        createQuestionViews();
+        
         workPanel.add(matrixPanel);
         workPanel.add(inputArea);
         
@@ -274,13 +329,13 @@ public class ChallengePanel extends JPanel {
         
         feedbackArea = new JTextArea(2, 40);
         feedbackArea.setEditable(false);
-        feedbackArea.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        feedbackArea.setFont(Theme.sans(Font.PLAIN, 14));
         feedbackArea.setBackground(PANEL_COLOR);
         feedbackArea.setForeground(TEXT_COLOR);
         feedbackArea.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
         
         submitButton = new JButton("✓ Antworten");
-        submitButton.setFont(new Font("SansSerif", Font.BOLD, 18));
+        submitButton.setFont(Theme.sans(Font.BOLD, 18));
         submitButton.setForeground(TEXT_COLOR);
         submitButton.setBackground(ACCENT_COLOR);
         submitButton.setPreferredSize(new Dimension(150, 50));
@@ -300,31 +355,39 @@ public class ChallengePanel extends JPanel {
     }
     
     /**
-     * Startet den Countdown-Timer
+     * Startet den Countdown. Die Restzeit kommt jedes Bild aus der Frist der
+     * Uhr, ein verspätetes Bild verlängert das Spiel also nicht. Der Zeitbalken
+     * läuft flüssig mit, die Anzeige in Sekunden ändert sich nur beim
+     * Sekundenwechsel.
      */
     private void startTimer() {
-        int initialTime = timeRemaining;
+        int duration = (int) (clock.getDurationNanos() / 1_000_000);
+        timeBar.setMaximum(duration);
+        timeBar.setValue(duration);
         
-        gameTimer = new Timer(1000, e -> {
-            timeRemaining--;
-            timerLabel.setText("⏱️ " + formatTime(timeRemaining));
-            timeBar.setValue(timeRemaining);
+        countdown = FrameScheduler.every(this, FrameScheduler.FRAME_MILLIS, () -> {
+            timeBar.setValue((int) (clock.remainingNanos() / 1_000_000));
             
-            // Warnung bei wenig Zeit
-            if (timeRemaining <= 30) {
-                timerLabel.setForeground(WARNING_COLOR);
-                timeBar.setForeground(WARNING_COLOR);
-            }
-            if (timeRemaining <= 10) {
-                // Blinken bei sehr wenig Zeit
-                timerLabel.setForeground(timeRemaining % 2 == 0 ? WARNING_COLOR : TEXT_COLOR);
+            int seconds = clock.remainingSeconds();
+            if (seconds != timeRemaining) {
+                timeRemaining = seconds;
+                timerLabel.setText("⏱️ " + formatTime(timeRemaining));
+                
+                // Warnung bei wenig Zeit
+                if (timeRemaining <= 30) {
+                    timerLabel.setForeground(WARNING_COLOR);
+                    timeBar.setForeground(WARNING_COLOR);
+                }
+                if (timeRemaining <= 10) {
+                    // Blinken bei sehr wenig Zeit
+                    timerLabel.setForeground(timeRemaining % 2 == 0 ? WARNING_COLOR : TEXT_COLOR);
+                }
             }
             
-            if (timeRemaining <= 0) {
+            if (clock.isExpired()) {
                 endGame();
             }
         });
-        gameTimer.start();
     }
     
     /**
@@ -338,293 +401,177 @@ public class ChallengePanel extends JPanel {
      * Generiert eine zufällige Aufgabe
      */
     private void generateQuestion() {
-        matrixPanel.removeAll();
-        inputArea.removeAll();
         feedbackArea.setText("");
+        answered = false;
         
-        // Wähle zufälligen Aufgabentyp
-        currentQuestionType = random.nextInt(6);
-        
-        switch (currentQuestionType) {
-            case 0 -> generateAdditionQuestion();
-            case 1 -> generateSubtractionQuestion();
-            case 2 -> generateScalarQuestion();
-            case 3 -> generateTransposeQuestion();
-            case 4 -> generateDeterminantQuestion();
-            case 5 -> generateElementQuestion();
+        // Felder werden wiederverwendet: alte Live-Prüfung vorher abhängen
+        if (validator != null) {
+            validator.dispose();
+            validator = null;
         }
         
-        matrixPanel.revalidate();
-        matrixPanel.repaint();
-        inputArea.revalidate();
-        inputArea.repaint();
-    }
-    
-    private void generateAdditionQuestion() {
-        int size = 2;
-        matrixA = generateMatrix(size, size, 1, 10);
-        matrixB = generateMatrix(size, size, 1, 10);
-        
-        expectedResult = new double[size][size];
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                expectedResult[i][j] = matrixA[i][j] + matrixB[i][j];
-            }
+        // Wähle zufälligen Aufgabentyp
+        List<QuestionType> types = QuestionTypes.challengeTypes();
+        currentQuestion = types.get(random.nextInt(types.size())).generateChallenge(random);
+        
+        matrixA = currentQuestion.matrixA;
+        matrixB = currentQuestion.matrixB;
+        scalar = currentQuestion.scalar;
+        expectedResult = currentQuestion.expected;
+        questionLabel.setText(currentQuestion.prompt);
+        
+        // Nur Daten binden; neu aufgebaut wird lediglich bei anderer Form
+        boolean binary = matrixB != null;
+        boolean scaled = !binary && scalar != 0;
+        viewA.setMatrix(matrixA);
+        scalarLabel.setVisible(scaled);
+        if (scaled) {
+            scalarLabel.setText(String.format("%.0f ×", scalar));
+        }
+        operatorLabel.setVisible(binary);
+        viewB.setVisible(binary);
+        if (binary) {
+            operatorLabel.setText(currentQuestion.operator);
+            viewB.setMatrix(matrixB);
         }
         
-        currentOperation = "Addition";
-        questionLabel.setText("Berechne A + B");
-        
-        displayMatrixOperation("+");
-        createInputGrid(size, size);
+        choiceButtons = null;
+        submitButton.setEnabled(!multipleChoice);
+        if (multipleChoice) {
+            showChoices();
+        } else if (currentQuestion.isSingleValue()) {
+            showSingleInput(currentQuestion.answerLabel);
+        } else {
+            showInputGrid(expectedResult.length, expectedResult[0].length);
+        }
+        startValidation();
+        clock.questionShown();
     }
     
-    private void generateSubtractionQuestion() {
-        int size = 2;
-        matrixA = generateMatrix(size, size, 5, 15);
-        matrixB = generateMatrix(size, size, 1, 10);
-        
-        expectedResult = new double[size][size];
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                expectedResult[i][j] = matrixA[i][j] - matrixB[i][j];
-            }
+    /**
+     * Live-Prüfung der Eingabefelder, optional mit automatischem Absenden
+     */
+    private void startValidation() {
+        if (inputFields == null) {
+            validator = null;
+            return;
         }
-        
-        currentOperation = "Subtraktion";
-        questionLabel.setText("Berechne A - B");
-        
-        displayMatrixOperation("-");
-        createInputGrid(size, size);
+        AnswerValidator current = new AnswerValidator(inputFields, expectedResult, currentQuestion.comparator,
+            answerParser);
+        if (autoSubmit) {
+            current.setOnAllCorrect(() -> {
+                if (validator == current) checkAnswer();
+            });
+        }
+        validator = current;
     }
     
-    private void generateScalarQuestion() {
-        int size = 2;
-        matrixA = generateMatrix(size, size, 1, 10);
-        scalar = 2 + random.nextInt(5);
-        
-        expectedResult = new double[size][size];
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                expectedResult[i][j] = scalar * matrixA[i][j];
-            }
-        }
+    /**
+     * Baut Anzeige und Eingaben einmal pro Spiel auf; jede Aufgabe bindet
+     * danach nur ihre Werte (siehe QuestionView)
+     */
+    private void createQuestionViews() {
+        // Links: [Skalar ×] A [op B]
+        viewA = new QuestionView.MatrixDisplay("A", ACCENT_COLOR, true);
+        viewB = new QuestionView.MatrixDisplay("B", ACCENT_COLOR, true);
         
-        currentOperation = "Skalar";
-        questionLabel.setText(String.format("Berechne %.0f · A", scalar));
+        scalarLabel = new JLabel();
+        scalarLabel.setFont(Theme.sans(Font.BOLD, 24));
+        scalarLabel.setForeground(HIGHLIGHT_COLOR);
+        
+        operatorLabel = new JLabel();
+        operatorLabel.setFont(Theme.sans(Font.BOLD, 28));
+        operatorLabel.setForeground(ACCENT_COLOR);
         
-        // Zeige Skalar und Matrix
         JPanel displayPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
         displayPanel.setBackground(BACKGROUND_COLOR);
-        
-        JLabel scalarLabel = new JLabel(String.format("%.0f ×", scalar));
-        scalarLabel.setFont(new Font("SansSerif", Font.BOLD, 24));
-        scalarLabel.setForeground(HIGHLIGHT_COLOR);
-        
         displayPanel.add(scalarLabel);
-        displayPanel.add(createMatrixPanel(matrixA, "A"));
+        displayPanel.add(viewA);
+        displayPanel.add(operatorLabel);
+        displayPanel.add(viewB);
         
         matrixPanel.add(Box.createVerticalGlue());
         matrixPanel.add(displayPanel);
         matrixPanel.add(Box.createVerticalGlue());
         
-        createInputGrid(size, size);
-    }
-    
-    private void generateTransposeQuestion() {
-        int rows = 2 + random.nextInt(2);
-        int cols = 2 + random.nextInt(2);
-        matrixA = generateMatrix(rows, cols, 1, 10);
-        
-        expectedResult = new double[cols][rows];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                expectedResult[j][i] = matrixA[i][j];
-            }
+        // Rechts: Eingaberaster, Einzelfeld oder Antwortmöglichkeiten
+        inputGrid = new QuestionView.InputGrid("= ?", SUCCESS_COLOR, true, this::styleTextField);
+        inputGrid.setOnSubmit(this::checkAnswer);
+        
+        singleLabel = new JLabel();
+        singleField = new JTextField(6);
+        styleTextField(singleField);
+        singleFields = new JTextField[][]{{singleField}};
+        singleInput = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        singleInput.setBackground(BACKGROUND_COLOR);
+        singleInput.add(singleLabel);
+        singleInput.add(singleField);
+        
+        choiceInput = new JPanel(new GridLayout(2, 2, 8, 8));
+        choiceInput.setBackground(BACKGROUND_COLOR);
+        choiceOptions = new JButton[4];
+        for (int i = 0; i < choiceOptions.length; i++) {
+            final int index = i;
+            JButton btn = new JButton();
+            btn.setFont(Theme.mono(Font.BOLD, 14));
+            btn.setForeground(TEXT_COLOR);
+            btn.setBackground(PANEL_COLOR);
+            btn.setFocusPainted(false);
+            btn.setCursor(new Cursor(Cursor.HAND_CURSOR));
+            btn.addActionListener(e -> submitAnswer(choiceValues[index]));
+            choiceOptions[i] = btn;
+            choiceInput.add(btn);
         }
         
-        currentOperation = "Transposition";
-        questionLabel.setText("Berechne Aᵀ");
-        
-        matrixPanel.add(Box.createVerticalGlue());
-        matrixPanel.add(createMatrixPanel(matrixA, "A"));
-        matrixPanel.add(Box.createVerticalGlue());
-        
-        createInputGrid(cols, rows);
-    }
-    
-    private void generateDeterminantQuestion() {
-        matrixA = generateMatrix(2, 2, 1, 8);
-        
-        double det = matrixA[0][0] * matrixA[1][1] - matrixA[0][1] * matrixA[1][0];
-        expectedResult = new double[][]{{det}};
-        
-        currentOperation = "Determinante";
-        questionLabel.setText("Berechne det(A)");
-        
-        matrixPanel.add(Box.createVerticalGlue());
-        matrixPanel.add(createMatrixPanel(matrixA, "A"));
-        matrixPanel.add(Box.createVerticalGlue());
-        
-        // Einzelnes Eingabefeld
-        JPanel inputPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-        inputPanel.setBackground(BACKGROUND_COLOR);
-        
-        inputFields = new JTextField[1][1];
-        inputFields[0][0] = new JTextField(6);
-        styleTextField(inputFields[0][0]);
-        
-        inputPanel.add(new JLabel("<html><font color='white' size='+1'>det(A) = </font></html>"));
-        inputPanel.add(inputFields[0][0]);
-        
         inputArea.add(Box.createVerticalGlue());
-        inputArea.add(inputPanel);
+        inputArea.add(inputGrid);
+        inputArea.add(singleInput);
+        inputArea.add(choiceInput);
         inputArea.add(Box.createVerticalGlue());
+        QuestionView.showOnly(null, inputGrid, singleInput, choiceInput);
     }
     
-    private void generateElementQuestion() {
-        int rows = 2 + random.nextInt(2);
-        int cols = 2 + random.nextInt(2);
-        matrixA = generateMatrix(rows, cols, 1, 15);
-        
-        int targetRow = random.nextInt(rows);
-        int targetCol = random.nextInt(cols);
-        
-        expectedResult = new double[][]{{matrixA[targetRow][targetCol]}};
-        
-        currentOperation = "Element";
-        questionLabel.setText(String.format("Was ist a%d%d?", targetRow + 1, targetCol + 1));
-        
-        matrixPanel.add(Box.createVerticalGlue());
-        matrixPanel.add(createMatrixPanel(matrixA, "A"));
-        matrixPanel.add(Box.createVerticalGlue());
-        
+    private void showSingleInput(String answerLabel) {
         // Einzelnes Eingabefeld
-        JPanel inputPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-        inputPanel.setBackground(BACKGROUND_COLOR);
-        
-        inputFields = new JTextField[1][1];
-        inputFields[0][0] = new JTextField(6);
-        styleTextField(inputFields[0][0]);
-        
-        inputPanel.add(new JLabel(String.format("<html><font color='white' size='+1'>a%d%d = </font></html>",
-            targetRow + 1, targetCol + 1)));
-        inputPanel.add(inputFields[0][0]);
-        
-        inputArea.add(Box.createVerticalGlue());
-        inputArea.add(inputPanel);
-        inputArea.add(Box.createVerticalGlue());
-    }
-    
-    private void displayMatrixOperation(String operator) {
-        JPanel displayPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 0));
-        displayPanel.setBackground(BACKGROUND_COLOR);
-        
-        displayPanel.add(createMatrixPanel(matrixA, "A"));
+        singleLabel.setText("<html><font color='white' size='+1'>" + answerLabel + "</font></html>");
+        singleField.setText("");
+        singleField.setBackground(MATRIX_CELL_COLOR);
+        inputFields = singleFields;
+        QuestionView.showOnly(singleInput, inputGrid, singleInput, choiceInput);
         
-        JLabel opLabel = new JLabel(operator);
-        opLabel.setFont(new Font("SansSerif", Font.BOLD, 28));
-        opLabel.setForeground(ACCENT_COLOR);
-        displayPanel.add(opLabel);
-        
-        displayPanel.add(createMatrixPanel(matrixB, "B"));
-        
-        matrixPanel.add(Box.createVerticalGlue());
-        matrixPanel.add(displayPanel);
-        matrixPanel.add(Box.createVerticalGlue());
+        SwingUtilities.invokeLater(() -> singleField.requestFocus());
     }
     
-    private JPanel createMatrixPanel(double[][] matrix, String label) {
-        JPanel panel = new JPanel(new BorderLayout(3, 3));
-        panel.setBackground(BACKGROUND_COLOR);
-        
-        JLabel matrixLabel = new JLabel(label, SwingConstants.CENTER);
-        matrixLabel.setFont(new Font("SansSerif", Font.BOLD, 12));
-        matrixLabel.setForeground(HIGHLIGHT_COLOR);
-        panel.add(matrixLabel, BorderLayout.NORTH);
-        
-        JPanel gridPanel = new JPanel(new GridLayout(matrix.length, matrix[0].length, 2, 2));
-        gridPanel.setBackground(BACKGROUND_COLOR);
-        gridPanel.setBorder(BorderFactory.createCompoundBorder(
-            new GamePanel.MatrixBracketBorder(ACCENT_COLOR),
-            BorderFactory.createEmptyBorder(3, 10, 3, 10)
-        ));
-        
-        for (int i = 0; i < matrix.length; i++) {
-            for (int j = 0; j < matrix[0].length; j++) {
-                JLabel cellLabel = new JLabel(formatValue(matrix[i][j]), SwingConstants.CENTER);
-                cellLabel.setFont(new Font("Monospaced", Font.BOLD, 14));
-                cellLabel.setForeground(TEXT_COLOR);
-                cellLabel.setOpaque(true);
-                cellLabel.setBackground(MATRIX_CELL_COLOR);
-                cellLabel.setPreferredSize(new Dimension(35, 28));
-                gridPanel.add(cellLabel);
-            }
-        }
+    private void showInputGrid(int rows, int cols) {
+        inputFields = inputGrid.reset(rows, cols);
+        QuestionView.showOnly(inputGrid, inputGrid, singleInput, choiceInput);
         
-        panel.add(gridPanel, BorderLayout.CENTER);
-        return panel;
+        // Fokus auf erstes Feld
+        JTextField first = inputFields[0][0];
+        SwingUtilities.invokeLater(first::requestFocus);
     }
     
-    private void createInputGrid(int rows, int cols) {
-        inputFields = new JTextField[rows][cols];
-        
-        JPanel inputWrapper = new JPanel(new BorderLayout(3, 3));
-        inputWrapper.setBackground(BACKGROUND_COLOR);
-        
-        JLabel resultLabel = new JLabel("= ?", SwingConstants.CENTER);
-        resultLabel.setFont(new Font("SansSerif", Font.BOLD, 12));
-        resultLabel.setForeground(SUCCESS_COLOR);
-        inputWrapper.add(resultLabel, BorderLayout.NORTH);
-        
-        JPanel gridPanel = new JPanel(new GridLayout(rows, cols, 2, 2));
-        gridPanel.setBackground(BACKGROUND_COLOR);
-        gridPanel.setBorder(BorderFactory.createCompoundBorder(
-            new GamePanel.MatrixBracketBorder(SUCCESS_COLOR),
-            BorderFactory.createEmptyBorder(3, 10, 3, 10)
-        ));
-        
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                JTextField field = new JTextField(3);
-                styleTextField(field);
-                field.setPreferredSize(new Dimension(35, 28));
-                
-                // Enter zum Absenden
-                final int fi = i, fj = j;
-                field.addKeyListener(new KeyAdapter() {
-                    @Override
-                    public void keyPressed(KeyEvent e) {
-                        if (e.getKeyCode() == KeyEvent.VK_ENTER) {
-                            // Zum nächsten Feld oder Absenden
-                            if (fi == rows - 1 && fj == cols - 1) {
-                                checkAnswer();
-                            } else if (fj < cols - 1) {
-                                inputFields[fi][fj + 1].requestFocus();
-                            } else {
-                                inputFields[fi + 1][0].requestFocus();
-                            }
-                        }
-                    }
-                });
-                
-                inputFields[i][j] = field;
-                gridPanel.add(field);
+    /**
+     * Antwortmöglichkeiten als Buttons - ein Klick beantwortet die Aufgabe
+     */
+    private void showChoices() {
+        inputFields = null;
+        choiceValues = DistractorEngine.options(currentQuestion, choiceOptions.length, random);
+        
+        for (int i = 0; i < choiceOptions.length; i++) {
+            JButton btn = choiceOptions[i];
+            btn.setVisible(i < choiceValues.length);
+            if (i < choiceValues.length) {
+                btn.setText(DistractorEngine.label(choiceValues[i], currentQuestion));
+                btn.setBackground(PANEL_COLOR);
             }
         }
-        
-        inputWrapper.add(gridPanel, BorderLayout.CENTER);
-        
-        inputArea.add(Box.createVerticalGlue());
-        inputArea.add(inputWrapper);
-        inputArea.add(Box.createVerticalGlue());
-        
-        // Fokus auf erstes Feld
-        SwingUtilities.invokeLater(() -> inputFields[0][0].requestFocus());
+        choiceButtons = choiceOptions;
+        QuestionView.showOnly(choiceInput, inputGrid, singleInput, choiceInput);
     }
     
     private void styleTextField(JTextField field) {
-        field.setFont(new Font("Monospaced", Font.BOLD, 14));
+        field.setFont(Theme.mono(Font.BOLD, 14));
         field.setHorizontalAlignment(JTextField.CENTER);
         field.setBackground(MATRIX_CELL_COLOR);
         field.setForeground(TEXT_COLOR);
@@ -632,16 +579,6 @@ public class ChallengePanel extends JPanel {
         field.setBorder(BorderFactory.createLineBorder(ACCENT_COLOR, 1));
     }
     
-    private double[][] generateMatrix(int rows, int cols, int min, int max) {
-        double[][] matrix = new double[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                matrix[i][j] = min + random.nextInt(max - min + 1);
-            }
-        }
-        return matrix;
-    }
-    
     private String formatValue(double value) {
         if (value == (int) value) {
             return String.valueOf((int) value);
@@ -653,56 +590,59 @@ public class ChallengePanel extends JPanel {
      * Prüft die aktuelle Antwort
      */
     private void checkAnswer() {
-        if (!gameActive) return;
+        if (!gameActive || inputFields == null) return;
         
-        double[][] userResult;
-        try {
-            userResult = new double[inputFields.length][inputFields[0].length];
-            for (int i = 0; i < inputFields.length; i++) {
-                for (int j = 0; j < inputFields[i].length; j++) {
-                    String text = inputFields[i][j].getText().trim().replace(",", ".");
-                    userResult[i][j] = Double.parseDouble(text);
-                }
-            }
-        } catch (NumberFormatException e) {
+        // Werte wurden schon beim Tippen gelesen
+        if (validator.getInvalidCount() > 0) {
             feedbackArea.setForeground(ERROR_COLOR);
             feedbackArea.setText("⚠️ Bitte gültige Zahlen eingeben!");
             return;
         }
         
+        submitAnswer(MatrixOps.copy(validator.getValues()));
+    }
+    
+    /**
+     * Wertet eine Antwort aus (getippt oder per Klick gewählt)
+     */
+    private void submitAnswer(double[][] userResult) {
+        if (!gameActive || answered) return;
+        
+        // Nach Ablauf der Frist zählt keine Antwort mehr, auch wenn das
+        // letzte Bild des Countdowns noch aussteht
+        if (clock.isExpired()) {
+            endGame();
+            return;
+        }
+        answered = true;
+        long latency = clock.answered();
+        
         questionsAnswered++;
-        boolean correct = compareMatrices(userResult, expectedResult);
+        boolean correct = choiceButtons == null
+            ? validator.isAllCorrect() : compareMatrices(userResult, expectedResult);
         
         if (correct) {
             correctAnswers++;
             combo++;
             
-            // Punkte basierend auf Schwierigkeit und Kombo
-            int basePoints = switch (currentQuestionType) {
-                case 0, 1 -> 10;  // Addition/Subtraktion
-                case 2 -> 12;     // Skalar
-                case 3 -> 15;     // Transposition
-                case 4 -> 20;     // Determinante
-                case 5 -> 8;      // Element
-                default -> 10;
-            };
+            // Punkte basierend auf Schwierigkeit, Kombo und Antwortzeit
+            int basePoints = currentQuestion.basePoints;
             
             int comboBonus = Math.min(combo - 1, 5) * 5;
-            int points = basePoints + comboBonus;
+            int points = basePoints + comboBonus + speedBonus(latency);
             
             challengeScore += points;
             
             feedbackArea.setForeground(SUCCESS_COLOR);
-            feedbackArea.setText(String.format("✅ Richtig! +%d Punkte (Kombo x%d)", points, combo));
+            feedbackArea.setText(String.format("✅ Richtig! +%d Punkte (Kombo x%d, %.2f s)",
+                points, combo, ChallengeClock.toSeconds(latency)));
             
             // Update Labels
             scoreLabel.setText("⭐ " + challengeScore);
             comboLabel.setText("🔥 x" + combo);
             
             // Kurze Pause, dann nächste Frage
-            Timer nextTimer = new Timer(500, e -> generateQuestion());
-            nextTimer.setRepeats(false);
-            nextTimer.start();
+            nextQuestion = FrameScheduler.after(this, 500, this::generateQuestion);
             
         } else {
             combo = 0;
@@ -719,35 +659,38 @@ public class ChallengePanel extends JPanel {
             comboLabel.setText("🔥 x0");
             
             // Markiere Fehler
-            for (int i = 0; i < inputFields.length; i++) {
-                for (int j = 0; j < inputFields[i].length; j++) {
-                    try {
-                        double val = Double.parseDouble(inputFields[i][j].getText().trim().replace(",", "."));
-                        inputFields[i][j].setBackground(
-                            Math.abs(val - expectedResult[i][j]) < 0.001 ? 
-                            SUCCESS_COLOR.darker() : ERROR_COLOR.darker()
-                        );
-                    } catch (NumberFormatException e) {
-                        inputFields[i][j].setBackground(ERROR_COLOR.darker());
+            if (choiceButtons != null) {
+                for (int i = 0; i < choiceValues.length; i++) {
+                    if (compareMatrices(choiceValues[i], expectedResult)) {
+                        choiceButtons[i].setBackground(SUCCESS_COLOR.darker());
+                    } else if (choiceValues[i] == userResult) {
+                        choiceButtons[i].setBackground(ERROR_COLOR.darker());
                     }
                 }
             }
+            for (int i = 0; inputFields != null && i < inputFields.length; i++) {
+                for (int j = 0; j < inputFields[i].length; j++) {
+                    inputFields[i][j].setBackground(
+                        validator.isCorrect(i, j) ? SUCCESS_COLOR.darker() : ERROR_COLOR.darker()
+                    );
+                }
+            }
             
             // Kurze Pause, dann nächste Frage
-            Timer nextTimer = new Timer(1500, e -> generateQuestion());
-            nextTimer.setRepeats(false);
-            nextTimer.start();
+            nextQuestion = FrameScheduler.after(this, 1500, this::generateQuestion);
         }
     }
     
+    /**
+     * Zeitbonus, linear fallend von SPEED_BONUS_MAX auf 0
+     */
+    private static int speedBonus(long latencyNanos) {
+        if (latencyNanos < 0 || latencyNanos >= SPEED_BONUS_NANOS) return 0;
+        return (int) Math.ceil(SPEED_BONUS_MAX * (1 - (double) latencyNanos / SPEED_BONUS_NANOS));
+    }
+    
     private boolean compareMatrices(double[][] a, double[][] b) {
-        if (a.length != b.length || a[0].length != b[0].length) return false;
-        for (int i = 0; i < a.length; i++) {
-            for (int j = 0; j < a[i].length; j++) {
-                if (Math.abs(a[i][j] - b[i][j]) > 0.001) return false;
-            }
-        }
-        return true;
+        return currentQuestion.comparator.matches(a, b);
     }
     
     /**
@@ -755,7 +698,10 @@ public class ChallengePanel extends JPanel {
      */
     private void endGame() {
         gameActive = false;
-        gameTimer.stop();
+        countdown.cancel();
+        if (nextQuestion != null) {
+            nextQuestion.cancel();
+        }
         
         // Punkte zum Gesamtscore hinzufügen
         game.addScore(challengeScore);
@@ -767,15 +713,25 @@ public class ChallengePanel extends JPanel {
                       accuracy >= 70 ? "⭐ Großartig!" :
                       accuracy >= 50 ? "👍 Gut!" : "💪 Weiter üben!";
         
+        // Antwortzeiten, falls überhaupt geantwortet wurde
+        String times = clock.getAnswerCount() == 0 ? "" : String.format(
+            "Ø Antwortzeit: %.2f s (Median %.2f s)\n" +
+            "Schnellste: %.2f s\n",
+            ChallengeClock.toSeconds(clock.averageNanos()),
+            ChallengeClock.toSeconds(clock.medianNanos()),
+            ChallengeClock.toSeconds(clock.fastestNanos())
+        );
+        
         String message = String.format(
             "ZEIT ABGELAUFEN!\n\n" +
             "━━━━━━━━━━━━━━━━━━━━\n" +
             "Punkte: %d\n" +
             "Aufgaben: %d\n" +
             "Richtig: %d (%.0f%%)\n" +
+            "%s" +
             "━━━━━━━━━━━━━━━━━━━━\n\n" +
             "%s",
-            challengeScore, questionsAnswered, correctAnswers, accuracy, grade
+            challengeScore, questionsAnswered, correctAnswers, accuracy, times, grade
         );
         
         JOptionPane.showMessageDialog(this, message, "Herausforderung beendet!", 
@@ -783,4 +739,22 @@ public class ChallengePanel extends JPanel {
         
         game.showMainMenu();
     }
+    
+    /**
+     * Stoppt Countdown und Live-Prüfung, wenn das Panel verworfen wird
+     */
+    @Override
+    public void dispose() {
+        gameActive = false;
+        if (countdown != null) {
+            countdown.cancel();
+        }
+        if (nextQuestion != null) {
+            nextQuestion.cancel();
+        }
+        if (validator != null) {
+            validator.dispose();
+            validator = null;
+        }
+    }
 }
@@ -0,0 +1,228 @@
+import java.util.*;
+
+/**
+ * DistractorEngine - Falsche Antwortmöglichkeiten für den Multiple-Choice-Modus
+ *
+ * Die Distraktoren bilden typische Denkfehler nach (Vorzeichenfehler bei der
+ * Determinante, vergessenes Transponieren, elementweise statt Zeile × Spalte
+ * multipliziert, ...). Sie werden aus dem erwarteten Ergebnis und den bei der
+ * Generierung gemerkten Zwischenergebnissen ({@link Question#terms})
+ * zusammengesetzt, statt jede falsche Variante komplett neu auszurechnen.
+ *
+ * Reicht die Zahl der Denkfehler nicht, wird das richtige Ergebnis an einer
+ * Stelle leicht verändert.
+ */
+public final class DistractorEngine {
+
+    private static final double EPSILON = 0.001;
+
+    private DistractorEngine() {
+    }
+
+    /**
+     * Liefert count Antwortmöglichkeiten in zufälliger Reihenfolge,
+     * genau eine davon ist das richtige Ergebnis
+     */
+    public static double[][][] options(Question question, int count, Random random) {
+        List<double[][]> options = new ArrayList<>(count);
+        options.add(question.expected);
+
+        for (double[][] candidate : misconceptions(question)) {
+            if (options.size() >= count) break;
+            addIfNew(options, candidate);
+        }
+
+        // Auffüllen mit kleinen Abweichungen vom richtigen Ergebnis
+        int attempts = 0;
+        while (options.size() < count && attempts++ < 50) {
+            addIfNew(options, perturb(question.expected, random));
+        }
+
+        Collections.shuffle(options, random);
+        return options.toArray(new double[0][][]);
+    }
+
+    /**
+     * Beschriftung einer Antwortmöglichkeit (HTML für Buttons), Werte wie
+     * bei der Eingabe formatiert (z.B. als Brüche)
+     */
+    public static String label(double[][] option, Question question) {
+        if (option.length == 1 && option[0].length == 1) {
+            return "<html><font size='+1'>" + WorkedSolutions.formatAnswer(question, option[0][0]) + "</font></html>";
+        }
+        StringBuilder sb = new StringBuilder("<html><table cellspacing='0' cellpadding='2'>");
+        for (double[] row : option) {
+            sb.append("<tr>");
+            for (double value : row) {
+                sb.append("<td align='right'>").append(WorkedSolutions.formatAnswer(question, value)).append("</td>");
+            }
+            sb.append("</tr>");
+        }
+        return sb.append("</table></html>").toString();
+    }
+
+    // ==================== Denkfehler je Aufgabentyp ====================
+
+    private static List<double[][]> misconceptions(Question question) {
+        double[][] e = question.expected;
+        double[][] a = question.matrixA;
+        double[][] b = question.matrixB;
+        double[] terms = question.terms;
+        List<double[][]> result = new ArrayList<>();
+
+        // Ohne gemerkte Zwischenergebnisse bleibt es bei einfachen Abweichungen
+        boolean needsTerms = switch (question.typeId) {
+            case "element", "multiplication", "determinant" -> true;
+            default -> false;
+        };
+        if (needsTerms && terms == null) return result;
+
+        switch (question.typeId) {
+            case "element" -> {
+                // Zeile und Spalte vertauscht bzw. Nachbarelemente
+                int row = (int) terms[0];
+                int col = (int) terms[1];
+                if (col < a.length && row < a[0].length) result.add(single(a[col][row]));
+                if (col + 1 < a[0].length) result.add(single(a[row][col + 1]));
+                if (row + 1 < a.length) result.add(single(a[row + 1][col]));
+                if (col > 0) result.add(single(a[row][col - 1]));
+            }
+            case "addition" -> {
+                // A - B statt A + B: e - 2B
+                result.add(combine(e, b, -2));
+                result.add(negate(e));
+            }
+            case "subtraction" -> {
+                // B - A und A + B: -e bzw. e + 2B
+                result.add(negate(e));
+                result.add(combine(e, b, 2));
+            }
+            case "scalar" -> {
+                // k addiert statt multipliziert, nur erste Zeile multipliziert
+                double[][] added = new double[a.length][a[0].length];
+                for (int i = 0; i < a.length; i++) {
+                    for (int j = 0; j < a[0].length; j++) {
+                        added[i][j] = a[i][j] + question.scalar;
+                    }
+                }
+                result.add(added);
+                double[][] firstRow = MatrixOps.copy(a);
+                firstRow[0] = e[0].clone();
+                result.add(firstRow);
+            }
+            case "multiplication" -> {
+                int m = e.length;
+                int p = e[0].length;
+                int n = a[0].length;
+                // Elementweise statt Zeile × Spalte (nur bei gleicher Form möglich)
+                if (a.length == b.length && n == p) {
+                    double[][] elementWise = new double[m][p];
+                    for (int i = 0; i < m; i++) {
+                        for (int j = 0; j < p; j++) {
+                            elementWise[i][j] = a[i][j] * b[i][j];
+                        }
+                    }
+                    result.add(elementWise);
+                }
+                // Nur das erste Produkt statt der Summe, bzw. letztes Produkt vergessen
+                double[][] firstOnly = new double[m][p];
+                double[][] lastMissing = new double[m][p];
+                for (int i = 0; i < m; i++) {
+                    for (int j = 0; j < p; j++) {
+                        int base = (i * p + j) * n;
+                        firstOnly[i][j] = terms[base];
+                        lastMissing[i][j] = e[i][j] - terms[base + n - 1];
+                    }
+                }
+                result.add(firstOnly);
+                if (n > 1) result.add(lastMissing);
+                // Ergebnis transponiert (Zeile und Spalte vertauscht)
+                if (m == p) result.add(MatrixOps.transpose(e));
+            }
+            case "transposition" -> {
+                // Nicht transponiert, an der Nebendiagonale gespiegelt
+                if (a.length == a[0].length) result.add(a);
+                double[][] anti = new double[e.length][e[0].length];
+                for (int i = 0; i < e.length; i++) {
+                    for (int j = 0; j < e[0].length; j++) {
+                        anti[i][j] = e[e.length - 1 - i][e[0].length - 1 - j];
+                    }
+                }
+                result.add(anti);
+            }
+            case "determinant" -> {
+                // Vorzeichenfehler: alle Diagonalprodukte addiert, Reihenfolge vertauscht,
+                // nur die Hauptdiagonale
+                double all = 0;
+                double positive = 0;
+                for (int t = 0; t < terms.length; t++) {
+                    all += terms[t];
+                    if (t < terms.length / 2) positive += terms[t];
+                }
+                result.add(single(all));
+                result.add(single(-e[0][0]));
+                result.add(single(terms[0]));
+                if (terms.length > 2) result.add(single(positive));
+            }
+            case "inverse" -> {
+                // 1/det vergessen (Adjunkte), Vorzeichen vergessen, Diagonale nicht getauscht
+                result.add(new double[][]{{a[1][1], -a[0][1]}, {-a[1][0], a[0][0]}});
+                result.add(new double[][]{{e[0][0], -e[0][1]}, {-e[1][0], e[1][1]}});
+                result.add(new double[][]{{e[1][1], e[0][1]}, {e[1][0], e[0][0]}});
+            }
+            default -> {
+                // Unbekannter Typ: nur Abweichungen vom Ergebnis
+            }
+        }
+        return result;
+    }
+
+    // ==================== Hilfsmethoden ====================
+
+    private static void addIfNew(List<double[][]> options, double[][] candidate) {
+        for (double[][] option : options) {
+            if (sameValues(option, candidate)) return;
+        }
+        options.add(candidate);
+    }
+
+    private static boolean sameValues(double[][] x, double[][] y) {
+        if (x.length != y.length || x[0].length != y[0].length) return false;
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[i].length; j++) {
+                if (Math.abs(x[i][j] - y[i][j]) > EPSILON) return false;
+            }
+        }
+        return true;
+    }
+
+    private static double[][] perturb(double[][] expected, Random random) {
+        double[][] copy = MatrixOps.copy(expected);
+        int i = random.nextInt(copy.length);
+        int j = random.nextInt(copy[0].length);
+        int delta = 1 + random.nextInt(3);
+        copy[i][j] += random.nextBoolean() ? delta : -delta;
+        return copy;
+    }
+
+    private static double[][] single(double value) {
+        return new double[][]{{value}};
+    }
+
+    private static double[][] negate(double[][] matrix) {
+        return MatrixOps.scale(-1, matrix);
+    }
+
+    /**
+     * x + factor · y
+     */
+    private static double[][] combine(double[][] x, double[][] y, double factor) {
+        double[][] result = new double[x.length][x[0].length];
+        for (int i = 0; i < x.length; i++) {
+            for (int j = 0; j < x[0].length; j++) {
+                result[i][j] = x[i][j] + factor * y[i][j];
+            }
+        }
+        return result;
+    }
+}
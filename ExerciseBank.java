@@ -0,0 +1,430 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * ExerciseBank - Vorberechnete Aufgabensammlung, sortiert nach Modul und Schwierigkeit
+ *
+ * Die Bank wird offline mit {@code java ExerciseBank [datei]} erzeugt:
+ * Für jedes Rechenmodul werden viele Kandidaten generiert, mit einem
+ * gemessenen Schwierigkeitswert bewertet (Anzahl Rechenoperationen,
+ * Größe der Zwischenergebnisse) und in 5 Stufen einsortiert.
+ *
+ * Zur Laufzeit wird die Datei nur per Memory-Mapping eingeblendet.
+ * Eine Aufgabe einer bestimmten Stufe zu ziehen kostet O(1):
+ * Index-Eintrag nachschlagen, zufälligen Datensatz lesen.
+ *
+ * Dateiformat (Big Endian):
+ * - Header: Magic, Version, Anzahl Module, Anzahl Stufen
+ * - Index: pro Modul und Stufe (erster Datensatz, Anzahl)
+ * - Datensätze mit fester Länge von {@value #RECORD_SIZE} Bytes
+ */
+public class ExerciseBank {
+
+    public static final int LEVELS = 5;
+    public static final int MODULE_COUNT = 10;
+    static final int RECORD_SIZE = 32;
+
+    private static final int MAGIC = 0x4D584542; // "MXEB"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16 + MODULE_COUNT * LEVELS * 8;
+
+    // Module, für die die Bank Aufgaben enthält (Indizes wie in MatrixGame.MODULES)
+    static final int[] BANK_MODULES = {1, 2, 3, 4, 5, 6, 7};
+
+    private static final String DEFAULT_FILE = "exercises.bank";
+    private static ExerciseBank defaultBank;
+    private static boolean defaultLoaded = false;
+
+    private final ByteBuffer data;
+    private final int records;
+    private final int[] firstRecord = new int[MODULE_COUNT * LEVELS];
+    private final int[] recordCount = new int[MODULE_COUNT * LEVELS];
+
+    private ExerciseBank(ByteBuffer data) throws IOException {
+        this.data = data;
+
+        if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION ||
+            data.getInt(8) != MODULE_COUNT || data.getInt(12) != LEVELS) {
+            throw new IOException("Keine gültige Aufgabenbank (falsches Format oder Version)");
+        }
+
+        records = (data.capacity() - HEADER_SIZE) / RECORD_SIZE;
+        for (int slot = 0; slot < MODULE_COUNT * LEVELS; slot++) {
+            firstRecord[slot] = data.getInt(16 + slot * 8);
+            recordCount[slot] = data.getInt(16 + slot * 8 + 4);
+            if (firstRecord[slot] < 0 || recordCount[slot] < 0 ||
+                firstRecord[slot] + recordCount[slot] > records) {
+                throw new IOException("Beschädigter Index in der Aufgabenbank");
+            }
+        }
+    }
+
+    /**
+     * Eine Aufgabe aus der Bank (nur die Operanden, das Ergebnis berechnet der Aufrufer)
+     */
+    static class Exercise {
+        final int module;
+        final int level;
+        final int score;
+        final double[][] matrixA;
+        final double[][] matrixB;
+        final double scalar;
+
+        Exercise(int module, int level, int score, double[][] matrixA, double[][] matrixB, double scalar) {
+            this.module = module;
+            this.level = level;
+            this.score = score;
+            this.matrixA = matrixA;
+            this.matrixB = matrixB;
+            this.scalar = scalar;
+        }
+    }
+
+    /**
+     * Öffnet eine Bankdatei per Memory-Mapping (nur lesend)
+     */
+    public static ExerciseBank open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Aufgabenbank ist zu kurz: " + file);
+            }
+            // Das Mapping bleibt auch nach dem Schließen des Kanals gültig
+            return new ExerciseBank(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Liefert die Standard-Bank (Systemproperty "matrixgame.bank" oder exercises.bank
+     * im Arbeitsverzeichnis). Gibt null zurück, wenn keine Bank vorhanden ist -
+     * die Aufrufer generieren dann wie bisher zufällige Aufgaben.
+     */
+    public static synchronized ExerciseBank getDefault() {
+        if (!defaultLoaded) {
+            defaultLoaded = true;
+            Path file = Paths.get(System.getProperty("matrixgame.bank", DEFAULT_FILE));
+            if (Files.isRegularFile(file)) {
+                try {
+                    defaultBank = open(file);
+                } catch (IOException e) {
+                    System.err.println("Aufgabenbank konnte nicht geladen werden: " + e.getMessage());
+                }
+            }
+        }
+        return defaultBank;
+    }
+
+    /**
+     * Zieht eine zufällige Aufgabe der gewünschten Stufe (1-5) in O(1).
+     * Ist die Stufe leer, wird die nächstgelegene gefüllte Stufe verwendet.
+     */
+    public Exercise draw(int module, int level, Random random) {
+        if (module < 0 || module >= MODULE_COUNT) return null;
+        level = Math.max(1, Math.min(LEVELS, level));
+
+        for (int distance = 0; distance < LEVELS; distance++) {
+            if (level - distance >= 1 && count(module, level - distance) > 0) {
+                return drawFrom(module, level - distance, random);
+            }
+            if (level + distance <= LEVELS && count(module, level + distance) > 0) {
+                return drawFrom(module, level + distance, random);
+            }
+        }
+        return null;
+    }
+
+    private Exercise drawFrom(int module, int level, Random random) {
+        int slot = module * LEVELS + (level - 1);
+        return readRecord(module, level, firstRecord[slot] + random.nextInt(recordCount[slot]));
+    }
+
+    /**
+     * Anzahl der Aufgaben eines Moduls in einer Stufe
+     */
+    public int count(int module, int level) {
+        return recordCount[module * LEVELS + (level - 1)];
+    }
+
+    /**
+     * Gesamtzahl der Datensätze; gültige Aufgaben-IDs sind 0 bis size() - 1
+     */
+    public int size() {
+        return records;
+    }
+
+    /**
+     * Liest die Aufgabe mit der angegebenen ID (Datensatznummer), z.B. für
+     * die Auswertung eingereichter Antworten. Null, falls die ID zu keinem
+     * Modul gehört. Nur lesende Zugriffe, daher aus mehreren Threads nutzbar.
+     */
+    public Exercise get(int record) {
+        for (int slot = 0; slot < MODULE_COUNT * LEVELS; slot++) {
+            if (record >= firstRecord[slot] && record < firstRecord[slot] + recordCount[slot]) {
+                return readRecord(slot / LEVELS, slot % LEVELS + 1, record);
+            }
+        }
+        return null;
+    }
+
+    private Exercise readRecord(int module, int level, int record) {
+        int base = HEADER_SIZE + record * RECORD_SIZE;
+        int rowsA = data.get(base);
+        int colsA = data.get(base + 1);
+        int rowsB = data.get(base + 2);
+        int colsB = data.get(base + 3);
+        double scalar = data.get(base + 4);
+        int score = data.getShort(base + 6);
+
+        double[][] matrixA = readMatrix(base + 8, rowsA, colsA);
+        double[][] matrixB = rowsB > 0 ? readMatrix(base + 17, rowsB, colsB) : null;
+
+        return new Exercise(module, level, score, matrixA, matrixB, scalar);
+    }
+
+    private double[][] readMatrix(int offset, int rows, int cols) {
+        double[][] matrix = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix[i][j] = data.get(offset + i * 3 + j);
+            }
+        }
+        return matrix;
+    }
+
+    // ==================== Schwierigkeitsbewertung ====================
+
+    /**
+     * Misst die Schwierigkeit einer Aufgabe: Anzahl der nötigen Rechenoperationen
+     * plus Stellenanzahl des größten Zwischenergebnisses plus negative Operanden.
+     */
+    static int scoreDifficulty(int module, double[][] a, double[][] b, double scalar) {
+        int rows = a.length;
+        int cols = a[0].length;
+        int operations;
+        double largest = maxAbs(a);
+
+        switch (module) {
+            case 1, 2 -> {
+                operations = rows * cols;
+                for (int i = 0; i < rows; i++) {
+                    for (int j = 0; j < cols; j++) {
+                        double value = module == 1 ? a[i][j] + b[i][j] : a[i][j] - b[i][j];
+                        largest = Math.max(largest, Math.abs(value));
+                    }
+                }
+            }
+            case 3 -> {
+                operations = rows * cols;
+                largest = Math.max(largest, maxAbs(a) * Math.abs(scalar));
+            }
+            case 4 -> {
+                int p = b[0].length;
+                operations = rows * p * (2 * cols - 1);
+                for (int i = 0; i < rows; i++) {
+                    for (int j = 0; j < p; j++) {
+                        double sum = 0;
+                        for (int k = 0; k < cols; k++) {
+                            double product = a[i][k] * b[k][j];
+                            largest = Math.max(largest, Math.abs(product));
+                            sum += product;
+                        }
+                        largest = Math.max(largest, Math.abs(sum));
+                    }
+                }
+            }
+            case 5 -> operations = (rows * cols + 1) / 2; // reines Umsortieren
+            case 6 -> {
+                if (rows == 2) {
+                    operations = 3;
+                    largest = Math.max(largest, Math.max(Math.abs(a[0][0] * a[1][1]), Math.abs(a[0][1] * a[1][0])));
+                } else {
+                    operations = 17;
+                    largest = Math.max(largest, Math.abs(a[0][0] * a[1][1] * a[2][2]));
+                    largest = Math.max(largest, Math.abs(a[0][1] * a[1][2] * a[2][0]));
+                    largest = Math.max(largest, Math.abs(a[0][2] * a[1][0] * a[2][1]));
+                    largest = Math.max(largest, Math.abs(a[0][2] * a[1][1] * a[2][0]));
+                    largest = Math.max(largest, Math.abs(a[0][0] * a[1][2] * a[2][1]));
+                    largest = Math.max(largest, Math.abs(a[0][1] * a[1][0] * a[2][2]));
+                }
+            }
+            case 7 -> {
+                operations = 7; // Determinante + 4 Divisionen
+                double det = a[0][0] * a[1][1] - a[0][1] * a[1][0];
+                largest = Math.max(largest, Math.abs(det));
+                // Nicht-ganzzahlige Einträge machen die Aufgabe deutlich schwerer
+                if (Math.abs(det) != 1) operations += 4;
+            }
+            default -> operations = rows * cols;
+        }
+
+        int digits = largest < 1 ? 1 : (int) Math.floor(Math.log10(largest)) + 1;
+        return operations + 3 * digits + countNegatives(a) + (b != null ? countNegatives(b) : 0);
+    }
+
+    private static double maxAbs(double[][] matrix) {
+        double max = 0;
+        for (double[] row : matrix) {
+            for (double value : row) {
+                max = Math.max(max, Math.abs(value));
+            }
+        }
+        return max;
+    }
+
+    private static int countNegatives(double[][] matrix) {
+        int count = 0;
+        for (double[] row : matrix) {
+            for (double value : row) {
+                if (value < 0) count++;
+            }
+        }
+        return count;
+    }
+
+    // ==================== Offline-Erzeugung ====================
+
+    /**
+     * Erzeugt eine neue Bankdatei. Pro Modul werden {@code candidates} Aufgaben
+     * generiert, nach Schwierigkeit sortiert und in {@link #LEVELS} gleich große
+     * Stufen (Quantile) aufgeteilt; pro Stufe werden höchstens {@code perLevel} behalten.
+     */
+    public static void build(Path file, int candidates, int perLevel, long seed) throws IOException {
+        Random random = new Random(seed);
+        List<byte[]> records = new ArrayList<>();
+        int[] first = new int[MODULE_COUNT * LEVELS];
+        int[] count = new int[MODULE_COUNT * LEVELS];
+
+        for (int module : BANK_MODULES) {
+            List<byte[]> scored = new ArrayList<>(candidates);
+            for (int n = 0; n < candidates; n++) {
+                scored.add(generateCandidate(module, random));
+            }
+            scored.sort(Comparator.comparingInt(record -> ByteBuffer.wrap(record).getShort(6)));
+
+            for (int level = 1; level <= LEVELS; level++) {
+                int from = (level - 1) * scored.size() / LEVELS;
+                int to = level * scored.size() / LEVELS;
+                int slot = module * LEVELS + (level - 1);
+
+                first[slot] = records.size();
+                Set<String> seen = new HashSet<>();
+                for (int n = from; n < to && count[slot] < perLevel; n++) {
+                    // Doppelte Aufgaben innerhalb einer Stufe überspringen
+                    if (seen.add(Arrays.toString(scored.get(n)))) {
+                        records.add(scored.get(n));
+                        count[slot]++;
+                    }
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + records.size() * RECORD_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(MODULE_COUNT).putInt(LEVELS);
+        for (int slot = 0; slot < MODULE_COUNT * LEVELS; slot++) {
+            buffer.putInt(first[slot]).putInt(count[slot]);
+        }
+        for (byte[] record : records) {
+            buffer.put(record);
+        }
+        buffer.flip();
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Generiert einen bewerteten Kandidaten als fertigen Datensatz
+     */
+    private static byte[] generateCandidate(int module, Random random) {
+        // Zahlenbereich variiert, damit alle Schwierigkeitsstufen vorkommen
+        int max = 4 + random.nextInt(module == 4 || module == 6 ? 7 : 16);
+        int min = random.nextInt(3) == 0 ? -max / 2 : 1;
+        int rows = 2 + random.nextInt(2);
+        int cols = 2 + random.nextInt(2);
+        double[][] a;
+        double[][] b = null;
+        double scalar = 0;
+
+        switch (module) {
+            case 1, 2 -> {
+                a = randomMatrix(random, rows, cols, min, max);
+                b = randomMatrix(random, rows, cols, min, max);
+            }
+            case 3 -> {
+                a = randomMatrix(random, rows, cols, min, max);
+                scalar = 2 + random.nextInt(8);
+            }
+            case 4 -> {
+                a = randomMatrix(random, rows, cols, min, Math.min(max, 9));
+                b = randomMatrix(random, cols, 2 + random.nextInt(2), min, Math.min(max, 9));
+            }
+            case 6 -> a = randomMatrix(random, rows, rows, min, max);
+            case 7 -> {
+                do {
+                    a = randomMatrix(random, 2, 2, min, Math.min(max, 9));
+                } while (a[0][0] * a[1][1] - a[0][1] * a[1][0] == 0);
+            }
+            default -> a = randomMatrix(random, rows, cols, min, max);
+        }
+
+        int score = scoreDifficulty(module, a, b, scalar);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.put(0, (byte) a.length);
+        record.put(1, (byte) a[0].length);
+        record.put(2, (byte) (b != null ? b.length : 0));
+        record.put(3, (byte) (b != null ? b[0].length : 0));
+        record.put(4, (byte) scalar);
+        record.putShort(6, (short) Math.min(score, Short.MAX_VALUE));
+        writeMatrix(record, 8, a);
+        if (b != null) writeMatrix(record, 17, b);
+        return record.array();
+    }
+
+    private static double[][] randomMatrix(Random random, int rows, int cols, int min, int max) {
+        double[][] matrix = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix[i][j] = min + random.nextInt(max - min + 1);
+            }
+        }
+        return matrix;
+    }
+
+    private static void writeMatrix(ByteBuffer record, int offset, double[][] matrix) {
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                record.put(offset + i * 3 + j, (byte) matrix[i][j]);
+            }
+        }
+    }
+
+    /**
+     * Offline-Erzeugung: java ExerciseBank [datei] [aufgabenProStufe]
+     */
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get(args.length > 0 ? args[0] : DEFAULT_FILE);
+        int perLevel = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+
+        long start = System.nanoTime();
+        build(file, perLevel * LEVELS * 4, perLevel, System.currentTimeMillis());
+
+        ExerciseBank bank = open(file);
+        System.out.printf("Aufgabenbank %s erzeugt (%.0f ms)%n", file, (System.nanoTime() - start) / 1e6);
+        for (int module : BANK_MODULES) {
+            StringBuilder line = new StringBuilder(String.format("  Modul %d:", module));
+            for (int level = 1; level <= LEVELS; level++) {
+                line.append(String.format(" Stufe %d=%d", level, bank.count(module, level)));
+            }
+            System.out.println(line);
+        }
+    }
+}
@@ -0,0 +1,460 @@
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * ExerciseRenderer - Aufgaben ohne Oberfläche als PNG oder SVG ausgeben
+ *
+ * Für Arbeitsblätter und Folien: Jede Aufgabe wird wie im Spiel dargestellt
+ * (Matrizen in Klammern, abgerundete Zellen) und als Bild gespeichert, auf
+ * Wunsch zusätzlich mit eingetragener Lösung. Gezeichnet wird mit denselben
+ * Bausteinen wie in den Panels: {@link GamePanel.MatrixBracketBorder} für die
+ * Klammern und {@link MatrixExplorer#paintCell} für die Zellen. Für SVG
+ * entstehen dieselben Formen als Vektorelemente.
+ *
+ * Das Layout ist nur einmal geschrieben und zeichnet über einen kleinen
+ * Stift ({@link Pen}) entweder in ein BufferedImage oder in SVG-Text. Es
+ * werden keine Swing-Komponenten angelegt und der Event-Thread wird nicht
+ * benutzt; die Aufgaben verteilen sich auf einen eigenen Pool über alle
+ * Kerne, jeder Thread mit eigenem {@link NumberText}.
+ *
+ * Die Aufgaben kommen aus der {@link ExerciseBank} (Dateiname = Aufgaben-ID
+ * wie bei {@link BatchGrader}), ohne Bank aus den registrierten
+ * Aufgabentypen mit festem Startwert, also reproduzierbar.
+ *
+ * Aufruf: java ExerciseRenderer zielordner [anzahl] [png|svg] [--loesung] [--druck] [--skala=2]
+ */
+public class ExerciseRenderer {
+
+    public enum Format { PNG, SVG }
+
+    private static final int CELL = MatrixExplorer.CELL;
+    private static final int MARGIN = 30;
+    private static final int GAP = 20;
+    private static final int HEADER_HEIGHT = 40;
+    private static final int LABEL_HEIGHT = 22;
+
+    // Abstand der Klammern von den Zellen
+    private static final int BRACKET_PAD_X = 12;
+    private static final int BRACKET_PAD_Y = 6;
+
+    private static final Font PROMPT_FONT = Theme.sans(Font.BOLD, 20);
+    private static final Font LABEL_FONT = Theme.sans(Font.BOLD, 14);
+    private static final Font OPERATOR_FONT = Theme.sans(Font.BOLD, 32);
+    private static final Font ANSWER_FONT = Theme.sans(Font.BOLD, 22);
+    private static final Font VALUE_FONT = Theme.sans(Font.BOLD, 18);
+
+    private static final long DEFAULT_SEED = 20240901L;
+
+    /**
+     * Farben einer Ausgabe: wie im Spiel oder hell zum Drucken
+     */
+    public static final class Palette {
+        public static final Palette SCREEN = new Palette(Theme.BACKGROUND, Theme.TEXT, Theme.MATRIX_CELL,
+            Theme.CELL_BORDER, Theme.ACCENT, Theme.SUCCESS, Theme.HIGHLIGHT);
+        public static final Palette PRINT = new Palette(Color.WHITE, Theme.color(30, 30, 30),
+            Theme.color(242, 242, 242), Theme.color(170, 170, 170), Theme.color(40, 40, 40),
+            Theme.color(40, 40, 40), Theme.color(90, 90, 90));
+
+        final Color background;
+        final Color text;
+        final Color cell;
+        final Color cellBorder;
+        final Color bracket;
+        final Color answerBracket;
+        final Color label;
+
+        private Palette(Color background, Color text, Color cell, Color cellBorder, Color bracket,
+                        Color answerBracket, Color label) {
+            this.background = background;
+            this.text = text;
+            this.cell = cell;
+            this.cellBorder = cellBorder;
+            this.bracket = bracket;
+            this.answerBracket = answerBracket;
+            this.label = label;
+        }
+    }
+
+    private final Palette palette;
+    private final double scale;
+
+    // NumberText ist nicht threadsicher: eine Instanz pro Arbeitsthread
+    private final ThreadLocal<NumberText> numbers = ThreadLocal.withInitial(() -> new NumberText(VALUE_FONT));
+
+    public ExerciseRenderer(Palette palette, double scale) {
+        this.palette = palette;
+        this.scale = scale;
+    }
+
+    // ==================== EINZELNE AUFGABE ====================
+
+    /**
+     * Aufgabe als Bild; mit solution wird das Ergebnis eingetragen
+     */
+    public BufferedImage renderImage(Question question, boolean solution) {
+        Dimension size = layout(question, solution, null);
+        BufferedImage image = new BufferedImage((int) Math.ceil(size.width * scale),
+            (int) Math.ceil(size.height * scale), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.scale(scale, scale);
+            g2d.setColor(palette.background);
+            g2d.fillRect(0, 0, size.width, size.height);
+            layout(question, solution, new ImagePen(g2d, numbers.get()));
+        } finally {
+            g2d.dispose();
+        }
+        return image;
+    }
+
+    /**
+     * Aufgabe als SVG-Dokument
+     */
+    public String renderSvg(Question question, boolean solution) {
+        Dimension size = layout(question, solution, null);
+        StringBuilder svg = new StringBuilder(4096);
+        svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"").append(Math.round(size.width * scale))
+            .append("\" height=\"").append(Math.round(size.height * scale))
+            .append("\" viewBox=\"0 0 ").append(size.width).append(' ').append(size.height).append("\">\n");
+        svg.append("<rect width=\"100%\" height=\"100%\" fill=\"").append(hex(palette.background)).append("\"/>\n");
+        layout(question, solution, new SvgPen(svg, numbers.get()));
+        svg.append("</svg>\n");
+        return svg.toString();
+    }
+
+    /**
+     * Ordnet die Aufgabe an und zeichnet sie mit dem Stift; ohne Stift wird
+     * nur die Größe bestimmt
+     */
+    private Dimension layout(Question question, boolean solution, Pen pen) {
+        boolean binary = question.matrixB != null;
+        boolean scaled = !binary && question.scalar != 0;
+        double[][] answer = question.isSingleValue() ? null : question.expected;
+
+        int height = matrixHeight(question.matrixA);
+        if (binary) height = Math.max(height, matrixHeight(question.matrixB));
+        height = Math.max(height, answer != null ? matrixHeight(answer) : CELL);
+
+        int top = MARGIN + HEADER_HEIGHT + LABEL_HEIGHT;
+        int middle = top + height / 2;
+        int x = MARGIN;
+
+        if (pen != null) {
+            pen.text(question.prompt, MARGIN, MARGIN + 20, PROMPT_FONT, palette.text);
+        }
+
+        if (scaled) {
+            x = symbol(pen, WorkedSolutions.formatValue(question.scalar) + " ×", x, middle, palette.label) + GAP;
+        }
+        x = matrix(pen, question.matrixA, "A", x, top, height, palette.bracket, true) + GAP;
+        if (binary) {
+            x = symbol(pen, question.operator, x, middle, palette.bracket) + GAP;
+            x = matrix(pen, question.matrixB, "B", x, top, height, palette.bracket, true) + GAP;
+        }
+
+        if (answer != null) {
+            x = symbol(pen, "=", x, middle, palette.text) + GAP;
+            x = matrix(pen, answer, null, x, top, height, palette.answerBracket, solution);
+        } else {
+            // Einzelwert: Beschriftung und ein Feld
+            x = symbol(pen, question.answerLabel, x, middle, palette.text, ANSWER_FONT) + GAP / 2;
+            if (pen != null) {
+                pen.cell(x, middle - CELL / 2, question.expected[0][0], solution);
+            }
+            x += CELL;
+        }
+
+        int width = Math.max(x + MARGIN, MARGIN * 2 + Theme.metrics(PROMPT_FONT).stringWidth(question.prompt));
+        return new Dimension(width, top + height + BRACKET_PAD_Y + MARGIN);
+    }
+
+    private static int matrixHeight(double[][] matrix) {
+        return matrix.length * CELL;
+    }
+
+    /**
+     * Matrix mit Klammern und optionaler Beschriftung darüber; liefert das rechte Ende
+     */
+    private int matrix(Pen pen, double[][] matrix, String label, int x, int top, int height, Color bracket,
+                       boolean values) {
+        int rows = matrix.length;
+        int cols = matrix[0].length;
+        int left = x + BRACKET_PAD_X;
+        int y = top + (height - rows * CELL) / 2;
+        int width = cols * CELL;
+
+        if (pen != null) {
+            if (label != null) {
+                int labelWidth = Theme.metrics(LABEL_FONT).stringWidth(label);
+                pen.text(label, left + (width - labelWidth) / 2, y - BRACKET_PAD_Y - 8, LABEL_FONT, palette.label);
+            }
+            pen.brackets(x, y - BRACKET_PAD_Y, width + 2 * BRACKET_PAD_X, rows * CELL + 2 * BRACKET_PAD_Y, bracket);
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    pen.cell(left + j * CELL, y + i * CELL, matrix[i][j], values);
+                }
+            }
+        }
+        return x + width + 2 * BRACKET_PAD_X;
+    }
+
+    private int symbol(Pen pen, String text, int x, int middle, Color color) {
+        return symbol(pen, text, x, middle, color, OPERATOR_FONT);
+    }
+
+    /**
+     * Operator oder Beschriftung, senkrecht mittig; liefert das rechte Ende
+     */
+    private int symbol(Pen pen, String text, int x, int middle, Color color, Font font) {
+        FontMetrics metrics = Theme.metrics(font);
+        if (pen != null) {
+            pen.text(text, x, middle + (metrics.getAscent() - metrics.getDescent()) / 2, font, color);
+        }
+        return x + metrics.stringWidth(text);
+    }
+
+    // ==================== STIFTE ====================
+
+    /**
+     * Die wenigen Zeichenoperationen, die das Layout braucht
+     */
+    private interface Pen {
+        void text(String text, int x, int baseline, Font font, Color color);
+
+        /**
+         * Zelle CELL × CELL; ohne showValue bleibt sie leer
+         */
+        void cell(int x, int y, double value, boolean showValue);
+
+        void brackets(int x, int y, int width, int height, Color color);
+    }
+
+    private final class ImagePen implements Pen {
+        private final Graphics2D g2d;
+        private final NumberText numbers;
+
+        ImagePen(Graphics2D g2d, NumberText numbers) {
+            this.g2d = g2d;
+            this.numbers = numbers;
+        }
+
+        @Override
+        public void text(String text, int x, int baseline, Font font, Color color) {
+            g2d.setFont(font);
+            g2d.setColor(color);
+            g2d.drawString(text, x, baseline);
+        }
+
+        @Override
+        public void cell(int x, int y, double value, boolean showValue) {
+            MatrixExplorer.paintCell(g2d, x, y, palette.cell, palette.cellBorder,
+                showValue ? palette.text : null, numbers, value);
+        }
+
+        @Override
+        public void brackets(int x, int y, int width, int height, Color color) {
+            // Die Klammer braucht keine Komponente
+            new GamePanel.MatrixBracketBorder(color).paintBorder(null, g2d, x, y, width, height);
+        }
+    }
+
+    private final class SvgPen implements Pen {
+        private final StringBuilder svg;
+        private final NumberText numbers;
+
+        SvgPen(StringBuilder svg, NumberText numbers) {
+            this.svg = svg;
+            this.numbers = numbers;
+        }
+
+        @Override
+        public void text(String text, int x, int baseline, Font font, Color color) {
+            svg.append("<text x=\"").append(x).append("\" y=\"").append(baseline).append('"');
+            font(font);
+            svg.append(" fill=\"").append(hex(color)).append("\">");
+            escape(text);
+            svg.append("</text>\n");
+        }
+
+        @Override
+        public void cell(int x, int y, double value, boolean showValue) {
+            // Wie MatrixExplorer.paintCell: 3 Punkte Rand, Rundung 8
+            svg.append("<rect x=\"").append(x + 3).append("\" y=\"").append(y + 3)
+                .append("\" width=\"").append(CELL - 6).append("\" height=\"").append(CELL - 6)
+                .append("\" rx=\"4\" fill=\"").append(hex(palette.cell))
+                .append("\" stroke=\"").append(hex(palette.cellBorder)).append("\"/>\n");
+            if (showValue) {
+                FontMetrics metrics = Theme.metrics(VALUE_FONT);
+                int baseline = y + (CELL + metrics.getAscent() - metrics.getDescent()) / 2;
+                svg.append("<text x=\"").append(x + CELL / 2).append("\" y=\"").append(baseline)
+                    .append("\" text-anchor=\"middle\"");
+                font(VALUE_FONT);
+                svg.append(" fill=\"").append(hex(palette.text)).append("\">")
+                    .append(numbers.toText(value, 1)).append("</text>\n");
+            }
+        }
+
+        @Override
+        public void brackets(int x, int y, int width, int height, Color color) {
+            // Wie GamePanel.MatrixBracketBorder: 8 Punkte breite Haken, Linienstärke 2
+            int right = x + width - 1;
+            int bottom = y + height - 1;
+            svg.append("<path fill=\"none\" stroke-width=\"2\" stroke=\"").append(hex(color)).append("\" d=\"")
+                .append("M").append(x + 8).append(' ').append(y).append(" H").append(x)
+                .append(" V").append(bottom).append(" H").append(x + 8)
+                .append(" M").append(right - 8).append(' ').append(y).append(" H").append(right)
+                .append(" V").append(bottom).append(" H").append(right - 8)
+                .append("\"/>\n");
+        }
+
+        private void font(Font font) {
+            svg.append(" font-family=\"").append(font.getFamily().equals(Font.MONOSPACED) ? "monospace" : "sans-serif")
+                .append("\" font-size=\"").append(font.getSize()).append('"');
+            if (font.isBold()) svg.append(" font-weight=\"bold\"");
+            if (font.isItalic()) svg.append(" font-style=\"italic\"");
+        }
+
+        private void escape(String text) {
+            for (int k = 0; k < text.length(); k++) {
+                char c = text.charAt(k);
+                switch (c) {
+                    case '<' -> svg.append("&lt;");
+                    case '>' -> svg.append("&gt;");
+                    case '&' -> svg.append("&amp;");
+                    case '"' -> svg.append("&quot;");
+                    default -> svg.append(c);
+                }
+            }
+        }
+    }
+
+    private static String hex(Color color) {
+        return String.format("#%06x", color.getRGB() & 0xFFFFFF);
+    }
+
+    // ==================== STAPELVERARBEITUNG ====================
+
+    /**
+     * Aufgabe mit der angegebenen Nummer: aus der Bank (Datensatznummer) oder
+     * reproduzierbar generiert
+     */
+    static Question exercise(ExerciseBank bank, int id) {
+        if (bank != null) {
+            ExerciseBank.Exercise exercise = bank.get(id);
+            if (exercise == null) return null;
+            return QuestionTypes.forModule(exercise.module).create(exercise.matrixA, exercise.matrixB,
+                exercise.scalar);
+        }
+        List<QuestionType> types = QuestionTypes.all();
+        return types.get(id % types.size()).generate(new java.util.Random(DEFAULT_SEED + id), 3);
+    }
+
+    /**
+     * Schreibt die Aufgaben 0..count-1 parallel in den Ordner und liefert
+     * die Anzahl der geschriebenen Dateien
+     */
+    public int renderAll(ExerciseBank bank, int count, Path directory, Format format, boolean solutions,
+                         int parallelism) throws IOException, InterruptedException {
+        Files.createDirectories(directory);
+        // Keine Zwischendateien von ImageIO, jeder Thread schreibt direkt
+        ImageIO.setUseCache(false);
+
+        AtomicInteger written = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(id -> {
+                Question question = exercise(bank, id);
+                if (question == null) return;
+                write(question, directory.resolve(fileName(id, false, format)), format, false);
+                written.incrementAndGet();
+                if (solutions) {
+                    write(question, directory.resolve(fileName(id, true, format)), format, true);
+                    written.incrementAndGet();
+                }
+            })).get();
+        } catch (java.util.concurrent.ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) throw io.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            throw new IOException(cause);
+        } finally {
+            pool.shutdown();
+        }
+        return written.get();
+    }
+
+    private void write(Question question, Path file, Format format, boolean solution) {
+        try {
+            if (format == Format.PNG) {
+                ImageIO.write(renderImage(question, solution), "png", file.toFile());
+            } else {
+                try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    out.write(renderSvg(question, solution));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String fileName(int id, boolean solution, Format format) {
+        return "aufgabe-" + id + (solution ? "-loesung." : ".") + (format == Format.PNG ? "png" : "svg");
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Ohne Bildschirm lauffähig (Server, Build-Pipeline)
+        if (System.getProperty("java.awt.headless") == null) {
+            System.setProperty("java.awt.headless", "true");
+        }
+        if (args.length < 1) {
+            System.err.println("Aufruf: java ExerciseRenderer zielordner [anzahl] [png|svg] "
+                + "[--loesung] [--druck] [--skala=2]");
+            System.exit(2);
+        }
+
+        Path directory = Paths.get(args[0]);
+        int count = 100;
+        Format format = Format.PNG;
+        boolean solutions = false;
+        Palette palette = Palette.SCREEN;
+        double scale = 1;
+        for (int k = 1; k < args.length; k++) {
+            String arg = args[k];
+            if (arg.equals("--loesung")) {
+                solutions = true;
+            } else if (arg.equals("--druck")) {
+                palette = Palette.PRINT;
+            } else if (arg.startsWith("--skala=")) {
+                scale = Double.parseDouble(arg.substring("--skala=".length()));
+            } else if (arg.equalsIgnoreCase("png") || arg.equalsIgnoreCase("svg")) {
+                format = Format.valueOf(arg.toUpperCase());
+            } else {
+                count = Integer.parseInt(arg);
+            }
+        }
+
+        ExerciseBank bank = ExerciseBank.getDefault();
+        if (bank != null) {
+            count = Math.min(count, bank.size());
+        }
+
+        ExerciseRenderer renderer = new ExerciseRenderer(palette, scale);
+        long start = System.nanoTime();
+        int files = renderer.renderAll(bank, count, directory, format, solutions,
+            Runtime.getRuntime().availableProcessors());
+        System.err.printf("%d Dateien in %s geschrieben (%s, %.0f ms)%n", files, directory,
+            bank != null ? "Aufgabenbank" : "generierte Aufgaben", (System.nanoTime() - start) / 1e6);
+    }
+}
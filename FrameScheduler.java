@@ -0,0 +1,166 @@
+import javax.swing.*;
+import javax.swing.Timer;
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+/**
+ * FrameScheduler - Gemeinsamer Bildtakt für Animationen und Zeitsteuerung
+ *
+ * Statt vieler einzelner javax.swing.Timer gibt es einen einzigen Takt mit
+ * etwa 60 Bildern pro Sekunde. Panels melden dort Aufgaben an:
+ *
+ * - {@link #every}: wiederkehrend im festen Abstand (z.B. Tutorial-Animation)
+ * - {@link #after}: einmalig nach einer Wartezeit (z.B. nächste Frage)
+ * - {@link #tween}: jedes Bild mit dem Fortschritt 0..1 über eine Dauer,
+ *   für flüssige Übergänge und Fortschrittsbalken
+ *
+ * Alle fälligen Aufgaben laufen gesammelt in einem Takt auf dem Event-Thread;
+ * die Zeit kommt aus System.nanoTime, nicht aus dem Zählen von Ticks. Der Takt
+ * läuft nur, solange Aufgaben angemeldet sind.
+ *
+ * Jede Aufgabe gehört zu einer Komponente. Die Zeit zählt ab dem ersten Bild,
+ * in dem die Komponente sichtbar ist; wird sie danach ausgeblendet (z.B. beim
+ * Wechsel der Karte im Hauptfenster), endet die Aufgabe von selbst.
+ *
+ * Nur auf dem Event-Thread verwenden.
+ */
+public final class FrameScheduler {
+
+    // Ein Bild bei 60 Hz
+    public static final int FRAME_MILLIS = 16;
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static final List<Task> TASKS = new ArrayList<>();
+    private static final Timer FRAME_TIMER = new Timer(FRAME_MILLIS, e -> tick());
+
+    private FrameScheduler() {
+    }
+
+    /**
+     * Angemeldete Aufgabe; {@link #cancel} meldet sie wieder ab
+     */
+    public static final class Task {
+        private final JComponent owner;
+        private final long delayNanos;
+        private final long periodNanos;
+        private final Runnable action;
+        private final DoubleConsumer tween;
+
+        private boolean shown;
+        private long start;
+        private long due;
+        private boolean active = true;
+
+        private Task(JComponent owner, long delayNanos, long periodNanos, Runnable action, DoubleConsumer tween) {
+            this.owner = owner;
+            this.delayNanos = delayNanos;
+            this.periodNanos = periodNanos;
+            this.action = action;
+            this.tween = tween;
+        }
+
+        public void cancel() {
+            active = false;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        /**
+         * Ein Bild; liefert false, wenn die Aufgabe erledigt ist
+         */
+        private boolean run(long now) {
+            if (!owner.isShowing()) {
+                // Vor dem ersten Anzeigen warten, danach beenden
+                return !shown;
+            }
+            if (!shown) {
+                shown = true;
+                start = now;
+                due = now + delayNanos;
+            }
+
+            if (tween != null) {
+                double progress = delayNanos == 0 ? 1 : Math.min(1, (double) (now - start) / delayNanos);
+                tween.accept(progress);
+                return progress < 1;
+            }
+
+            if (now < due) return true;
+            action.run();
+            if (periodNanos <= 0) return false;
+            // Verpasste Takte nicht nachholen
+            due = Math.max(due + periodNanos, now + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Führt die Aktion alle periodMillis aus, erstmals nach einer Periode
+     */
+    public static Task every(JComponent owner, long periodMillis, Runnable action) {
+        long period = Math.max(1, periodMillis) * NANOS_PER_MILLI;
+        return schedule(new Task(owner, period, period, action, null));
+    }
+
+    /**
+     * Führt die Aktion einmal nach delayMillis aus (0 = im nächsten Bild)
+     */
+    public static Task after(JComponent owner, long delayMillis, Runnable action) {
+        return schedule(new Task(owner, Math.max(0, delayMillis) * NANOS_PER_MILLI, 0, action, null));
+    }
+
+    /**
+     * Ruft jedes Bild update mit dem Fortschritt 0..1 auf; der letzte Aufruf
+     * erfolgt genau mit 1
+     */
+    public static Task tween(JComponent owner, long durationMillis, DoubleConsumer update) {
+        return schedule(new Task(owner, Math.max(0, durationMillis) * NANOS_PER_MILLI, 0, null, update));
+    }
+
+    /**
+     * Meldet alle Aufgaben ab, deren Komponente in root liegt (oder root ist),
+     * z.B. bevor ein Panel verworfen wird. Aufgaben, deren Komponente nie
+     * angezeigt wurde, enden sonst nicht von selbst.
+     */
+    public static void cancelAll(Component root) {
+        for (Task task : TASKS) {
+            if (SwingUtilities.isDescendingFrom(task.owner, root)) {
+                task.active = false;
+            }
+        }
+    }
+
+    private static Task schedule(Task task) {
+        TASKS.add(task);
+        if (!FRAME_TIMER.isRunning()) {
+            FRAME_TIMER.start();
+        }
+        return task;
+    }
+
+    private static void tick() {
+        long now = System.nanoTime();
+        // Während des Takts angemeldete Aufgaben kommen erst im nächsten Bild dran
+        int count = TASKS.size();
+        for (int i = 0; i < count; i++) {
+            Task task = TASKS.get(i);
+            if (!task.active) continue;
+            boolean keep = false;
+            try {
+                keep = task.run(now);
+            } finally {
+                // Eine fehlerhafte Aufgabe wird nicht jedes Bild wiederholt
+                if (!keep) task.active = false;
+            }
+        }
+        TASKS.removeIf(task -> !task.active);
+        if (TASKS.isEmpty()) {
+            FRAME_TIMER.stop();
+        }
+    }
+}
@@ -13,28 +13,38 @@ import java.util.*;
  * - Verfolgt Punkte und Streak
  * - Bietet Erklärungen bei falschen Antworten
  */
-public class GamePanel extends JPanel {
+public class GamePanel extends JPanel implements PanelRegistry.Disposable {
     
     // Farbdefinitionen
-    private static final Color BACKGROUND_COLOR = new Color(25, 25, 35);
-    private static final Color PANEL_COLOR = new Color(40, 44, 52);
-    private static final Color ACCENT_COLOR = new Color(97, 175, 239);
-    private static final Color SUCCESS_COLOR = new Color(152, 195, 121);
-    private static final Color ERROR_COLOR = new Color(224, 108, 117);
-    private static final Color TEXT_COLOR = new Color(220, 223, 228);
-    private static final Color HIGHLIGHT_COLOR = new Color(229, 192, 123);
-    private static final Color MATRIX_CELL_COLOR = new Color(55, 60, 72);
+    private static final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    private static final Color PANEL_COLOR = Theme.PANEL;
+    private static final Color ACCENT_COLOR = Theme.ACCENT;
+    private static final Color SUCCESS_COLOR = Theme.SUCCESS;
+    private static final Color ERROR_COLOR = Theme.ERROR;
+    private static final Color TEXT_COLOR = Theme.TEXT;
+    private static final Color HIGHLIGHT_COLOR = Theme.HIGHLIGHT;
+    private static final Color MATRIX_CELL_COLOR = Theme.MATRIX_CELL;
     
     private MatrixGame game;
     private int moduleIndex;
     private Random random = new Random();
     
+    // Vorberechnete Aufgaben nach Schwierigkeit (optional, siehe ExerciseBank)
+    private final ExerciseBank exerciseBank = ExerciseBank.getDefault();
+    
+    // Liest die Eingabefelder ohne Zwischen-Strings
+    private final AnswerParser answerParser = new AnswerParser();
+    
+    // Prüft die Eingabefelder der aktuellen Aufgabe schon beim Tippen
+    private AnswerValidator validator;
+    
     // Aufgaben-Zustand
     private double[][] matrixA;
     private double[][] matrixB;
     private double[][] expectedResult;
     private double[][] userResult;
     private double scalar;
+    private Question activeQuestion;
     private int currentQuestion = 0;
     private int totalQuestions = 5;
     private int correctAnswers = 0;
@@ -51,6 +61,35 @@ public class GamePanel extends JPanel {
     private JTextArea feedbackArea;
     private JTextField[][] inputFields;
     
+    // Wiederverwendete Aufgabenfläche (einmal aufgebaut, siehe createQuestionViews)
+    private QuestionView.MatrixDisplay viewA;
+    private QuestionView.MatrixDisplay viewB;
+    private JPanel expressionPanel;
+    private JLabel scalarLabel;
+    private JLabel operatorLabel;
+    private JLabel equalsLabel;
+    private Component formulaGap;
+    private JLabel formulaLabel;
+    private QuestionView.InputGrid inputGrid;
+    private JPanel valueInput;
+    private JLabel valueLabel;
+    private JTextField valueField;
+    private JTextField[][] valueFields;
+    private JPanel dimensionInput;
+    private JTextField rowField;
+    private JTextField colField;
+    private JTextField[][] dimensionFields;
+    private JPanel yesNoInput;
+    private JPanel typeInput;
+    private JPanel choiceInput;
+    private JLabel choiceLabel;
+    private JButton[] choiceOptions;
+    
+    // Multiple-Choice-Modus: Antwort per Klick statt Eingabe
+    private boolean multipleChoice = false;
+    private JButton[] choiceButtons;
+    private double[][][] choiceValues;
+    
     // Modul-Namen
     private final String[] MODULE_NAMES = {
         "Grundlagen", "Addition", "Subtraktion", "Skalar-Multiplikation",
@@ -82,12 +121,12 @@ public class GamePanel extends JPanel {
         JPanel questionPanel = new JPanel(new BorderLayout());
         questionPanel.setBackground(PANEL_COLOR);
         questionPanel.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(60, 65, 77)),
+            BorderFactory.createLineBorder(Theme.BORDER),
             BorderFactory.createEmptyBorder(15, 20, 15, 20)
         ));
         
         questionLabel = new JLabel();
-        questionLabel.setFont(new Font("SansSerif", Font.BOLD, 18));
+        questionLabel.setFont(Theme.sans(Font.BOLD, 18));
         questionLabel.setForeground(TEXT_COLOR);
         questionPanel.add(questionLabel, BorderLayout.CENTER);
         
@@ -112,6 +151,8 @@ public class GamePanel extends JPanel {
         inputPanel.setBackground(BACKGROUND_COLOR);
         inputPanel.setLayout(new BoxLayout(inputPanel, BoxLayout.Y_AXIS));
         
+        createQuestionViews();
+        
         workArea.add(matrixDisplayPanel);
         workArea.add(inputPanel);
         
@@ -120,7 +161,7 @@ public class GamePanel extends JPanel {
         // Feedback-Bereich
         feedbackArea = new JTextArea(3, 40);
         feedbackArea.setEditable(false);
-        feedbackArea.setFont(new Font("SansSerif", Font.PLAIN, 14));
+        feedbackArea.setFont(Theme.sans(Font.PLAIN, 14));
         feedbackArea.setBackground(PANEL_COLOR);
         feedbackArea.setForeground(TEXT_COLOR);
         feedbackArea.setBorder(BorderFactory.createEmptyBorder(10, 15, 10, 15));
@@ -129,11 +170,11 @@ public class GamePanel extends JPanel {
         
         JScrollPane feedbackScroll = new JScrollPane(feedbackArea);
         feedbackScroll.setBorder(BorderFactory.createTitledBorder(
-            BorderFactory.createLineBorder(new Color(60, 65, 77)),
+            BorderFactory.createLineBorder(Theme.BORDER),
             "Feedback",
             javax.swing.border.TitledBorder.LEFT,
             javax.swing.border.TitledBorder.TOP,
-            new Font("SansSerif", Font.BOLD, 12),
+            Theme.sans(Font.BOLD, 12),
             TEXT_COLOR
         ));
         feedbackScroll.setPreferredSize(new Dimension(0, 100));
@@ -163,7 +204,7 @@ public class GamePanel extends JPanel {
         // Modul-Titel
         JLabel titleLabel = new JLabel(MODULE_NAMES[moduleIndex] + " - Frage " + 
                                        (currentQuestion + 1) + "/" + totalQuestions);
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 20));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 20));
         titleLabel.setForeground(TEXT_COLOR);
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         
@@ -172,11 +213,11 @@ public class GamePanel extends JPanel {
         statsPanel.setBackground(PANEL_COLOR);
         
         streakLabel = new JLabel("🔥 Streak: " + game.getStreak());
-        streakLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
+        streakLabel.setFont(Theme.sans(Font.BOLD, 14));
         streakLabel.setForeground(ERROR_COLOR);
         
         scoreLabel = new JLabel("⭐ Punkte: " + game.getScore());
-        scoreLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
+        scoreLabel.setFont(Theme.sans(Font.BOLD, 14));
         scoreLabel.setForeground(HIGHLIGHT_COLOR);
         
         statsPanel.add(streakLabel);
@@ -209,6 +250,26 @@ public class GamePanel extends JPanel {
             }
         });
         
+        JCheckBox choiceBox = new JCheckBox("Multiple Choice");
+        choiceBox.setFont(Theme.sans(Font.BOLD, 14));
+        choiceBox.setForeground(TEXT_COLOR);
+        choiceBox.setBackground(BACKGROUND_COLOR);
+        choiceBox.setFocusPainted(false);
+        choiceBox.addActionListener(e -> {
+            multipleChoice = choiceBox.isSelected();
+            // Unbeantwortete Rechenaufgabe sofort im neuen Modus anzeigen
+            if (activeQuestion != null && !nextButton.isEnabled()) {
+                // Felder werden wiederverwendet: alte Live-Prüfung vorher abhängen
+                if (validator != null) {
+                    validator.dispose();
+                    validator = null;
+                }
+                showQuestion(activeQuestion);
+                startValidation();
+            }
+        });
+        
+        panel.add(choiceBox);
         panel.add(submitButton);
         panel.add(nextButton);
         
@@ -216,7 +277,7 @@ public class GamePanel extends JPanel {
     }
     
     private void styleButton(JButton button, Color color) {
-        button.setFont(new Font("SansSerif", Font.BOLD, 16));
+        button.setFont(Theme.sans(Font.BOLD, 16));
         button.setForeground(TEXT_COLOR);
         button.setBackground(color);
         button.setPreferredSize(new Dimension(140, 45));
@@ -233,25 +294,36 @@ public class GamePanel extends JPanel {
         nextButton.setEnabled(false);
         submitButton.setEnabled(true);
         feedbackArea.setText("");
+        activeQuestion = null;
+        choiceButtons = null;
+        
+        // Felder werden wiederverwendet: alte Live-Prüfung vorher abhängen
+        if (validator != null) {
+            validator.dispose();
+            validator = null;
+        }
         
         // Generiere Aufgabe basierend auf Modul
         switch (moduleIndex) {
             case 0 -> generateBasicsQuestion();
-            case 1 -> generateAdditionQuestion();
-            case 2 -> generateSubtractionQuestion();
-            case 3 -> generateScalarMultiplicationQuestion();
-            case 4 -> generateMatrixMultiplicationQuestion();
-            case 5 -> generateTranspositionQuestion();
-            case 6 -> generateDeterminantQuestion();
-            case 7 -> generateInverseQuestion();
             case 8 -> generateSpecialMatrixQuestion();
             case 9 -> generateRandomQuestion();
+            default -> showQuestion(nextQuestion(moduleIndex));
         }
+        startValidation();
         
         // Update Header
         updateHeader();
     }
     
+    /**
+     * Hängt die Live-Prüfung an die Eingabefelder der neuen Aufgabe
+     */
+    private void startValidation() {
+        validator = inputFields != null
+            ? new AnswerValidator(inputFields, expectedResult, currentComparator(), answerParser) : null;
+    }
+    
     private void updateHeader() {
         Component[] comps = ((JPanel)getComponent(0)).getComponents();
         for (Component c : comps) {
@@ -272,35 +344,19 @@ public class GamePanel extends JPanel {
         // Verschiedene Fragetypen
         int questionType = random.nextInt(4);
         
-        matrixDisplayPanel.removeAll();
-        inputPanel.removeAll();
+        showDisplay(matrixA, null, null, 0, null);
         
         switch (questionType) {
             case 0 -> {
                 // Frage nach Dimension
                 questionLabel.setText("Welche Dimension hat diese Matrix?");
-                matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-                
-                JPanel dimInput = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                dimInput.setBackground(BACKGROUND_COLOR);
-                
-                JTextField rowField = new JTextField(3);
-                JTextField colField = new JTextField(3);
-                styleTextField(rowField);
-                styleTextField(colField);
-                
-                dimInput.add(new JLabel("<html><font color='white'>Zeilen:</font></html>"));
-                dimInput.add(rowField);
-                dimInput.add(new JLabel("<html><font color='white'> × Spalten:</font></html>"));
-                dimInput.add(colField);
-                
-                inputPanel.add(Box.createVerticalGlue());
-                inputPanel.add(dimInput);
-                inputPanel.add(Box.createVerticalGlue());
+                clearField(rowField);
+                clearField(colField);
+                showInput(dimensionInput);
                 
                 // Speichere erwartete Antwort
                 expectedResult = new double[][]{{rows, cols}};
-                inputFields = new JTextField[][]{{rowField, colField}};
+                inputFields = dimensionFields;
             }
             case 1 -> {
                 // Frage nach einem bestimmten Element
@@ -309,53 +365,14 @@ public class GamePanel extends JPanel {
                 questionLabel.setText(String.format("Was ist der Wert von a%d%d (Zeile %d, Spalte %d)?",
                     targetRow + 1, targetCol + 1, targetRow + 1, targetCol + 1));
                 
-                matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-                
-                JPanel elementInput = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                elementInput.setBackground(BACKGROUND_COLOR);
-                
-                JTextField valueField = new JTextField(5);
-                styleTextField(valueField);
-                
-                elementInput.add(new JLabel(String.format("<html><font color='white'>a%d%d = </font></html>", 
-                    targetRow + 1, targetCol + 1)));
-                elementInput.add(valueField);
-                
-                inputPanel.add(Box.createVerticalGlue());
-                inputPanel.add(elementInput);
-                inputPanel.add(Box.createVerticalGlue());
-                
+                showValueInput(String.format("<html><font color='white'>a%d%d = </font></html>", 
+                    targetRow + 1, targetCol + 1));
                 expectedResult = new double[][]{{matrixA[targetRow][targetCol]}};
-                inputFields = new JTextField[][]{{valueField}};
             }
             case 2 -> {
                 // Frage: Ist es quadratisch?
                 questionLabel.setText("Ist diese Matrix quadratisch?");
-                matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-                
-                JPanel boolInput = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 0));
-                boolInput.setBackground(BACKGROUND_COLOR);
-                
-                JButton yesBtn = new JButton("Ja ✓");
-                JButton noBtn = new JButton("Nein ✗");
-                styleButton(yesBtn, SUCCESS_COLOR);
-                styleButton(noBtn, ERROR_COLOR);
-                
-                yesBtn.addActionListener(e -> {
-                    userResult = new double[][]{{1}};
-                    checkAnswer();
-                });
-                noBtn.addActionListener(e -> {
-                    userResult = new double[][]{{0}};
-                    checkAnswer();
-                });
-                
-                boolInput.add(yesBtn);
-                boolInput.add(noBtn);
-                
-                inputPanel.add(Box.createVerticalGlue());
-                inputPanel.add(boolInput);
-                inputPanel.add(Box.createVerticalGlue());
+                showInput(yesNoInput);
                 
                 expectedResult = new double[][]{{rows == cols ? 1 : 0}};
                 inputFields = null; // Buttons statt Textfelder
@@ -363,266 +380,56 @@ public class GamePanel extends JPanel {
             default -> {
                 // Zähle Elemente
                 questionLabel.setText("Wie viele Elemente enthält diese Matrix?");
-                matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-                
-                JPanel countInput = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                countInput.setBackground(BACKGROUND_COLOR);
-                
-                JTextField countField = new JTextField(5);
-                styleTextField(countField);
-                
-                countInput.add(new JLabel("<html><font color='white'>Anzahl Elemente: </font></html>"));
-                countInput.add(countField);
-                
-                inputPanel.add(Box.createVerticalGlue());
-                inputPanel.add(countInput);
-                inputPanel.add(Box.createVerticalGlue());
-                
+                showValueInput("<html><font color='white'>Anzahl Elemente: </font></html>");
                 expectedResult = new double[][]{{rows * cols}};
-                inputFields = new JTextField[][]{{countField}};
-            }
-        }
-        
-        matrixDisplayPanel.revalidate();
-        matrixDisplayPanel.repaint();
-        inputPanel.revalidate();
-        inputPanel.repaint();
-    }
-    
-    private void generateAdditionQuestion() {
-        int rows = 2 + random.nextInt(2);
-        int cols = 2 + random.nextInt(2);
-        matrixA = generateRandomMatrix(rows, cols, 1, 9);
-        matrixB = generateRandomMatrix(rows, cols, 1, 9);
-        
-        questionLabel.setText("Berechne A + B");
-        
-        // Berechne erwartetes Ergebnis
-        expectedResult = new double[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                expectedResult[i][j] = matrixA[i][j] + matrixB[i][j];
             }
         }
-        
-        setupMatrixOperationUI("+");
     }
     
-    private void generateSubtractionQuestion() {
-        int rows = 2 + random.nextInt(2);
-        int cols = 2 + random.nextInt(2);
-        matrixA = generateRandomMatrix(rows, cols, 1, 15);
-        matrixB = generateRandomMatrix(rows, cols, 1, 10);
-        
-        questionLabel.setText("Berechne A - B");
-        
-        expectedResult = new double[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                expectedResult[i][j] = matrixA[i][j] - matrixB[i][j];
-            }
-        }
-        
-        setupMatrixOperationUI("-");
-    }
-    
-    private void generateScalarMultiplicationQuestion() {
-        int rows = 2 + random.nextInt(2);
-        int cols = 2 + random.nextInt(2);
-        matrixA = generateRandomMatrix(rows, cols, 1, 10);
-        scalar = 2 + random.nextInt(5);
-        
-        questionLabel.setText(String.format("Berechne %.0f · A", scalar));
-        
-        expectedResult = new double[rows][cols];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                expectedResult[i][j] = scalar * matrixA[i][j];
-            }
-        }
-        
-        matrixDisplayPanel.removeAll();
-        inputPanel.removeAll();
-        
-        // Zeige Skalar und Matrix
-        JPanel displayPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 0));
-        displayPanel.setBackground(BACKGROUND_COLOR);
-        
-        JLabel scalarLabel = new JLabel(String.format("%.0f  ×", scalar));
-        scalarLabel.setFont(new Font("SansSerif", Font.BOLD, 28));
-        scalarLabel.setForeground(HIGHLIGHT_COLOR);
-        
-        displayPanel.add(scalarLabel);
-        displayPanel.add(createMatrixPanel(matrixA, "A"));
-        
-        matrixDisplayPanel.add(Box.createVerticalGlue());
-        matrixDisplayPanel.add(displayPanel);
-        matrixDisplayPanel.add(Box.createVerticalGlue());
-        
-        // Eingabefelder
-        createInputMatrix(rows, cols);
-        
-        matrixDisplayPanel.revalidate();
-        inputPanel.revalidate();
-    }
-    
-    private void generateMatrixMultiplicationQuestion() {
-        // Für Multiplikation: A(m×n) * B(n×p) = C(m×p)
-        int m = 2;
-        int n = 2;
-        int p = 2;
-        
-        matrixA = generateRandomMatrix(m, n, 1, 5);
-        matrixB = generateRandomMatrix(n, p, 1, 5);
-        
-        questionLabel.setText("Berechne A · B (Zeile × Spalte!)");
-        
-        // Matrix-Multiplikation berechnen
-        expectedResult = new double[m][p];
-        for (int i = 0; i < m; i++) {
-            for (int j = 0; j < p; j++) {
-                expectedResult[i][j] = 0;
-                for (int k = 0; k < n; k++) {
-                    expectedResult[i][j] += matrixA[i][k] * matrixB[k][j];
-                }
-            }
-        }
-        
-        setupMatrixOperationUI("·");
-    }
-    
-    private void generateTranspositionQuestion() {
-        int rows = 2 + random.nextInt(2);
-        int cols = 2 + random.nextInt(2);
-        matrixA = generateRandomMatrix(rows, cols, 1, 10);
-        
-        questionLabel.setText("Berechne Aᵀ (Transponierte von A)");
-        
-        // Transponierte berechnen (Zeilen und Spalten vertauschen)
-        expectedResult = new double[cols][rows];
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                expectedResult[j][i] = matrixA[i][j];
-            }
-        }
-        
-        matrixDisplayPanel.removeAll();
-        inputPanel.removeAll();
-        
-        matrixDisplayPanel.add(Box.createVerticalGlue());
-        matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-        matrixDisplayPanel.add(Box.createVerticalGlue());
-        
-        createInputMatrix(cols, rows);
+    /**
+     * Erzeugt die nächste Aufgabe für ein Rechenmodul - bevorzugt aus der
+     * Aufgabenbank, sonst zufällig über den registrierten QuestionType
+     */
+    private Question nextQuestion(int module) {
+        QuestionType type = QuestionTypes.forModule(module);
+        ExerciseBank.Exercise exercise = drawExercise(module);
+        Question question = exercise != null
+            ? type.create(exercise.matrixA, exercise.matrixB, exercise.scalar)
+            : type.generate(random, 3);
         
-        matrixDisplayPanel.revalidate();
-        inputPanel.revalidate();
+        // Lösungsweg und Hinweis schon jetzt im Hintergrund vorbereiten
+        WorkedSolutions.precompute(type, question);
+        return question;
     }
     
-    private void generateDeterminantQuestion() {
-        // 2x2 oder 3x3 Matrix
-        int size = random.nextBoolean() ? 2 : 3;
-        matrixA = generateRandomMatrix(size, size, -5, 10);
-        
-        questionLabel.setText("Berechne die Determinante det(A)");
-        
-        // Determinante berechnen
-        double det;
-        if (size == 2) {
-            det = matrixA[0][0] * matrixA[1][1] - matrixA[0][1] * matrixA[1][0];
+    /**
+     * Zeigt eine generierte Aufgabe an und bindet die passende Eingabe
+     */
+    private void showQuestion(Question question) {
+        activeQuestion = question;
+        matrixA = question.matrixA;
+        matrixB = question.matrixB;
+        scalar = question.scalar;
+        expectedResult = question.expected;
+        
+        questionLabel.setText(question.prompt);
+        showDisplay(matrixA, matrixB, question.operator, scalar, question.formula);
+        
+        choiceButtons = null;
+        submitButton.setEnabled(!multipleChoice);
+        if (multipleChoice) {
+            showChoices(question);
+        } else if (question.isSingleValue()) {
+            showValueInput("<html><font color='white' size='+1'>" + question.answerLabel + "</font></html>");
         } else {
-            // 3x3 Determinante (Regel von Sarrus)
-            det = matrixA[0][0] * matrixA[1][1] * matrixA[2][2]
-                + matrixA[0][1] * matrixA[1][2] * matrixA[2][0]
-                + matrixA[0][2] * matrixA[1][0] * matrixA[2][1]
-                - matrixA[0][2] * matrixA[1][1] * matrixA[2][0]
-                - matrixA[0][0] * matrixA[1][2] * matrixA[2][1]
-                - matrixA[0][1] * matrixA[1][0] * matrixA[2][2];
+            showInputGrid(expectedResult.length, expectedResult[0].length);
         }
-        
-        expectedResult = new double[][]{{det}};
-        
-        matrixDisplayPanel.removeAll();
-        inputPanel.removeAll();
-        
-        matrixDisplayPanel.add(Box.createVerticalGlue());
-        matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-        matrixDisplayPanel.add(Box.createVerticalGlue());
-        
-        // Einzelnes Eingabefeld
-        JPanel detInput = new JPanel(new FlowLayout(FlowLayout.CENTER));
-        detInput.setBackground(BACKGROUND_COLOR);
-        
-        JTextField detField = new JTextField(8);
-        styleTextField(detField);
-        
-        detInput.add(new JLabel("<html><font color='white' size='+1'>det(A) = </font></html>"));
-        detInput.add(detField);
-        
-        inputPanel.add(Box.createVerticalGlue());
-        inputPanel.add(detInput);
-        
-        // Formel-Hinweis
-        if (size == 2) {
-            JLabel formulaLabel = new JLabel("<html><font color='#61AFEF' size='-1'>" +
-                "Formel: ad - bc für [[a,b],[c,d]]</font></html>");
-            formulaLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-            inputPanel.add(Box.createVerticalStrut(20));
-            inputPanel.add(formulaLabel);
-        }
-        
-        inputPanel.add(Box.createVerticalGlue());
-        
-        inputFields = new JTextField[][]{{detField}};
-        
-        matrixDisplayPanel.revalidate();
-        inputPanel.revalidate();
-    }
-    
-    private void generateInverseQuestion() {
-        // Einfache 2x2 Inverse mit ganzzahligen Ergebnissen
-        // Generiere Matrix mit det != 0 und schönen Werten
-        do {
-            matrixA = generateRandomMatrix(2, 2, 1, 5);
-        } while (Math.abs(matrixA[0][0] * matrixA[1][1] - matrixA[0][1] * matrixA[1][0]) < 0.001);
-        
-        double det = matrixA[0][0] * matrixA[1][1] - matrixA[0][1] * matrixA[1][0];
-        
-        questionLabel.setText("Berechne A⁻¹ (gerundet auf ganze Zahlen)");
-        
-        // Inverse berechnen: 1/det * [[d, -b], [-c, a]]
-        expectedResult = new double[2][2];
-        expectedResult[0][0] = Math.round(matrixA[1][1] / det);
-        expectedResult[0][1] = Math.round(-matrixA[0][1] / det);
-        expectedResult[1][0] = Math.round(-matrixA[1][0] / det);
-        expectedResult[1][1] = Math.round(matrixA[0][0] / det);
-        
-        matrixDisplayPanel.removeAll();
-        inputPanel.removeAll();
-        
-        matrixDisplayPanel.add(Box.createVerticalGlue());
-        matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-        
-        // Formel-Hinweis
-        JLabel formulaLabel = new JLabel("<html><font color='#61AFEF' size='-1'>" +
-            "Formel: A⁻¹ = (1/det) · [[d,-b],[-c,a]]</font></html>");
-        matrixDisplayPanel.add(Box.createVerticalStrut(15));
-        matrixDisplayPanel.add(formulaLabel);
-        matrixDisplayPanel.add(Box.createVerticalGlue());
-        
-        createInputMatrix(2, 2);
-        
-        matrixDisplayPanel.revalidate();
-        inputPanel.revalidate();
     }
     
     private void generateSpecialMatrixQuestion() {
         int size = 2 + random.nextInt(2);
         int questionType = random.nextInt(4);
         
-        matrixDisplayPanel.removeAll();
-        inputPanel.removeAll();
-        
         switch (questionType) {
             case 0 -> {
                 // Erkenne den Typ
@@ -635,27 +442,8 @@ public class GamePanel extends JPanel {
                 }
                 
                 questionLabel.setText("Welcher Typ ist diese Matrix?");
-                matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-                
-                JPanel typePanel = new JPanel(new GridLayout(2, 2, 10, 10));
-                typePanel.setBackground(BACKGROUND_COLOR);
-                
-                String[] types = {"Einheitsmatrix", "Nullmatrix", "Diagonalmatrix", "Symmetrisch"};
-                
-                for (int i = 0; i < 4; i++) {
-                    final int type = i;
-                    JButton btn = new JButton(types[i]);
-                    styleButton(btn, PANEL_COLOR);
-                    btn.addActionListener(e -> {
-                        userResult = new double[][]{{type}};
-                        checkAnswer();
-                    });
-                    typePanel.add(btn);
-                }
-                
-                inputPanel.add(Box.createVerticalGlue());
-                inputPanel.add(typePanel);
-                inputPanel.add(Box.createVerticalGlue());
+                showDisplay(matrixA, null, null, 0, null);
+                showInput(typeInput);
                 
                 expectedResult = new double[][]{{matrixType}};
                 inputFields = null;
@@ -663,35 +451,20 @@ public class GamePanel extends JPanel {
             case 1 -> {
                 // Erstelle Einheitsmatrix
                 questionLabel.setText(String.format("Gib die %dx%d Einheitsmatrix ein", size, size));
+                showDisplay(null, null, null, 0, null);
                 expectedResult = createIdentityMatrix(size);
-                createInputMatrix(size, size);
+                showInputGrid(size, size);
             }
             case 2 -> {
                 // Ergänze zur symmetrischen Matrix
                 matrixA = createSymmetricMatrix(size);
-                // Verstecke einige Elemente
-                double[][] display = copyMatrix(matrixA);
-                display[0][size-1] = Double.NaN;
-                if (size > 2) display[1][size-1] = Double.NaN;
                 
                 questionLabel.setText("Ergänze die fehlenden Werte (symmetrische Matrix)");
                 // Vereinfacht: Zeige einfach die Matrix
-                matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-                
-                JPanel symInput = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                symInput.setBackground(BACKGROUND_COLOR);
-                JTextField symField = new JTextField(5);
-                styleTextField(symField);
-                symInput.add(new JLabel(String.format("<html><font color='white'>a%d%d = </font></html>", 
-                    1, size)));
-                symInput.add(symField);
-                
-                inputPanel.add(Box.createVerticalGlue());
-                inputPanel.add(symInput);
-                inputPanel.add(Box.createVerticalGlue());
+                showDisplay(matrixA, null, null, 0, null);
+                showValueInput(String.format("<html><font color='white'>a%d%d = </font></html>", 1, size));
                 
                 expectedResult = new double[][]{{matrixA[0][size-1]}};
-                inputFields = new JTextField[][]{{symField}};
             }
             default -> {
                 // Ist sie diagonal?
@@ -699,161 +472,271 @@ public class GamePanel extends JPanel {
                 matrixA = isDiagonal ? createDiagonalMatrix(size) : generateRandomMatrix(size, size, 1, 10);
                 
                 questionLabel.setText("Ist diese Matrix eine Diagonalmatrix?");
-                matrixDisplayPanel.add(createMatrixPanel(matrixA, "A"));
-                
-                JPanel boolInput = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 0));
-                boolInput.setBackground(BACKGROUND_COLOR);
-                
-                JButton yesBtn = new JButton("Ja ✓");
-                JButton noBtn = new JButton("Nein ✗");
-                styleButton(yesBtn, SUCCESS_COLOR);
-                styleButton(noBtn, ERROR_COLOR);
-                
-                yesBtn.addActionListener(e -> {
-                    userResult = new double[][]{{1}};
-                    checkAnswer();
-                });
-                noBtn.addActionListener(e -> {
-                    userResult = new double[][]{{0}};
-                    checkAnswer();
-                });
-                
-                boolInput.add(yesBtn);
-                boolInput.add(noBtn);
-                
-                inputPanel.add(Box.createVerticalGlue());
-                inputPanel.add(boolInput);
-                inputPanel.add(Box.createVerticalGlue());
+                showDisplay(matrixA, null, null, 0, null);
+                showInput(yesNoInput);
                 
                 expectedResult = new double[][]{{isDiagonal ? 1 : 0}};
                 inputFields = null;
             }
         }
-        
-        matrixDisplayPanel.revalidate();
-        inputPanel.revalidate();
     }
     
     private void generateRandomQuestion() {
         // Wähle zufällig ein Modul (außer diesem und Grundlagen)
         int randomModule = 1 + random.nextInt(8);
-        switch (randomModule) {
-            case 1 -> generateAdditionQuestion();
-            case 2 -> generateSubtractionQuestion();
-            case 3 -> generateScalarMultiplicationQuestion();
-            case 4 -> generateMatrixMultiplicationQuestion();
-            case 5 -> generateTranspositionQuestion();
-            case 6 -> generateDeterminantQuestion();
-            case 7 -> generateInverseQuestion();
-            default -> generateSpecialMatrixQuestion();
+        if (randomModule == 8) {
+            generateSpecialMatrixQuestion();
+        } else {
+            showQuestion(nextQuestion(randomModule));
         }
     }
     
     // ==================== Hilfsmethoden ====================
     
-    private void setupMatrixOperationUI(String operator) {
-        matrixDisplayPanel.removeAll();
-        inputPanel.removeAll();
+    /**
+     * Zieht eine Aufgabe passender Schwierigkeit aus der Aufgabenbank.
+     * Die Zielstufe steigt mit der aktuellen Erfolgsserie.
+     * Ohne Bank wird null geliefert und der Generator würfelt selbst.
+     */
+    private ExerciseBank.Exercise drawExercise(int module) {
+        if (exerciseBank == null) return null;
+        int targetLevel = 1 + Math.min(ExerciseBank.LEVELS - 1, game.getStreak() / 2);
+        return exerciseBank.draw(module, targetLevel, random);
+    }
+    
+    // ==================== Aufgabenfläche ====================
+    
+    /**
+     * Baut Anzeige und Eingabevarianten einmal auf. Pro Aufgabe werden danach
+     * nur Werte gebunden und Varianten ein- oder ausgeblendet (siehe QuestionView).
+     */
+    private void createQuestionViews() {
+        // Links: [Skalar ×] A [op B =] und darunter die Formel
+        viewA = new QuestionView.MatrixDisplay("A", ACCENT_COLOR, false);
+        viewB = new QuestionView.MatrixDisplay("B", ACCENT_COLOR, false);
         
-        JPanel displayPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 0));
-        displayPanel.setBackground(BACKGROUND_COLOR);
+        scalarLabel = new JLabel();
+        scalarLabel.setFont(Theme.sans(Font.BOLD, 28));
+        scalarLabel.setForeground(HIGHLIGHT_COLOR);
         
-        displayPanel.add(createMatrixPanel(matrixA, "A"));
+        operatorLabel = new JLabel();
+        operatorLabel.setFont(Theme.sans(Font.BOLD, 32));
+        operatorLabel.setForeground(ACCENT_COLOR);
         
-        JLabel opLabel = new JLabel(operator);
-        opLabel.setFont(new Font("SansSerif", Font.BOLD, 32));
-        opLabel.setForeground(ACCENT_COLOR);
-        displayPanel.add(opLabel);
+        equalsLabel = new JLabel("=");
+        equalsLabel.setFont(Theme.sans(Font.BOLD, 32));
+        equalsLabel.setForeground(TEXT_COLOR);
         
-        displayPanel.add(createMatrixPanel(matrixB, "B"));
+        expressionPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 0));
+        expressionPanel.setBackground(BACKGROUND_COLOR);
+        expressionPanel.add(scalarLabel);
+        expressionPanel.add(viewA);
+        expressionPanel.add(operatorLabel);
+        expressionPanel.add(viewB);
+        expressionPanel.add(equalsLabel);
         
-        JLabel eqLabel = new JLabel("=");
-        eqLabel.setFont(new Font("SansSerif", Font.BOLD, 32));
-        eqLabel.setForeground(TEXT_COLOR);
-        displayPanel.add(eqLabel);
+        formulaGap = Box.createVerticalStrut(15);
+        formulaLabel = new JLabel();
+        formulaLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
         matrixDisplayPanel.add(Box.createVerticalGlue());
-        matrixDisplayPanel.add(displayPanel);
+        matrixDisplayPanel.add(expressionPanel);
+        matrixDisplayPanel.add(formulaGap);
+        matrixDisplayPanel.add(formulaLabel);
         matrixDisplayPanel.add(Box.createVerticalGlue());
         
-        createInputMatrix(expectedResult.length, expectedResult[0].length);
+        // Rechts: alle Eingabevarianten, jeweils eine sichtbar
+        inputGrid = new QuestionView.InputGrid("Ergebnis:", SUCCESS_COLOR, false, this::styleTextField);
+        
+        valueLabel = new JLabel();
+        valueField = new JTextField(8);
+        styleTextField(valueField);
+        valueFields = new JTextField[][]{{valueField}};
+        valueInput = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        valueInput.setBackground(BACKGROUND_COLOR);
+        valueInput.add(valueLabel);
+        valueInput.add(valueField);
+        
+        rowField = new JTextField(3);
+        colField = new JTextField(3);
+        styleTextField(rowField);
+        styleTextField(colField);
+        dimensionFields = new JTextField[][]{{rowField, colField}};
+        dimensionInput = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        dimensionInput.setBackground(BACKGROUND_COLOR);
+        dimensionInput.add(new JLabel("<html><font color='white'>Zeilen:</font></html>"));
+        dimensionInput.add(rowField);
+        dimensionInput.add(new JLabel("<html><font color='white'> × Spalten:</font></html>"));
+        dimensionInput.add(colField);
+        
+        yesNoInput = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 0));
+        yesNoInput.setBackground(BACKGROUND_COLOR);
+        JButton yesBtn = new JButton("Ja ✓");
+        JButton noBtn = new JButton("Nein ✗");
+        styleButton(yesBtn, SUCCESS_COLOR);
+        styleButton(noBtn, ERROR_COLOR);
+        yesBtn.addActionListener(e -> {
+            userResult = new double[][]{{1}};
+            checkAnswer();
+        });
+        noBtn.addActionListener(e -> {
+            userResult = new double[][]{{0}};
+            checkAnswer();
+        });
+        yesNoInput.add(yesBtn);
+        yesNoInput.add(noBtn);
+        
+        typeInput = new JPanel(new GridLayout(2, 2, 10, 10));
+        typeInput.setBackground(BACKGROUND_COLOR);
+        String[] types = {"Einheitsmatrix", "Nullmatrix", "Diagonalmatrix", "Symmetrisch"};
+        for (int i = 0; i < types.length; i++) {
+            final int type = i;
+            JButton btn = new JButton(types[i]);
+            styleButton(btn, PANEL_COLOR);
+            btn.addActionListener(e -> {
+                userResult = new double[][]{{type}};
+                checkAnswer();
+            });
+            typeInput.add(btn);
+        }
         
-        matrixDisplayPanel.revalidate();
-        inputPanel.revalidate();
-    }
-    
-    private JPanel createMatrixPanel(double[][] matrix, String label) {
-        JPanel panel = new JPanel(new BorderLayout(5, 5));
-        panel.setBackground(BACKGROUND_COLOR);
+        // Antwortmöglichkeiten (richtiges Ergebnis plus Distraktoren)
+        JPanel choiceGrid = new JPanel(new GridLayout(2, 2, 10, 10));
+        choiceGrid.setBackground(BACKGROUND_COLOR);
+        choiceOptions = new JButton[4];
+        for (int i = 0; i < choiceOptions.length; i++) {
+            final int index = i;
+            JButton btn = new JButton();
+            styleButton(btn, PANEL_COLOR);
+            btn.setPreferredSize(null);
+            btn.addActionListener(e -> {
+                if (nextButton.isEnabled()) return; // schon beantwortet
+                userResult = choiceValues[index];
+                checkAnswer();
+            });
+            choiceOptions[i] = btn;
+            choiceGrid.add(btn);
+        }
         
-        // Label
-        JLabel matrixLabel = new JLabel(label, SwingConstants.CENTER);
-        matrixLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
-        matrixLabel.setForeground(HIGHLIGHT_COLOR);
-        panel.add(matrixLabel, BorderLayout.NORTH);
-        
-        // Matrix-Zellen
-        JPanel gridPanel = new JPanel(new GridLayout(matrix.length, matrix[0].length, 3, 3));
-        gridPanel.setBackground(BACKGROUND_COLOR);
-        gridPanel.setBorder(BorderFactory.createCompoundBorder(
-            new MatrixBracketBorder(ACCENT_COLOR),
-            BorderFactory.createEmptyBorder(5, 15, 5, 15)
-        ));
+        choiceLabel = new JLabel("", SwingConstants.CENTER);
+        choiceLabel.setFont(Theme.sans(Font.BOLD, 14));
+        choiceLabel.setForeground(SUCCESS_COLOR);
+        choiceLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
-        for (int i = 0; i < matrix.length; i++) {
-            for (int j = 0; j < matrix[0].length; j++) {
-                JLabel cellLabel = new JLabel(formatValue(matrix[i][j]), SwingConstants.CENTER);
-                cellLabel.setFont(new Font("Monospaced", Font.BOLD, 16));
-                cellLabel.setForeground(TEXT_COLOR);
-                cellLabel.setOpaque(true);
-                cellLabel.setBackground(MATRIX_CELL_COLOR);
-                cellLabel.setPreferredSize(new Dimension(45, 35));
-                cellLabel.setBorder(BorderFactory.createLineBorder(new Color(70, 75, 87)));
-                gridPanel.add(cellLabel);
+        choiceInput = new JPanel();
+        choiceInput.setLayout(new BoxLayout(choiceInput, BoxLayout.Y_AXIS));
+        choiceInput.setBackground(BACKGROUND_COLOR);
+        choiceInput.add(choiceLabel);
+        choiceInput.add(Box.createVerticalStrut(10));
+        choiceInput.add(choiceGrid);
+        
+        inputPanel.add(Box.createVerticalGlue());
+        inputPanel.add(inputGrid);
+        inputPanel.add(valueInput);
+        inputPanel.add(dimensionInput);
+        inputPanel.add(yesNoInput);
+        inputPanel.add(typeInput);
+        inputPanel.add(choiceInput);
+        inputPanel.add(Box.createVerticalGlue());
+        showInput(null);
+    }
+    
+    /**
+     * Bindet die Matrizen der Aufgabe an die Anzeige: A allein, Skalar × A
+     * oder A op B =. Ohne Matrix (a == null) bleibt die linke Seite leer.
+     */
+    private void showDisplay(double[][] a, double[][] b, String operator, double scalar, String formula) {
+        expressionPanel.setVisible(a != null);
+        if (a != null) {
+            boolean binary = b != null;
+            boolean scaled = !binary && scalar != 0;
+            viewA.setMatrix(a);
+            
+            scalarLabel.setVisible(scaled);
+            if (scaled) {
+                scalarLabel.setText(String.format("%.0f  ×", scalar));
+            }
+            
+            operatorLabel.setVisible(binary);
+            viewB.setVisible(binary);
+            equalsLabel.setVisible(binary);
+            if (binary) {
+                operatorLabel.setText(operator);
+                viewB.setMatrix(b);
             }
         }
         
-        panel.add(gridPanel, BorderLayout.CENTER);
-        
-        return panel;
+        // Formel-Hinweis
+        formulaGap.setVisible(formula != null);
+        formulaLabel.setVisible(formula != null);
+        if (formula != null) {
+            formulaLabel.setText("<html><font color='#61AFEF' size='-1'>" + formula + "</font></html>");
+        }
     }
     
-    private void createInputMatrix(int rows, int cols) {
-        inputFields = new JTextField[rows][cols];
-        
-        JPanel inputWrapper = new JPanel(new BorderLayout(5, 5));
-        inputWrapper.setBackground(BACKGROUND_COLOR);
-        
-        JLabel resultLabel = new JLabel("Ergebnis:", SwingConstants.CENTER);
-        resultLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
-        resultLabel.setForeground(SUCCESS_COLOR);
-        inputWrapper.add(resultLabel, BorderLayout.NORTH);
-        
-        JPanel gridPanel = new JPanel(new GridLayout(rows, cols, 3, 3));
-        gridPanel.setBackground(BACKGROUND_COLOR);
-        gridPanel.setBorder(BorderFactory.createCompoundBorder(
-            new MatrixBracketBorder(SUCCESS_COLOR),
-            BorderFactory.createEmptyBorder(5, 15, 5, 15)
-        ));
-        
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                JTextField field = new JTextField(4);
-                styleTextField(field);
-                inputFields[i][j] = field;
-                gridPanel.add(field);
+    private void showInput(JComponent variant) {
+        QuestionView.showOnly(variant, inputGrid, valueInput, dimensionInput, yesNoInput, typeInput, choiceInput);
+    }
+    
+    /**
+     * Eingaberaster für ein Matrix-Ergebnis; bei gleicher Form dieselben, geleerten Felder
+     */
+    private void showInputGrid(int rows, int cols) {
+        inputFields = inputGrid.reset(rows, cols);
+        showInput(inputGrid);
+    }
+    
+    /**
+     * Einzelnes Eingabefeld mit Beschriftung
+     */
+    private void showValueInput(String label) {
+        valueLabel.setText(label);
+        clearField(valueField);
+        inputFields = valueFields;
+        showInput(valueInput);
+    }
+    
+    /**
+     * Antwortmöglichkeiten als Buttons (richtiges Ergebnis plus Distraktoren)
+     */
+    private void showChoices(Question question) {
+        inputFields = null;
+        choiceValues = DistractorEngine.options(question, choiceOptions.length, random);
+        
+        for (int i = 0; i < choiceOptions.length; i++) {
+            JButton btn = choiceOptions[i];
+            btn.setVisible(i < choiceValues.length);
+            if (i < choiceValues.length) {
+                btn.setText(DistractorEngine.label(choiceValues[i], question));
+                btn.setBackground(PANEL_COLOR);
             }
         }
+        choiceLabel.setText(question.isSingleValue() ? question.answerLabel : "Ergebnis:");
         
-        inputWrapper.add(gridPanel, BorderLayout.CENTER);
-        
-        inputPanel.add(Box.createVerticalGlue());
-        inputPanel.add(inputWrapper);
-        inputPanel.add(Box.createVerticalGlue());
+        choiceButtons = choiceOptions;
+        showInput(choiceInput);
+    }
+    
+    private void clearField(JTextField field) {
+        field.setText("");
+        field.setBackground(MATRIX_CELL_COLOR);
+    }
+    
+    /**
+     * Markiert nach der Antwort die richtige und ggf. die gewählte falsche Option
+     */
+    private void highlightChoices() {
+        for (int i = 0; i < choiceValues.length; i++) {
+            if (compareMatrices(choiceValues[i], expectedResult)) {
+                choiceButtons[i].setBackground(SUCCESS_COLOR.darker());
+            } else if (choiceValues[i] == userResult) {
+                choiceButtons[i].setBackground(ERROR_COLOR.darker());
+            }
+        }
     }
     
     private void styleTextField(JTextField field) {
-        field.setFont(new Font("Monospaced", Font.BOLD, 16));
+        field.setFont(Theme.mono(Font.BOLD, 16));
         field.setHorizontalAlignment(JTextField.CENTER);
         field.setBackground(MATRIX_CELL_COLOR);
         field.setForeground(TEXT_COLOR);
@@ -920,25 +803,19 @@ public class GamePanel extends JPanel {
     // ==================== Antwort-Prüfung ====================
     
     private void checkAnswer() {
-        // Lese Benutzereingabe
-        if (inputFields != null) {
-            userResult = new double[inputFields.length][inputFields[0].length];
-            try {
-                for (int i = 0; i < inputFields.length; i++) {
-                    for (int j = 0; j < inputFields[i].length; j++) {
-                        String text = inputFields[i][j].getText().trim().replace(",", ".");
-                        userResult[i][j] = Double.parseDouble(text);
-                    }
-                }
-            } catch (NumberFormatException e) {
-                feedbackArea.setText("⚠️ Bitte gib gültige Zahlen ein!");
+        // Eingaben wurden schon beim Tippen gelesen und geprüft
+        if (validator != null) {
+            if (validator.getInvalidCount() > 0) {
+                feedbackArea.setText("⚠️ Bitte gib gültige Zahlen ein (z.B. 3, -1,5 oder 3/4)!");
                 feedbackArea.setForeground(ERROR_COLOR);
                 return;
             }
+            userResult = copyMatrix(validator.getValues());
         }
         
         // Vergleiche mit erwartetem Ergebnis
-        boolean correct = compareMatrices(userResult, expectedResult);
+        boolean correct = validator != null
+            ? validator.isAllCorrect() : compareMatrices(userResult, expectedResult);
         
         if (correct) {
             handleCorrectAnswer();
@@ -946,6 +823,10 @@ public class GamePanel extends JPanel {
             handleWrongAnswer();
         }
         
+        if (choiceButtons != null) {
+            highlightChoices();
+        }
+        
         // UI aktualisieren
         submitButton.setEnabled(false);
         nextButton.setEnabled(true);
@@ -955,14 +836,15 @@ public class GamePanel extends JPanel {
     }
     
     private boolean compareMatrices(double[][] a, double[][] b) {
-        if (a.length != b.length || a[0].length != b[0].length) return false;
-        
-        for (int i = 0; i < a.length; i++) {
-            for (int j = 0; j < a[i].length; j++) {
-                if (Math.abs(a[i][j] - b[i][j]) > 0.001) return false;
-            }
-        }
-        return true;
+        return currentComparator().matches(a, b);
+    }
+    
+    /**
+     * Vergleich der aktuellen Aufgabe; Grundlagen- und Spezialfragen ohne
+     * Question werden anhand des erwarteten Ergebnisses eingeordnet
+     */
+    private AnswerComparator currentComparator() {
+        return activeQuestion != null ? activeQuestion.comparator : AnswerComparator.forExpected(expectedResult);
     }
     
     private void handleCorrectAnswer() {
@@ -991,37 +873,51 @@ public class GamePanel extends JPanel {
         game.resetStreak();
         
         feedbackArea.setForeground(ERROR_COLOR);
-        StringBuilder sb = new StringBuilder("❌ Leider falsch.\n\n");
-        sb.append("Richtige Antwort: ");
         
-        if (expectedResult.length == 1 && expectedResult[0].length == 1) {
-            sb.append(formatValue(expectedResult[0][0]));
+        if (activeQuestion != null && activeQuestion.solution != null) {
+            // Lösungsweg wurde im Hintergrund vorbereitet
+            Question question = activeQuestion;
+            String solution = question.solution.getNow(null);
+            if (solution != null) {
+                feedbackArea.setText("❌ Leider falsch.\n\n" + solution);
+            } else {
+                feedbackArea.setText("❌ Leider falsch.\n\nLösungsweg wird vorbereitet...");
+                question.solution.thenAccept(text -> SwingUtilities.invokeLater(() -> {
+                    if (activeQuestion == question) {
+                        feedbackArea.setText("❌ Leider falsch.\n\n" + text);
+                        feedbackArea.setCaretPosition(0);
+                    }
+                }));
+            }
         } else {
-            sb.append("\n");
-            for (double[] row : expectedResult) {
-                sb.append("[");
-                for (int j = 0; j < row.length; j++) {
-                    sb.append(formatValue(row[j]));
-                    if (j < row.length - 1) sb.append(", ");
+            StringBuilder sb = new StringBuilder("❌ Leider falsch.\n\n");
+            sb.append("Richtige Antwort: ");
+            
+            if (expectedResult.length == 1 && expectedResult[0].length == 1) {
+                sb.append(formatValue(expectedResult[0][0]));
+            } else {
+                sb.append("\n");
+                for (double[] row : expectedResult) {
+                    sb.append("[");
+                    for (int j = 0; j < row.length; j++) {
+                        sb.append(formatValue(row[j]));
+                        if (j < row.length - 1) sb.append(", ");
+                    }
+                    sb.append("]\n");
                 }
-                sb.append("]\n");
             }
+            
+            feedbackArea.setText(sb.toString());
         }
+        feedbackArea.setCaretPosition(0);
         
-        feedbackArea.setText(sb.toString());
-        
-        // Highlight falsche Eingaben
-        if (inputFields != null) {
+        // Highlight falsche Eingaben (direkt aus der Bitmap des Validators)
+        if (validator != null) {
             for (int i = 0; i < inputFields.length; i++) {
                 for (int j = 0; j < inputFields[i].length; j++) {
-                    try {
-                        double val = Double.parseDouble(inputFields[i][j].getText().trim().replace(",", "."));
-                        if (Math.abs(val - expectedResult[i][j]) > 0.001) {
-                            inputFields[i][j].setBackground(ERROR_COLOR.darker());
-                        } else {
-                            inputFields[i][j].setBackground(SUCCESS_COLOR.darker());
-                        }
-                    } catch (NumberFormatException e) {
+                    if (validator.isCorrect(i, j)) {
+                        inputFields[i][j].setBackground(SUCCESS_COLOR.darker());
+                    } else {
                         inputFields[i][j].setBackground(ERROR_COLOR.darker());
                     }
                 }
@@ -1030,7 +926,11 @@ public class GamePanel extends JPanel {
     }
     
     private void showHint() {
-        String hint = switch (moduleIndex) {
+        // Aufgabenbezogener Hinweis, falls schon im Hintergrund fertig berechnet
+        String questionHint = activeQuestion != null && activeQuestion.hint != null
+            ? activeQuestion.hint.getNow(null) : null;
+        
+        String hint = questionHint != null ? questionHint : switch (moduleIndex) {
             case 0 -> "Grundlagen: Zähle die Zeilen (horizontal) und Spalten (vertikal) sorgfältig!";
             case 1 -> "Addition: Addiere die Elemente an der gleichen Position: c_ij = a_ij + b_ij";
             case 2 -> "Subtraktion: Subtrahiere die Elemente an der gleichen Position: c_ij = a_ij - b_ij";
@@ -1066,10 +966,23 @@ public class GamePanel extends JPanel {
         game.showMainMenu();
     }
     
+    /**
+     * Hängt die Live-Prüfung ab, wenn das Panel verworfen wird
+     */
+    @Override
+    public void dispose() {
+        if (validator != null) {
+            validator.dispose();
+            validator = null;
+        }
+    }
+    
     /**
      * Benutzerdefinierte Border für Matrix-Klammern
      */
     static class MatrixBracketBorder implements javax.swing.border.Border {
+        private static final Stroke BRACKET_STROKE = Theme.stroke(2);
+        
         private Color color;
         
         public MatrixBracketBorder(Color color) {
@@ -1080,7 +993,7 @@ public class GamePanel extends JPanel {
         public void paintBorder(Component c, Graphics g, int x, int y, int width, int height) {
             Graphics2D g2d = (Graphics2D) g;
             g2d.setColor(color);
-            g2d.setStroke(new BasicStroke(2));
+            g2d.setStroke(BRACKET_STROKE);
             
             int bracketWidth = 8;
             
@@ -0,0 +1,452 @@
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * LabCalculation - Eine Berechnung des Matrix-Labors ohne Swing
+ *
+ * Rechnet eine Operation samt Rechenweg auf einem Hintergrund-Thread (siehe
+ * {@link MatrixLabPanel}). Die Rechenkerne laufen zeilenweise parallel im
+ * gemeinsamen ForkJoinPool, danach werden die Schritte Zeile für Zeile als
+ * {@link StepTrace} aufgezeichnet; Text entsteht erst beim Anzeigen. Beide
+ * Phasen melden ihren Fortschritt und prüfen pro Zeile, ob die Berechnung
+ * abgebrochen wurde.
+ *
+ * Die Eingaben werden nicht kopiert und dürfen während der Berechnung nicht
+ * verändert werden.
+ */
+final class LabCalculation {
+
+    /**
+     * Operationen in der Reihenfolge der Auswahlliste im Labor
+     */
+    enum Operation {
+        ADDITION, SUBTRACTION, SCALAR_MULTIPLICATION, MATRIX_MULTIPLICATION,
+        TRANSPOSITION, DETERMINANT, INVERSE
+    }
+
+    /**
+     * Ergebnis: eine Matrix oder ein einzelner Wert (label gesetzt) und der
+     * Rechenweg
+     */
+    static final class Result {
+        final double[][] matrix;
+        final String label;
+        final double value;
+        final StepTrace steps;
+
+        private Result(double[][] matrix, String label, double value, StepTrace steps) {
+            this.matrix = matrix;
+            this.label = label;
+            this.value = value;
+            this.steps = steps;
+        }
+    }
+
+    private final Operation operation;
+    private final double[][] matrixA;
+    private final double[][] matrixB;
+    private final double scalar;
+
+    private volatile boolean cancelled;
+    private final AtomicLong done = new AtomicLong();
+    private volatile long total = 1;
+
+    // Wird während der Berechnung geschrieben und darf dabei schon gelesen werden
+    private final StepTrace steps = new StepTrace();
+
+    /**
+     * @param scalar k für die Skalar-Multiplikation, NaN falls ungültig eingegeben
+     */
+    LabCalculation(Operation operation, double[][] matrixA, double[][] matrixB, double scalar) {
+        this.operation = operation;
+        this.matrixA = matrixA;
+        this.matrixB = matrixB;
+        this.scalar = scalar;
+    }
+
+    /**
+     * Bricht die Berechnung bei der nächsten Zeile ab
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Rechenweg, wie weit er bisher geschrieben ist; aus jedem Thread lesbar
+     */
+    StepTrace steps() {
+        return steps;
+    }
+
+    /**
+     * Fortschritt 0..1, aus jedem Thread lesbar
+     */
+    double progress() {
+        return Math.min(1, (double) done.get() / total);
+    }
+
+    /**
+     * Führt die Berechnung aus
+     *
+     * @throws IllegalArgumentException bei unpassenden Eingaben, mit Meldung für den Spieler
+     * @throws CancellationException wenn {@link #cancel} aufgerufen wurde
+     */
+    Result run() {
+        return switch (operation) {
+            case ADDITION -> calculateAddition(steps);
+            case SUBTRACTION -> calculateSubtraction(steps);
+            case SCALAR_MULTIPLICATION -> calculateScalarMultiplication(steps);
+            case MATRIX_MULTIPLICATION -> calculateMatrixMultiplication(steps);
+            case TRANSPOSITION -> calculateTransposition(steps);
+            case DETERMINANT -> calculateDeterminant(steps);
+            case INVERSE -> calculateInverse(steps);
+        };
+    }
+
+    // ==================== FORTSCHRITT ====================
+
+    /**
+     * Legt fest, wie viele Zeilen Rechenkern und Text zusammen umfassen
+     */
+    private void expectRows(long rows) {
+        done.set(0);
+        total = Math.max(1, rows);
+    }
+
+    /**
+     * Nach jeder Zeile: Fortschritt zählen und Abbruch prüfen
+     */
+    private void rowDone() {
+        checkCancelled();
+        done.incrementAndGet();
+    }
+
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException();
+        }
+    }
+
+    /**
+     * Rechenkern über alle Zeilen, parallel im gemeinsamen ForkJoinPool
+     */
+    private void forEachRow(int rows, IntConsumer row) {
+        IntStream.range(0, rows).parallel().forEach(i -> {
+            checkCancelled();
+            row.accept(i);
+            rowDone();
+        });
+    }
+
+    /**
+     * Schritte einer elementweisen Operation: pro Eintrag c_ij aus a_ij und
+     * dem zweiten Operanden, bei großen Matrizen pro Zeile zusammengefasst
+     */
+    private void recordCells(StepTrace steps, byte kind, double[][] result) {
+        steps.setMatrices(matrixA, matrixB, result);
+        int rows = result.length;
+        int cols = result[0].length;
+        boolean summarize = summarizeNote(steps, rows, cols);
+        for (int i = 0; i < rows; i++) {
+            if (summarize) {
+                steps.row(kind, i);
+            } else {
+                for (int j = 0; j < cols; j++) {
+                    // Skalar steht links (k · a), sonst a ± b
+                    if (kind == StepTrace.SCALE) {
+                        steps.cell(kind, i, j, scalar, matrixA[i][j], result[i][j]);
+                    } else {
+                        steps.cell(kind, i, j, matrixA[i][j], matrixB[i][j], result[i][j]);
+                    }
+                }
+            }
+            rowDone();
+        }
+    }
+
+    /**
+     * Kündigt die Zusammenfassung pro Zeile an, falls die Matrix groß ist
+     */
+    private static boolean summarizeNote(StepTrace steps, int rows, int cols) {
+        boolean summarize = StepTrace.summarize(rows, cols);
+        if (summarize) {
+            steps.text(String.format("(%d Einträge: zusammengefasst, ein Schritt pro Zeile)\n\n",
+                (long) rows * cols));
+        }
+        return summarize;
+    }
+
+    // ==================== OPERATIONEN ====================
+
+    private Result calculateAddition(StepTrace steps) {
+        int rows = matrixA.length;
+        int cols = matrixA[0].length;
+        if (rows != matrixB.length || cols != matrixB[0].length) {
+            throw new IllegalArgumentException("Für Addition müssen beide Matrizen die gleiche Größe haben!");
+        }
+        expectRows(2L * rows);
+
+        double[][] result = new double[rows][cols];
+        forEachRow(rows, i -> {
+            for (int j = 0; j < cols; j++) {
+                result[i][j] = matrixA[i][j] + matrixB[i][j];
+            }
+        });
+
+        steps.text("=== ADDITION A + B ===\n\n");
+        steps.text("Regel: Addiere die Elemente an gleichen Positionen.\n");
+        steps.text("c_ij = a_ij + b_ij\n\n");
+        recordCells(steps, StepTrace.ADD, result);
+
+        return matrixResult(result, steps);
+    }
+
+    private Result calculateSubtraction(StepTrace steps) {
+        int rows = matrixA.length;
+        int cols = matrixA[0].length;
+        if (rows != matrixB.length || cols != matrixB[0].length) {
+            throw new IllegalArgumentException("Für Subtraktion müssen beide Matrizen die gleiche Größe haben!");
+        }
+        expectRows(2L * rows);
+
+        double[][] result = new double[rows][cols];
+        forEachRow(rows, i -> {
+            for (int j = 0; j < cols; j++) {
+                result[i][j] = matrixA[i][j] - matrixB[i][j];
+            }
+        });
+
+        steps.text("=== SUBTRAKTION A - B ===\n\n");
+        steps.text("Regel: Subtrahiere die Elemente an gleichen Positionen.\n");
+        steps.text("c_ij = a_ij - b_ij\n\n");
+        recordCells(steps, StepTrace.SUBTRACT, result);
+
+        return matrixResult(result, steps);
+    }
+
+    private Result calculateScalarMultiplication(StepTrace steps) {
+        double k = scalar;
+        if (Double.isNaN(k)) {
+            throw new IllegalArgumentException("Bitte gib einen gültigen Skalar k ein!");
+        }
+        int rows = matrixA.length;
+        int cols = matrixA[0].length;
+        expectRows(2L * rows);
+
+        double[][] result = new double[rows][cols];
+        forEachRow(rows, i -> {
+            for (int j = 0; j < cols; j++) {
+                result[i][j] = k * matrixA[i][j];
+            }
+        });
+
+        steps.text(String.format("=== SKALAR-MULTIPLIKATION k · A (k = %.1f) ===\n\n", k));
+        steps.text("Regel: Multipliziere jedes Element mit dem Skalar.\n");
+        steps.text("c_ij = k · a_ij\n\n");
+        recordCells(steps, StepTrace.SCALE, result);
+
+        return matrixResult(result, steps);
+    }
+
+    private Result calculateMatrixMultiplication(StepTrace steps) {
+        int rowsA = matrixA.length;
+        int colsA = matrixA[0].length;
+        int rowsB = matrixB.length;
+        int colsB = matrixB[0].length;
+        if (colsA != rowsB) {
+            throw new IllegalArgumentException(
+                String.format("Matrix-Multiplikation nicht möglich!\n" +
+                    "A ist %dx%d, B ist %dx%d.\n" +
+                    "Spalten von A (%d) müssen gleich Zeilen von B (%d) sein!",
+                    rowsA, colsA, rowsB, colsB, colsA, rowsB));
+        }
+        expectRows(2L * rowsA);
+
+        // Zeile i von A gegen alle Spalten von B, B zeilenweise durchlaufen
+        double[][] result = new double[rowsA][colsB];
+        forEachRow(rowsA, i -> {
+            double[] row = result[i];
+            for (int k = 0; k < colsA; k++) {
+                double a = matrixA[i][k];
+                double[] rowB = matrixB[k];
+                for (int j = 0; j < colsB; j++) {
+                    row[j] += a * rowB[j];
+                }
+            }
+        });
+
+        steps.text("=== MATRIX-MULTIPLIKATION A · B ===\n\n");
+        steps.text("Regel: c_ij = Zeile i von A · Spalte j von B (Skalarprodukt)\n");
+        steps.text(String.format("Ergebnis wird %dx%d Matrix\n\n", rowsA, colsB));
+        steps.setMatrices(matrixA, matrixB, result);
+        boolean summarize = summarizeNote(steps, rowsA, colsB);
+        for (int i = 0; i < rowsA; i++) {
+            if (summarize) {
+                steps.row(StepTrace.PRODUCT, i);
+            } else {
+                for (int j = 0; j < colsB; j++) {
+                    steps.product(i, j, result[i][j]);
+                }
+                steps.text("\n");
+            }
+            rowDone();
+        }
+
+        return matrixResult(result, steps);
+    }
+
+    private Result calculateTransposition(StepTrace steps) {
+        int rows = matrixA.length;
+        int cols = matrixA[0].length;
+        expectRows(2L * rows);
+
+        double[][] result = new double[cols][rows];
+        forEachRow(rows, i -> {
+            for (int j = 0; j < cols; j++) {
+                result[j][i] = matrixA[i][j];
+            }
+        });
+
+        steps.text("=== TRANSPOSITION Aᵀ ===\n\n");
+        steps.text("Regel: Zeilen und Spalten werden vertauscht.\n");
+        steps.text("a_ij wird zu a_ji\n\n");
+        steps.text(String.format("Original: %dx%d Matrix\n", rows, cols));
+        steps.text(String.format("Transponiert: %dx%d Matrix\n\n", cols, rows));
+        steps.setMatrices(matrixA, null, result);
+        boolean summarize = summarizeNote(steps, rows, cols);
+        for (int i = 0; i < rows; i++) {
+            if (summarize) {
+                steps.row(StepTrace.TRANSPOSE, i);
+            } else {
+                for (int j = 0; j < cols; j++) {
+                    steps.transpose(i, j, matrixA[i][j]);
+                }
+            }
+            rowDone();
+        }
+
+        return matrixResult(result, steps);
+    }
+
+    private Result calculateDeterminant(StepTrace steps) {
+        int size = matrixA.length;
+        if (size != matrixA[0].length) {
+            throw new IllegalArgumentException("Die Determinante existiert nur für quadratische Matrizen!");
+        }
+
+        steps.text("=== DETERMINANTE det(A) ===\n\n");
+
+        double det;
+
+        if (size == 2) {
+            // 2x2 Determinante
+            det = matrixA[0][0] * matrixA[1][1] - matrixA[0][1] * matrixA[1][0];
+
+            steps.text("Formel für 2×2: det = a·d - b·c\n\n");
+            steps.text(String.format("⎡ %.0f  %.0f ⎤\n", matrixA[0][0], matrixA[0][1]));
+            steps.text(String.format("⎣ %.0f  %.0f ⎦\n\n", matrixA[1][0], matrixA[1][1]));
+            steps.text(String.format("det = %.0f · %.0f - %.0f · %.0f\n",
+                matrixA[0][0], matrixA[1][1], matrixA[0][1], matrixA[1][0]));
+            steps.text(String.format("det = %.0f - %.0f\n",
+                matrixA[0][0] * matrixA[1][1], matrixA[0][1] * matrixA[1][0]));
+
+        } else if (size == 3) {
+            // 3x3 Determinante (Sarrus)
+            det = matrixA[0][0] * matrixA[1][1] * matrixA[2][2]
+                + matrixA[0][1] * matrixA[1][2] * matrixA[2][0]
+                + matrixA[0][2] * matrixA[1][0] * matrixA[2][1]
+                - matrixA[0][2] * matrixA[1][1] * matrixA[2][0]
+                - matrixA[0][0] * matrixA[1][2] * matrixA[2][1]
+                - matrixA[0][1] * matrixA[1][0] * matrixA[2][2];
+
+            steps.text("Regel von Sarrus für 3×3:\n\n");
+            steps.text("+ Hauptdiagonalen (links→rechts→unten):\n");
+            steps.text(String.format("  %.0f·%.0f·%.0f = %.0f\n",
+                matrixA[0][0], matrixA[1][1], matrixA[2][2],
+                matrixA[0][0] * matrixA[1][1] * matrixA[2][2]));
+            steps.text(String.format("  %.0f·%.0f·%.0f = %.0f\n",
+                matrixA[0][1], matrixA[1][2], matrixA[2][0],
+                matrixA[0][1] * matrixA[1][2] * matrixA[2][0]));
+            steps.text(String.format("  %.0f·%.0f·%.0f = %.0f\n\n",
+                matrixA[0][2], matrixA[1][0], matrixA[2][1],
+                matrixA[0][2] * matrixA[1][0] * matrixA[2][1]));
+
+            steps.text("- Nebendiagonalen (rechts→links→unten):\n");
+            steps.text(String.format("  %.0f·%.0f·%.0f = %.0f\n",
+                matrixA[0][2], matrixA[1][1], matrixA[2][0],
+                matrixA[0][2] * matrixA[1][1] * matrixA[2][0]));
+            steps.text(String.format("  %.0f·%.0f·%.0f = %.0f\n",
+                matrixA[0][0], matrixA[1][2], matrixA[2][1],
+                matrixA[0][0] * matrixA[1][2] * matrixA[2][1]));
+            steps.text(String.format("  %.0f·%.0f·%.0f = %.0f\n\n",
+                matrixA[0][1], matrixA[1][0], matrixA[2][2],
+                matrixA[0][1] * matrixA[1][0] * matrixA[2][2]));
+
+        } else {
+            throw new IllegalArgumentException("Determinante nur für 2×2 und 3×3 Matrizen implementiert!");
+        }
+
+        steps.text(String.format("\n══════════════════\ndet(A) = %.2f\n══════════════════", det));
+
+        // Ergebnis als einzelne Zahl
+        steps.finish();
+        return new Result(new double[][]{{det}}, "Determinante", det, steps);
+    }
+
+    private Result calculateInverse(StepTrace steps) {
+        int size = matrixA.length;
+        if (size != matrixA[0].length) {
+            throw new IllegalArgumentException("Die Inverse existiert nur für quadratische Matrizen!");
+        }
+
+        if (size != 2) {
+            throw new IllegalArgumentException("Inverse nur für 2×2 Matrizen implementiert!");
+        }
+
+        double det = matrixA[0][0] * matrixA[1][1] - matrixA[0][1] * matrixA[1][0];
+
+        if (Math.abs(det) < 0.0001) {
+            throw new IllegalArgumentException("Matrix ist singulär (det = 0)!\nKeine Inverse möglich.");
+        }
+
+        steps.text("=== INVERSE A⁻¹ ===\n\n");
+        steps.text("Formel für 2×2:\n");
+        steps.text("A⁻¹ = (1/det) · ⎡  d  -b ⎤\n");
+        steps.text("                ⎣ -c   a ⎦\n\n");
+
+        steps.text("Schritt 1: Determinante berechnen\n");
+        steps.text(String.format("det = %.0f·%.0f - %.0f·%.0f = %.2f\n\n",
+            matrixA[0][0], matrixA[1][1], matrixA[0][1], matrixA[1][0], det));
+
+        steps.text("Schritt 2: Adjunkte bilden\n");
+        steps.text(String.format("⎡  %.0f  %.0f ⎤\n", matrixA[1][1], -matrixA[0][1]));
+        steps.text(String.format("⎣ %.0f   %.0f ⎦\n\n", -matrixA[1][0], matrixA[0][0]));
+
+        steps.text(String.format("Schritt 3: Mit 1/det = %.4f multiplizieren\n\n", 1.0/det));
+
+        double[][] result = new double[2][2];
+        result[0][0] = matrixA[1][1] / det;
+        result[0][1] = -matrixA[0][1] / det;
+        result[1][0] = -matrixA[1][0] / det;
+        result[1][1] = matrixA[0][0] / det;
+
+        steps.text("Ergebnis:\n");
+        steps.text(String.format("⎡ %.3f  %.3f ⎤\n", result[0][0], result[0][1]));
+        steps.text(String.format("⎣ %.3f  %.3f ⎦\n\n", result[1][0], result[1][1]));
+
+        steps.text("Probe: A · A⁻¹ sollte I (Einheitsmatrix) ergeben!");
+
+        return matrixResult(result, steps);
+    }
+
+    private static Result matrixResult(double[][] matrix, StepTrace steps) {
+        steps.finish();
+        return new Result(matrix, null, 0, steps);
+    }
+}
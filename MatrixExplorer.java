@@ -0,0 +1,472 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+
+/**
+ * MatrixExplorer - Zoom- und verschiebbare Matrixansicht
+ *
+ * Die Matrix wird in festen Entwurfskoordinaten gezeichnet (eine Zelle ist
+ * {@link #CELL} Punkte groß, (0,0) ist die linke obere Ecke der Matrix) und
+ * über eine Transformation aus Verschiebung und Zoom auf den Bildschirm
+ * gebracht. Zellen, Klammern und Beschriftungen skalieren dadurch gemeinsam.
+ *
+ * - Trefferprüfung rein arithmetisch: Zeile und Spalte unter der Maus
+ *   ergeben sich aus der umgekehrten Transformation, ohne Schleife
+ * - Gezeichnet werden nur die Zellen im Clip-Bereich; bei sehr kleinen
+ *   Zellen entfallen Rundungen, Rahmen und Zahlen
+ * - Mausrad zoomt um den Mauszeiger, Ziehen verschiebt, Doppelklick passt
+ *   die Matrix wieder ein
+ * - Zeile und Spalte lassen sich hervorheben; optional ein Fadenkreuz
+ *   über Zeile und Spalte unter der Maus
+ *
+ * Solange nicht gezoomt oder verschoben wurde, wird die Matrix zentriert
+ * und höchstens in Originalgröße angezeigt. Unterklassen passen über
+ * {@link #cellColor}, {@link #paintOverlay} und {@link #selectionChanged}
+ * Farben, Beschriftungen und Reaktionen an.
+ */
+public class MatrixExplorer extends JComponent {
+
+    // Zellgröße in Entwurfskoordinaten (Zoom 1)
+    public static final int CELL = 60;
+
+    // Rand für Klammern und Beschriftungen beim Einpassen
+    private static final int MARGIN = 80;
+    private static final double MIN_ZOOM = 0.001;
+    private static final double MAX_ZOOM = 4;
+    private static final double ZOOM_STEP = 1.15;
+
+    // Ab dieser Bildschirmgröße (Pixel) werden Zellen mit Rahmen bzw. Zahl gezeichnet
+    private static final double DETAIL_CELL = 14;
+    private static final double TEXT_CELL = 24;
+
+    // Mausbewegung ab dieser Strecke gilt als Ziehen, nicht als Klick
+    private static final int DRAG_THRESHOLD = 3;
+
+    private static final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    private static final Color ACCENT_COLOR = Theme.ACCENT;
+    private static final Color TEXT_COLOR = Theme.TEXT;
+    private static final Color MATRIX_CELL_COLOR = Theme.MATRIX_CELL;
+    private static final Color ROW_HIGHLIGHT = Theme.SUCCESS.darker();
+    private static final Color COLUMN_HIGHLIGHT = Theme.withAlpha(Theme.ERROR, 150);
+    private static final Color CROSSHAIR = Theme.withAlpha(Theme.ACCENT, 40);
+    private static final Font VALUE_FONT = Theme.sans(Font.BOLD, 18);
+    private static final Stroke BRACKET_STROKE = Theme.stroke(3);
+
+    protected double[][] matrix;
+    protected int rows;
+    protected int cols;
+
+    // Bildschirm = Entwurf * zoom + offset
+    private double zoom = 1;
+    private double offsetX;
+    private double offsetY;
+    private boolean autoFit = true;
+
+    private int highlightRow = -1;
+    private int highlightCol = -1;
+    private int hoverRow = -1;
+    private int hoverCol = -1;
+    private int selectedRow = -1;
+    private int selectedCol = -1;
+    private boolean selectable;
+    private boolean crosshair;
+
+    // Mausbewegungen werden gesammelt und höchstens einmal pro Bild ausgewertet
+    private FrameScheduler.Task hoverUpdate;
+    private int hoverX = -1;
+    private int hoverY = -1;
+
+    // Ziehen
+    private int pressX;
+    private int pressY;
+    private double pressOffsetX;
+    private double pressOffsetY;
+    private boolean dragging;
+
+    public MatrixExplorer(double[][] matrix) {
+        setMatrix(matrix);
+        setOpaque(true);
+        setBackground(BACKGROUND_COLOR);
+        setPreferredSize(new Dimension(400, 400));
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                pressX = e.getX();
+                pressY = e.getY();
+                pressOffsetX = offsetX;
+                pressOffsetY = offsetY;
+                dragging = false;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                int dx = e.getX() - pressX;
+                int dy = e.getY() - pressY;
+                if (!dragging && Math.abs(dx) + Math.abs(dy) < DRAG_THRESHOLD) return;
+                dragging = true;
+                autoFit = false;
+                offsetX = pressOffsetX + dx;
+                offsetY = pressOffsetY + dy;
+                repaint();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (dragging) return;
+                if (e.getClickCount() == 2) {
+                    resetView();
+                } else if (selectable) {
+                    select(rowAt(e.getY()), colAt(e.getX()));
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                handleHover(e.getX(), e.getY());
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                handleHover(-1, -1);
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoomAt(e.getX(), e.getY(), Math.pow(ZOOM_STEP, -e.getPreciseWheelRotation()));
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    /**
+     * Neue Matrix; Hervorhebungen und Auswahl werden zurückgesetzt
+     */
+    public void setMatrix(double[][] matrix) {
+        this.matrix = matrix;
+        this.rows = matrix.length;
+        this.cols = matrix[0].length;
+        highlightRow = highlightCol = -1;
+        hoverRow = hoverCol = -1;
+        selectedRow = selectedCol = -1;
+        resetView();
+    }
+
+    /**
+     * Klick wählt eine Zelle aus (siehe {@link #selectionChanged})
+     */
+    public void setSelectable(boolean selectable) {
+        this.selectable = selectable;
+    }
+
+    /**
+     * Zeile und Spalte unter der Maus leicht hervorheben
+     */
+    public void setCrosshair(boolean crosshair) {
+        this.crosshair = crosshair;
+        repaint();
+    }
+
+    /**
+     * Passt die Matrix wieder zentriert ein
+     */
+    public void resetView() {
+        autoFit = true;
+        repaint();
+    }
+
+    // ==================== TRANSFORMATION ====================
+
+    /**
+     * Zeile unter der Bildschirmkoordinate y oder -1
+     */
+    public int rowAt(int y) {
+        fitIfNeeded();
+        double row = Math.floor((y - offsetY) / (CELL * zoom));
+        return row >= 0 && row < rows ? (int) row : -1;
+    }
+
+    /**
+     * Spalte unter der Bildschirmkoordinate x oder -1
+     */
+    public int colAt(int x) {
+        fitIfNeeded();
+        double col = Math.floor((x - offsetX) / (CELL * zoom));
+        return col >= 0 && col < cols ? (int) col : -1;
+    }
+
+    /**
+     * Bildschirmrechteck zu einem Rechteck in Entwurfskoordinaten
+     */
+    public Rectangle toScreen(double x, double y, double width, double height) {
+        fitIfNeeded();
+        int left = (int) Math.floor(offsetX + x * zoom);
+        int top = (int) Math.floor(offsetY + y * zoom);
+        int right = (int) Math.ceil(offsetX + (x + width) * zoom);
+        int bottom = (int) Math.ceil(offsetY + (y + height) * zoom);
+        return new Rectangle(left, top, right - left, bottom - top);
+    }
+
+    private void zoomAt(int x, int y, double factor) {
+        fitIfNeeded();
+        double newZoom = Math.max(minZoom(), Math.min(MAX_ZOOM, zoom * factor));
+        if (newZoom == zoom) return;
+        // Punkt unter der Maus bleibt stehen
+        offsetX = x - (x - offsetX) * newZoom / zoom;
+        offsetY = y - (y - offsetY) * newZoom / zoom;
+        zoom = newZoom;
+        autoFit = false;
+        repaint();
+    }
+
+    private double fitZoom() {
+        double fitX = (getWidth() - 2.0 * MARGIN) / (cols * CELL);
+        double fitY = (getHeight() - 2.0 * MARGIN) / (rows * CELL);
+        return Math.max(0, Math.min(1, Math.min(fitX, fitY)));
+    }
+
+    private double minZoom() {
+        return Math.max(MIN_ZOOM, Math.min(0.25, fitZoom() / 2));
+    }
+
+    /**
+     * Ohne Zoomen oder Verschieben bleibt die Matrix eingepasst, auch bei
+     * geänderter Größe der Komponente
+     */
+    private void fitIfNeeded() {
+        if (!autoFit) return;
+        double fit = fitZoom();
+        zoom = fit > 0 ? fit : 1;
+        offsetX = Math.floor((getWidth() - cols * CELL * zoom) / 2);
+        offsetY = Math.floor((getHeight() - rows * CELL * zoom) / 2);
+    }
+
+    // ==================== HERVORHEBUNG ====================
+
+    /**
+     * Hebt eine Zeile hervor (-1 für keine)
+     */
+    public void setHighlightRow(int row) {
+        if (row == highlightRow) return;
+        repaintRow(highlightRow);
+        highlightRow = row;
+        repaintRow(row);
+    }
+
+    /**
+     * Hebt eine Spalte hervor (-1 für keine)
+     */
+    public void setHighlightColumn(int col) {
+        if (col == highlightCol) return;
+        repaintColumn(highlightCol);
+        highlightCol = col;
+        repaintColumn(col);
+    }
+
+    public int getSelectedRow() {
+        return selectedRow;
+    }
+
+    public int getSelectedColumn() {
+        return selectedCol;
+    }
+
+    public int getHoverRow() {
+        return hoverRow;
+    }
+
+    public int getHoverColumn() {
+        return hoverCol;
+    }
+
+    private void select(int row, int col) {
+        if (row < 0 || col < 0) return;
+        repaintCell(selectedRow, selectedCol);
+        selectedRow = row;
+        selectedCol = col;
+        repaintCell(row, col);
+        selectionChanged();
+    }
+
+    private void handleHover(int x, int y) {
+        hoverX = x;
+        hoverY = y;
+        if (hoverUpdate == null || !hoverUpdate.isActive()) {
+            hoverUpdate = FrameScheduler.after(this, 0, this::applyHover);
+        }
+    }
+
+    /**
+     * Wertet die letzte Mausposition aus und zeichnet nur das Nötige neu:
+     * die alte und neue Zelle, mit Fadenkreuz deren Zeilen und Spalten
+     */
+    private void applyHover() {
+        int row = hoverX < 0 ? -1 : rowAt(hoverY);
+        int col = hoverX < 0 ? -1 : colAt(hoverX);
+        if (row < 0 || col < 0) {
+            row = col = -1;
+        }
+        if (row == hoverRow && col == hoverCol) return;
+
+        if (crosshair) {
+            if (row != hoverRow) {
+                repaintRow(hoverRow);
+                repaintRow(row);
+            }
+            if (col != hoverCol) {
+                repaintColumn(hoverCol);
+                repaintColumn(col);
+            }
+        }
+        repaintCell(hoverRow, hoverCol);
+        hoverRow = row;
+        hoverCol = col;
+        repaintCell(row, col);
+    }
+
+    public void repaintCell(int row, int col) {
+        if (row < 0 || col < 0 || row >= rows || col >= cols) return;
+        repaint(toScreen(col * CELL, row * CELL, CELL, CELL));
+    }
+
+    public void repaintRow(int row) {
+        if (row < 0 || row >= rows) return;
+        repaint(toScreen(0, row * CELL, cols * CELL, CELL));
+    }
+
+    public void repaintColumn(int col) {
+        if (col < 0 || col >= cols) return;
+        repaint(toScreen(col * CELL, 0, CELL, rows * CELL));
+    }
+
+    // ==================== ZEICHNEN ====================
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        fitIfNeeded();
+        Graphics2D g2d = (Graphics2D) g.create();
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g2d.setColor(getBackground());
+        g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // Sichtbarer Zellbereich direkt aus dem Clip
+        double cellPixels = CELL * zoom;
+        boolean detailed = cellPixels >= DETAIL_CELL;
+        boolean text = cellPixels >= TEXT_CELL;
+        // Kleine Zellen sind reine Farbflächen, Kantenglättung würde nur bremsen
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+            detailed ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        int firstCol = Math.max(0, (int) Math.floor((clip.x - offsetX) / cellPixels));
+        int lastCol = Math.min(cols - 1, (int) Math.floor((clip.x + clip.width - offsetX) / cellPixels));
+        int firstRow = Math.max(0, (int) Math.floor((clip.y - offsetY) / cellPixels));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((clip.y + clip.height - offsetY) / cellPixels));
+
+        g2d.translate(offsetX, offsetY);
+        g2d.scale(zoom, zoom);
+
+        drawBrackets(g2d);
+
+        NumberText numbers = NumberText.forFont(VALUE_FONT);
+
+        // Unter einem Pixel pro Zelle steht ein Block aus step × step Zellen
+        // für einen Bildpunkt; die Arbeit wächst so höchstens mit der Fläche
+        int step = cellPixels < 1 ? (int) Math.ceil(1 / cellPixels) : 1;
+        if (step > 1) {
+            firstRow -= firstRow % step;
+            firstCol -= firstCol % step;
+        }
+
+        for (int i = firstRow; i <= lastRow; i += step) {
+            int y = i * CELL;
+            for (int j = firstCol; j <= lastCol; j += step) {
+                int x = j * CELL;
+                Color fill = cellColor(i, j);
+                if (!detailed) {
+                    g2d.setColor(fill);
+                    g2d.fillRect(x, y, step * CELL, step * CELL);
+                    continue;
+                }
+                // Rahmen (Zelle unter dem Mauszeiger hervorgehoben)
+                Color border = i == hoverRow && j == hoverCol ? ACCENT_COLOR : Theme.CELL_BORDER;
+                paintCell(g2d, x, y, fill, border, text ? TEXT_COLOR : null, numbers, matrix[i][j]);
+            }
+        }
+
+        if (crosshair && hoverRow >= 0) {
+            g2d.setColor(CROSSHAIR);
+            g2d.fillRect(firstCol * CELL, hoverRow * CELL, (lastCol - firstCol + 1) * CELL, CELL);
+            g2d.fillRect(hoverCol * CELL, firstRow * CELL, CELL, (lastRow - firstRow + 1) * CELL);
+        }
+
+        paintOverlay(g2d);
+        g2d.dispose();
+    }
+
+    /**
+     * Zeichnet eine Zelle (CELL × CELL ab x, y) mit abgerundetem Feld, Rahmen
+     * und Wert mit einer Nachkommastelle; ohne Textfarbe bleibt die Zelle leer.
+     * Braucht keine Komponente und dient auch der Ausgabe ohne Oberfläche
+     * (siehe ExerciseRenderer); numbers muss zum aufrufenden Thread gehören.
+     */
+    static void paintCell(Graphics2D g2d, int x, int y, Color fill, Color border, Color text,
+                          NumberText numbers, double value) {
+        g2d.setColor(fill);
+        g2d.fillRoundRect(x + 3, y + 3, CELL - 6, CELL - 6, 8, 8);
+        g2d.setColor(border);
+        g2d.drawRoundRect(x + 3, y + 3, CELL - 6, CELL - 6, 8, 8);
+
+        if (text != null) {
+            FontMetrics metrics = Theme.metrics(numbers.getFont());
+            int baseline = (CELL + metrics.getAscent() - metrics.getDescent()) / 2;
+            g2d.setColor(text);
+            g2d.setFont(numbers.getFont());
+            numbers.draw(g2d, value, 1, x + (CELL - numbers.width(value, 1)) / 2, y + baseline);
+        }
+    }
+
+    private void drawBrackets(Graphics2D g2d) {
+        g2d.setColor(ACCENT_COLOR);
+        g2d.setStroke(BRACKET_STROKE);
+
+        int width = cols * CELL;
+        int height = rows * CELL;
+        int bracketWidth = 15;
+
+        // Linke Klammer
+        g2d.drawLine(-bracketWidth, 0, -5, 0);
+        g2d.drawLine(-bracketWidth, 0, -bracketWidth, height);
+        g2d.drawLine(-bracketWidth, height, -5, height);
+
+        // Rechte Klammer
+        g2d.drawLine(width + 5, 0, width + bracketWidth, 0);
+        g2d.drawLine(width + bracketWidth, 0, width + bracketWidth, height);
+        g2d.drawLine(width + 5, height, width + bracketWidth, height);
+    }
+
+    /**
+     * Hintergrund einer Zelle; standardmäßig mit hervorgehobener Zeile bzw. Spalte
+     */
+    protected Color cellColor(int row, int col) {
+        if (row == highlightRow) return ROW_HIGHLIGHT;
+        if (col == highlightCol) return COLUMN_HIGHLIGHT;
+        return MATRIX_CELL_COLOR;
+    }
+
+    /**
+     * Zusätzliche Beschriftung in Entwurfskoordinaten; die Matrix reicht
+     * von (0,0) bis (cols * CELL, rows * CELL)
+     */
+    protected void paintOverlay(Graphics2D g2d) {
+    }
+
+    /**
+     * Nach einem Klick auf eine Zelle, wenn {@link #setSelectable} aktiv ist
+     */
+    protected void selectionChanged() {
+    }
+}
@@ -2,6 +2,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.*;
+import java.awt.image.BufferedImage;
 import java.util.*;
 import java.util.List;
 
@@ -21,24 +22,33 @@ import java.util.List;
 public class MatrixGame extends JFrame {
     
     // Farbschema für ein ansprechendes Design
-    private static final Color BACKGROUND_COLOR = new Color(25, 25, 35);
-    private static final Color PANEL_COLOR = new Color(40, 44, 52);
-    private static final Color ACCENT_COLOR = new Color(97, 175, 239);
-    private static final Color SUCCESS_COLOR = new Color(152, 195, 121);
-    private static final Color ERROR_COLOR = new Color(224, 108, 117);
-    private static final Color TEXT_COLOR = new Color(220, 223, 228);
-    private static final Color MATRIX_CELL_COLOR = new Color(55, 60, 72);
-    private static final Color HIGHLIGHT_COLOR = new Color(229, 192, 123);
+    private static final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    private static final Color PANEL_COLOR = Theme.PANEL;
+    private static final Color ACCENT_COLOR = Theme.ACCENT;
+    private static final Color SUCCESS_COLOR = Theme.SUCCESS;
+    private static final Color ERROR_COLOR = Theme.ERROR;
+    private static final Color TEXT_COLOR = Theme.TEXT;
+    private static final Color MATRIX_CELL_COLOR = Theme.MATRIX_CELL;
+    private static final Color HIGHLIGHT_COLOR = Theme.HIGHLIGHT;
+    
+    // Startbildschirm-Hintergrund
+    private static final Color GRADIENT_END_COLOR = new Color(35, 40, 55);
+    private static final Color DECORATION_COLOR = Theme.withAlpha(Theme.ACCENT, 30);
+    private static final Font DECORATION_FONT = Theme.mono(Font.PLAIN, 14);
     
     // Spielzustand
     private int currentLevel = 0;
     private int score = 0;
     private int streak = 0;
-    private String playerName = "Spieler";
+    private String playerName = System.getProperty("matrixgame.player", "Spieler");
+    
+    // Spielstand über Neustarts hinweg, null = nur im Speicher (siehe ProgressStore)
+    private final ProgressStore progress;
     
     // UI-Komponenten
     private JPanel mainPanel;
     private CardLayout cardLayout;
+    private PanelRegistry panels;
     private JLabel scoreLabel;
     private JLabel streakLabel;
     private JLabel levelLabel;
@@ -51,12 +61,34 @@ public class MatrixGame extends JFrame {
     };
     
     public MatrixGame() {
+        this(ProgressStore.getDefault());
+    }
+    
+    /**
+     * @param progress Spielstand zum Laden und Speichern, null = nur im Speicher
+     */
+    MatrixGame(ProgressStore progress) {
+        // Zu lange Namen passen nicht ins Journal: dann nur im Speicher zählen,
+        // statt bei jeder Antwort auf dem Event-Thread zu scheitern
+        if (progress != null && !ProgressStore.isValidPlayerName(playerName)) {
+            System.err.println("Spielername ist zu lang, der Spielstand wird nicht gespeichert");
+            progress = null;
+        }
+        this.progress = progress;
         setTitle("🎮 Matrix Meister - Das Matrizen-Lernspiel");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(1200, 800);
         setMinimumSize(new Dimension(1000, 700));
         setLocationRelativeTo(null);
         
+        // Gespeicherten Spielstand übernehmen
+        if (progress != null) {
+            ProgressStore.Profile profile = progress.get(playerName);
+            score = profile.score;
+            streak = profile.streak;
+            currentLevel = profile.level;
+        }
+        
         // Hauptlayout initialisieren
         initializeUI();
         
@@ -73,6 +105,9 @@ public class MatrixGame extends JFrame {
         mainPanel = new JPanel(cardLayout);
         mainPanel.setBackground(BACKGROUND_COLOR);
         
+        // Hält höchstens einige Panels, alte werden samt Timern verworfen
+        panels = new PanelRegistry(mainPanel, cardLayout, PanelRegistry.DEFAULT_CAPACITY);
+        
         add(mainPanel);
     }
     
@@ -80,25 +115,7 @@ public class MatrixGame extends JFrame {
      * Zeigt den Startbildschirm mit Spieloptionen
      */
     private void showStartScreen() {
-        JPanel startPanel = new JPanel(new BorderLayout()) {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-                
-                // Gradient-Hintergrund
-                GradientPaint gradient = new GradientPaint(
-                    0, 0, new Color(25, 25, 35),
-                    getWidth(), getHeight(), new Color(35, 40, 55)
-                );
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-                
-                // Dekorative Matrizen im Hintergrund
-                drawDecorativeMatrices(g2d);
-            }
-        };
+        JPanel startPanel = new StartBackgroundPanel();
         
         // Titel-Bereich
         JPanel titlePanel = new JPanel();
@@ -107,12 +124,12 @@ public class MatrixGame extends JFrame {
         titlePanel.setBorder(BorderFactory.createEmptyBorder(60, 0, 30, 0));
         
         JLabel titleLabel = new JLabel("MATRIX MEISTER");
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 56));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 56));
         titleLabel.setForeground(ACCENT_COLOR);
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
         JLabel subtitleLabel = new JLabel("Lerne Matrizen spielerisch!");
-        subtitleLabel.setFont(new Font("SansSerif", Font.PLAIN, 24));
+        subtitleLabel.setFont(Theme.sans(Font.PLAIN, 24));
         subtitleLabel.setForeground(TEXT_COLOR);
         subtitleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
@@ -136,7 +153,7 @@ public class MatrixGame extends JFrame {
         JButton challengeBtn = createStyledButton("⚡ Herausforderung", HIGHLIGHT_COLOR);
         challengeBtn.addActionListener(e -> startChallenge());
         
-        JButton sandboxBtn = createStyledButton("🔬 Matrix-Labor", new Color(198, 120, 221));
+        JButton sandboxBtn = createStyledButton("🔬 Matrix-Labor", Theme.LAB);
         sandboxBtn.addActionListener(e -> openMatrixLab());
         
         buttonPanel.add(tutorialBtn);
@@ -151,24 +168,24 @@ public class MatrixGame extends JFrame {
         JPanel infoPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         infoPanel.setOpaque(false);
         JLabel infoLabel = new JLabel("Drücke eine Taste oder klicke auf einen Button zum Starten");
-        infoLabel.setForeground(new Color(TEXT_COLOR.getRed(), TEXT_COLOR.getGreen(), TEXT_COLOR.getBlue(), 150));
-        infoLabel.setFont(new Font("SansSerif", Font.ITALIC, 14));
+        infoLabel.setForeground(Theme.TEXT_MUTED);
+        infoLabel.setFont(Theme.sans(Font.ITALIC, 14));
         infoPanel.add(infoLabel);
         
         startPanel.add(titlePanel, BorderLayout.NORTH);
         startPanel.add(buttonPanel, BorderLayout.CENTER);
         startPanel.add(infoPanel, BorderLayout.SOUTH);
         
-        mainPanel.add(startPanel, "start");
-        cardLayout.show(mainPanel, "start");
+        panels.pin("start", startPanel);
+        panels.show("start");
     }
     
     /**
      * Zeichnet dekorative Matrizen im Hintergrund für visuellen Effekt
      */
-    private void drawDecorativeMatrices(Graphics2D g2d) {
-        g2d.setFont(new Font("Monospaced", Font.PLAIN, 14));
-        g2d.setColor(new Color(97, 175, 239, 30));
+    private static void drawDecorativeMatrices(Graphics2D g2d) {
+        g2d.setFont(DECORATION_FONT);
+        g2d.setColor(DECORATION_COLOR);
         
         Random rand = new Random(42); // Fester Seed für konsistente Anzeige
         for (int i = 0; i < 8; i++) {
@@ -177,14 +194,14 @@ public class MatrixGame extends JFrame {
             int rows = 2 + rand.nextInt(3);
             int cols = 2 + rand.nextInt(3);
             
-            drawMatrixOutline(g2d, x, y, rows, cols, 25);
+            drawMatrixOutline(g2d, x, y, rows, cols, 25, rand);
         }
     }
     
     /**
      * Zeichnet eine Matrix-Umrandung (Klammern)
      */
-    private void drawMatrixOutline(Graphics2D g2d, int x, int y, int rows, int cols, int cellSize) {
+    private static void drawMatrixOutline(Graphics2D g2d, int x, int y, int rows, int cols, int cellSize, Random rand) {
         int width = cols * cellSize;
         int height = rows * cellSize;
         
@@ -201,12 +218,82 @@ public class MatrixGame extends JFrame {
         // Beispielwerte
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < cols; j++) {
-                int val = (int)(Math.random() * 10);
+                int val = rand.nextInt(10); // gleiche Ziffern bei jedem Neuzeichnen
                 g2d.drawString(String.valueOf(val), x + 15 + j * cellSize, y + 18 + i * cellSize);
             }
         }
     }
     
+    /**
+     * Hintergrund des Startbildschirms: Verlauf und dekorative Matrizen werden
+     * einmal in ein Bild gerendert und danach bei jedem Repaint (z.B. Hover über
+     * den Buttons) nur noch kopiert. Neu gerendert wird nur, wenn sich Größe
+     * oder Bildschirmskalierung (HiDPI) ändern.
+     */
+    private static class StartBackgroundPanel extends JPanel {
+        private BufferedImage cache;
+        private int cacheWidth;
+        private int cacheHeight;
+        private double cacheScaleX;
+        private double cacheScaleY;
+        
+        StartBackgroundPanel() {
+            super(new BorderLayout());
+        }
+        
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g;
+            int width = getWidth();
+            int height = getHeight();
+            if (width <= 0 || height <= 0) return;
+            
+            // Skalierung des Bildschirms (z.B. 2.0 bei HiDPI) steckt in der Transformation
+            AffineTransform transform = g2d.getTransform();
+            double scaleX = transform.getScaleX();
+            double scaleY = transform.getScaleY();
+            
+            if (cache == null || width != cacheWidth || height != cacheHeight
+                    || scaleX != cacheScaleX || scaleY != cacheScaleY) {
+                renderCache(width, height, scaleX, scaleY);
+            }
+            
+            g2d.drawImage(cache, 0, 0, width, height, null);
+        }
+        
+        private void renderCache(int width, int height, double scaleX, double scaleY) {
+            if (cache != null) cache.flush();
+            
+            int pixelWidth = (int) Math.ceil(width * scaleX);
+            int pixelHeight = (int) Math.ceil(height * scaleY);
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            cache = config != null
+                ? config.createCompatibleImage(pixelWidth, pixelHeight, Transparency.OPAQUE)
+                : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB);
+            
+            Graphics2D g2d = cache.createGraphics();
+            try {
+                g2d.scale(scaleX, scaleY);
+                g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                
+                // Gradient-Hintergrund
+                g2d.setPaint(new GradientPaint(0, 0, BACKGROUND_COLOR, width, height, GRADIENT_END_COLOR));
+                g2d.fillRect(0, 0, width, height);
+                
+                // Dekorative Matrizen im Hintergrund
+                drawDecorativeMatrices(g2d);
+            } finally {
+                g2d.dispose();
+            }
+            
+            cacheWidth = width;
+            cacheHeight = height;
+            cacheScaleX = scaleX;
+            cacheScaleY = scaleY;
+        }
+    }
+    
     /**
      * Erstellt einen einheitlich gestylten Button
      */
@@ -236,7 +323,7 @@ public class MatrixGame extends JFrame {
             }
         };
         
-        button.setFont(new Font("SansSerif", Font.BOLD, 18));
+        button.setFont(Theme.sans(Font.BOLD, 18));
         button.setPreferredSize(new Dimension(300, 55));
         button.setMaximumSize(new Dimension(300, 55));
         button.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -249,39 +336,32 @@ public class MatrixGame extends JFrame {
     }
     
     /**
-     * Zeigt das interaktive Tutorial an
+     * Zeigt das interaktive Tutorial an (beginnt immer beim ersten Schritt)
      */
     private void showTutorial() {
-        TutorialPanel tutorialPanel = new TutorialPanel(this);
-        mainPanel.add(tutorialPanel, "tutorial");
-        cardLayout.show(mainPanel, "tutorial");
+        panels.show("tutorial", () -> new TutorialPanel(this), false);
     }
     
     /**
-     * Zeigt die Modulauswahl
+     * Zeigt die Modulauswahl; sie hat keinen eigenen Zustand und wird wiederverwendet
      */
     private void showModuleSelection() {
-        ModuleSelectionPanel modulePanel = new ModuleSelectionPanel(this, MODULES);
-        mainPanel.add(modulePanel, "modules");
-        cardLayout.show(mainPanel, "modules");
+        ModuleSelectionPanel modulePanel = panels.show("modules", () -> new ModuleSelectionPanel(this, MODULES), true);
+        modulePanel.updateScore();
     }
     
     /**
      * Startet den Herausforderungsmodus
      */
     private void startChallenge() {
-        ChallengePanel challengePanel = new ChallengePanel(this);
-        mainPanel.add(challengePanel, "challenge");
-        cardLayout.show(mainPanel, "challenge");
+        panels.show("challenge", () -> new ChallengePanel(this), false);
     }
     
     /**
      * Öffnet das Matrix-Labor zum freien Experimentieren
      */
     private void openMatrixLab() {
-        MatrixLabPanel labPanel = new MatrixLabPanel(this);
-        mainPanel.add(labPanel, "lab");
-        cardLayout.show(mainPanel, "lab");
+        panels.show("lab", () -> new MatrixLabPanel(this), false);
     }
     
     /**
@@ -289,16 +369,17 @@ public class MatrixGame extends JFrame {
      */
     public void startModule(int moduleIndex) {
         currentLevel = moduleIndex;
-        GamePanel gamePanel = new GamePanel(this, moduleIndex);
-        mainPanel.add(gamePanel, "game_" + moduleIndex);
-        cardLayout.show(mainPanel, "game_" + moduleIndex);
+        if (progress != null) {
+            progress.setLevel(playerName, moduleIndex);
+        }
+        panels.show("game_" + moduleIndex, () -> new GamePanel(this, moduleIndex), false);
     }
     
     /**
      * Zurück zum Startbildschirm
      */
     public void showMainMenu() {
-        cardLayout.show(mainPanel, "start");
+        panels.show("start");
     }
     
     // Getter und Setter für Spielzustand
@@ -306,23 +387,21 @@ public class MatrixGame extends JFrame {
     public void addScore(int points) { 
         score += points;
         streak++;
+        if (progress != null) {
+            progress.addScore(playerName, points);
+        }
+    }
+    public void resetStreak() {
+        streak = 0;
+        if (progress != null) {
+            progress.resetStreak(playerName);
+        }
     }
-    public void resetStreak() { streak = 0; }
     public int getStreak() { return streak; }
     public int getCurrentLevel() { return currentLevel; }
     
     public static void main(String[] args) {
-        // Look and Feel setzen
-        try {
-            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-        
-        // Spiel starten
-        SwingUtilities.invokeLater(() -> {
-            MatrixGame game = new MatrixGame();
-            game.setVisible(true);
-        });
+        // Ladebildschirm, Look and Feel und Vorladen im Hintergrund (siehe Startup)
+        Startup.launch(args);
     }
 }
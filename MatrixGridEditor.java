@@ -0,0 +1,467 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+
+/**
+ * MatrixGridEditor - Gezeichnetes Matrix-Raster für große Matrizen
+ *
+ * Statt eines JTextField pro Zelle in einem GridLayout liegen die Werte
+ * zeilenweise in einem double-Array. Gezeichnet werden nur die Zellen im
+ * sichtbaren Ausschnitt, die Zelle unter dem Mauszeiger wird rechnerisch
+ * bestimmt. Zum Bearbeiten wird ein einziges Textfeld über die gewählte
+ * Zelle gelegt. So bleiben auch 1000×1000-Matrizen im JScrollPane flüssig.
+ *
+ * Bedienung: Klick wählt eine Zelle, Doppelklick, F2 oder einfach Tippen
+ * beginnt die Eingabe. Enter übernimmt und geht eine Zeile nach unten,
+ * Tab eine Spalte nach rechts, Escape verwirft. Die Pfeiltasten bewegen
+ * die Auswahl.
+ */
+public class MatrixGridEditor extends JComponent implements Scrollable {
+
+    public static final int MAX_SIZE = 1000;
+
+    private static final int CELL_WIDTH = 45;
+    private static final int CELL_HEIGHT = 35;
+    private static final int GAP = 3;
+    private static final int PITCH_X = CELL_WIDTH + GAP;
+    private static final int PITCH_Y = CELL_HEIGHT + GAP;
+
+    // Sichtbare Zellen, bevor gescrollt wird
+    private static final int VISIBLE_CELLS = 6;
+
+    private static final Font CELL_FONT = Theme.mono(Font.BOLD, 14);
+    private static final FontMetrics CELL_METRICS = Theme.metrics(CELL_FONT);
+    private static final Stroke SELECTION_STROKE = Theme.stroke(2);
+
+    /**
+     * Liefert den Wert einer Zelle, z.B. zum Füllen mit Zufallszahlen
+     */
+    @FunctionalInterface
+    public interface CellValue {
+        double at(int row, int col);
+    }
+
+    private int rows;
+    private int cols;
+
+    // Zeilenweise, NaN = ungültige Eingabe
+    private double[] values;
+    private int invalidCount;
+
+    private boolean editable = true;
+    private Color cellBorderColor = Theme.CELL_BORDER;
+
+    private int selectedRow;
+    private int selectedCol;
+
+    // Gemeinsames Eingabefeld für die gerade bearbeitete Zelle
+    private final JTextField editor = new JTextField();
+    private int editRow = -1;
+    private int editCol = -1;
+
+    private final AnswerParser parser = new AnswerParser();
+
+    public MatrixGridEditor(int rows, int cols) {
+        setLayout(null);
+        setOpaque(true);
+        setBackground(Theme.PANEL);
+        setFocusable(true);
+        setToolTipText("");
+
+        this.rows = rows;
+        this.cols = cols;
+        this.values = new double[rows * cols];
+
+        setupEditor();
+        setupInput();
+    }
+
+    private void setupEditor() {
+        editor.setFont(CELL_FONT);
+        editor.setHorizontalAlignment(JTextField.CENTER);
+        editor.setBackground(Theme.MATRIX_CELL);
+        editor.setForeground(Theme.TEXT);
+        editor.setCaretColor(Theme.TEXT);
+        editor.setBorder(BorderFactory.createLineBorder(Theme.ACCENT, 2));
+        editor.setFocusTraversalKeysEnabled(false);
+        editor.setVisible(false);
+        add(editor);
+
+        editor.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_ENTER -> {
+                        stopEditing(true);
+                        select(selectedRow + (e.isShiftDown() ? -1 : 1), selectedCol);
+                    }
+                    case KeyEvent.VK_TAB -> {
+                        stopEditing(true);
+                        select(selectedRow, selectedCol + (e.isShiftDown() ? -1 : 1));
+                    }
+                    case KeyEvent.VK_ESCAPE -> stopEditing(false);
+                    default -> {
+                        return;
+                    }
+                }
+                e.consume();
+            }
+        });
+
+        editor.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                // Klick woanders hin übernimmt die Eingabe
+                if (editRow >= 0) commitEdit();
+            }
+        });
+    }
+
+    private void setupInput() {
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                requestFocusInWindow();
+                int row = rowAt(e.getY());
+                int col = colAt(e.getX());
+                if (row < 0 || col < 0) return;
+                select(row, col);
+                if (e.getClickCount() == 2) {
+                    startEditing(text(row, col));
+                }
+            }
+        });
+
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_UP -> select(selectedRow - 1, selectedCol);
+                    case KeyEvent.VK_DOWN, KeyEvent.VK_ENTER -> select(selectedRow + 1, selectedCol);
+                    case KeyEvent.VK_LEFT -> select(selectedRow, selectedCol - 1);
+                    case KeyEvent.VK_RIGHT -> select(selectedRow, selectedCol + 1);
+                    case KeyEvent.VK_F2 -> startEditing(text(selectedRow, selectedCol));
+                    case KeyEvent.VK_DELETE, KeyEvent.VK_BACK_SPACE -> {
+                        if (editable) setValue(selectedRow, selectedCol, 0);
+                    }
+                    default -> {
+                        return;
+                    }
+                }
+                e.consume();
+            }
+
+            @Override
+            public void keyTyped(KeyEvent e) {
+                char c = e.getKeyChar();
+                if ((c >= '0' && c <= '9') || c == '-' || c == '−' || c == '+' || c == ',' || c == '.') {
+                    // Tippen ersetzt den Inhalt der Zelle
+                    startEditing(String.valueOf(c));
+                    e.consume();
+                }
+            }
+        });
+
+        addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusGained(FocusEvent e) {
+                repaint(cellBounds(selectedRow, selectedCol));
+            }
+
+            @Override
+            public void focusLost(FocusEvent e) {
+                repaint(cellBounds(selectedRow, selectedCol));
+            }
+        });
+    }
+
+    // ==================== DATEN ====================
+
+    /**
+     * Ändert die Größe; der überlappende Teil der Werte bleibt erhalten,
+     * neue Zellen sind 0
+     */
+    public void setDimensions(int newRows, int newCols) {
+        if (newRows == rows && newCols == cols) return;
+        cancelEditing();
+
+        double[] resized = new double[newRows * newCols];
+        int invalid = 0;
+        for (int i = 0; i < Math.min(rows, newRows); i++) {
+            System.arraycopy(values, i * cols, resized, i * newCols, Math.min(cols, newCols));
+        }
+        for (double value : resized) {
+            if (Double.isNaN(value)) invalid++;
+        }
+
+        rows = newRows;
+        cols = newCols;
+        values = resized;
+        invalidCount = invalid;
+        selectedRow = Math.min(selectedRow, rows - 1);
+        selectedCol = Math.min(selectedCol, cols - 1);
+
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Übernimmt eine Matrix samt ihrer Größe
+     */
+    public void setMatrix(double[][] matrix) {
+        setDimensions(matrix.length, matrix[0].length);
+        fill((row, col) -> matrix[row][col]);
+    }
+
+    /**
+     * Setzt alle Zellen auf einmal und zeichnet nur einmal neu
+     */
+    public void fill(CellValue value) {
+        cancelEditing();
+        int invalid = 0;
+        for (int i = 0; i < rows; i++) {
+            int base = i * cols;
+            for (int j = 0; j < cols; j++) {
+                double v = value.at(i, j);
+                if (Double.isNaN(v)) invalid++;
+                values[base + j] = v;
+            }
+        }
+        invalidCount = invalid;
+        repaint();
+    }
+
+    public void setValue(int row, int col, double value) {
+        int index = row * cols + col;
+        if (Double.isNaN(values[index]) != Double.isNaN(value)) {
+            invalidCount += Double.isNaN(value) ? 1 : -1;
+        }
+        values[index] = value;
+        repaint(cellBounds(row, col));
+    }
+
+    public double getValue(int row, int col) {
+        return values[row * cols + col];
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Anzahl der Zellen mit ungültiger Eingabe
+     */
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * Die Werte als Matrix; wirft NumberFormatException bei ungültigen Zellen
+     */
+    public double[][] toMatrix() throws NumberFormatException {
+        // Eine noch offene Eingabe zählt mit
+        if (editRow >= 0) commitEdit();
+        if (invalidCount > 0) {
+            throw new NumberFormatException();
+        }
+        double[][] matrix = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            System.arraycopy(values, i * cols, matrix[i], 0, cols);
+        }
+        return matrix;
+    }
+
+    public void setEditable(boolean editable) {
+        this.editable = editable;
+        if (!editable) cancelEditing();
+    }
+
+    public void setCellBorderColor(Color color) {
+        this.cellBorderColor = color;
+        repaint();
+    }
+
+    // ==================== BEARBEITEN ====================
+
+    private void select(int row, int col) {
+        row = Math.max(0, Math.min(rows - 1, row));
+        col = Math.max(0, Math.min(cols - 1, col));
+        repaint(cellBounds(selectedRow, selectedCol));
+        selectedRow = row;
+        selectedCol = col;
+        repaint(cellBounds(row, col));
+        scrollRectToVisible(cellBounds(row, col));
+    }
+
+    private void startEditing(String initialText) {
+        if (!editable) return;
+        if (editRow >= 0) commitEdit();
+
+        editRow = selectedRow;
+        editCol = selectedCol;
+        editor.setText(initialText);
+        editor.setBounds(cellBounds(editRow, editCol));
+        editor.setVisible(true);
+        editor.requestFocusInWindow();
+    }
+
+    private void stopEditing(boolean commit) {
+        if (editRow < 0) return;
+        if (commit) {
+            commitEdit();
+        } else {
+            cancelEditing();
+        }
+        requestFocusInWindow();
+    }
+
+    private void commitEdit() {
+        int row = editRow;
+        int col = editCol;
+        double value = parser.parse(editor.getDocument());
+        cancelEditing();
+        setValue(row, col, value);
+    }
+
+    private void cancelEditing() {
+        if (editRow < 0) return;
+        editRow = -1;
+        editCol = -1;
+        editor.setVisible(false);
+    }
+
+    // ==================== GEOMETRIE ====================
+
+    private Rectangle cellBounds(int row, int col) {
+        return new Rectangle(GAP + col * PITCH_X, GAP + row * PITCH_Y, CELL_WIDTH, CELL_HEIGHT);
+    }
+
+    /**
+     * Zeile unter einer y-Koordinate oder -1 (auch in den Lücken)
+     */
+    private int rowAt(int y) {
+        int row = (y - GAP) / PITCH_Y;
+        return y < GAP || row >= rows || (y - GAP) % PITCH_Y >= CELL_HEIGHT ? -1 : row;
+    }
+
+    private int colAt(int x) {
+        int col = (x - GAP) / PITCH_X;
+        return x < GAP || col >= cols || (x - GAP) % PITCH_X >= CELL_WIDTH ? -1 : col;
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        int row = rowAt(e.getY());
+        int col = colAt(e.getX());
+        if (row < 0 || col < 0) return null;
+        return "a" + (row + 1) + "," + (col + 1) + " = " + text(row, col);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(GAP + cols * PITCH_X, GAP + rows * PITCH_Y);
+    }
+
+    // ==================== ZEICHNEN ====================
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        g2d.setColor(getBackground());
+        g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // Nur die Zellen im neu zu zeichnenden Bereich
+        int firstRow = Math.max(0, (clip.y - GAP) / PITCH_Y);
+        int lastRow = Math.min(rows - 1, (clip.y + clip.height) / PITCH_Y);
+        int firstCol = Math.max(0, (clip.x - GAP) / PITCH_X);
+        int lastCol = Math.min(cols - 1, (clip.x + clip.width) / PITCH_X);
+
+        g2d.setFont(CELL_FONT);
+        int ascent = CELL_METRICS.getAscent();
+        int descent = CELL_METRICS.getDescent();
+        NumberText numbers = NumberText.forFont(CELL_FONT);
+
+        for (int i = firstRow; i <= lastRow; i++) {
+            int y = GAP + i * PITCH_Y;
+            for (int j = firstCol; j <= lastCol; j++) {
+                int x = GAP + j * PITCH_X;
+                g2d.setColor(Theme.MATRIX_CELL);
+                g2d.fillRect(x, y, CELL_WIDTH, CELL_HEIGHT);
+                g2d.setColor(cellBorderColor);
+                g2d.drawRect(x, y, CELL_WIDTH - 1, CELL_HEIGHT - 1);
+
+                // Fast ganze Zahlen wie in text() ohne Nachkommastellen
+                double value = values[i * cols + j];
+                double shown = Math.abs(value - Math.round(value)) < 0.001 ? Math.round(value) : value;
+                int width = numbers.width(shown, 2);
+                int textY = y + (CELL_HEIGHT + ascent - descent) / 2;
+                g2d.setColor(Double.isNaN(value) ? Theme.ERROR : Theme.TEXT);
+                if (width <= CELL_WIDTH - 4) {
+                    numbers.draw(g2d, shown, 2, x + (CELL_WIDTH - width) / 2, textY);
+                } else {
+                    // Zu lange Zahlen abschneiden, der Tooltip zeigt den vollen Wert
+                    Shape oldClip = g2d.getClip();
+                    g2d.clipRect(x + 2, y, CELL_WIDTH - 4, CELL_HEIGHT);
+                    numbers.draw(g2d, shown, 2, x + 2, textY);
+                    g2d.setClip(oldClip);
+                }
+            }
+        }
+
+        if (editable && isFocusOwner()) {
+            Rectangle cell = cellBounds(selectedRow, selectedCol);
+            g2d.setColor(Theme.ACCENT);
+            g2d.setStroke(SELECTION_STROKE);
+            g2d.drawRect(cell.x, cell.y, cell.width - 1, cell.height - 1);
+        }
+    }
+
+    private String text(int row, int col) {
+        double value = values[row * cols + col];
+        if (Double.isNaN(value)) return "?";
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        if (Math.abs(value - Math.round(value)) < 0.001) {
+            return String.valueOf(Math.round(value));
+        }
+        return String.format("%.2f", value);
+    }
+
+    // ==================== SCROLLABLE ====================
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(GAP + Math.min(cols, VISIBLE_CELLS) * PITCH_X,
+                             GAP + Math.min(rows, VISIBLE_CELLS) * PITCH_Y);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? PITCH_Y : PITCH_X;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL
+            ? Math.max(PITCH_Y, visibleRect.height - PITCH_Y)
+            : Math.max(PITCH_X, visibleRect.width - PITCH_X);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
@@ -0,0 +1,463 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * MatrixHeatmapView - Große Matrizen als Farbfläche
+ *
+ * Jede Zelle wird als Farbe einer divergierenden Skala dargestellt:
+ * negativ blau, 0 dunkel, positiv rot (symmetrisch um 0). Gezeichnet wird
+ * in Kacheln zu 256×256 Bildpunkten, die auf Hintergrund-Threads erzeugt
+ * und in einem LRU-Cache gehalten werden.
+ *
+ * Für kleine Zoomstufen gibt es verkleinerte Stufen (Mipmaps): Stufe L fasst
+ * je 2^L × 2^L Zellen zu ihrem Mittelwert zusammen und wird erst bei Bedarf
+ * aus Stufe L-1 berechnet. Beim Zoomen und Verschieben werden nur die
+ * sichtbaren Kacheln der passenden Stufe angefordert; bis sie fertig sind,
+ * wird eine gröbere Kachel aus dem Cache vergrößert gezeichnet.
+ *
+ * Bedienung: Mausrad zoomt um den Mauszeiger, Ziehen verschiebt,
+ * Doppelklick passt die ganze Matrix ein. Ab ausreichender Vergrößerung
+ * werden die Werte in die Zellen geschrieben.
+ */
+public class MatrixHeatmapView extends JComponent {
+
+    private static final int TILE = 256;
+    private static final int MAX_TILES = 128;
+
+    // Bildpunkte pro Zelle: größte Zoomstufe und ab wann Werte erscheinen
+    private static final double MAX_CELL_SIZE = 64;
+    private static final double TEXT_CELL_SIZE = 40;
+
+    // Farbskala von -max über 0 bis +max
+    private static final int SCALE_STEPS = 255;
+    private static final int[] COLOR_SCALE = createColorScale();
+    private static final BufferedImage LEGEND = createLegend(120, 8);
+
+    private static final Font CELL_FONT = Theme.mono(Font.BOLD, 12);
+    private static final FontMetrics CELL_METRICS = Theme.metrics(CELL_FONT);
+    private static final Font LEGEND_FONT = Theme.sans(Font.PLAIN, 11);
+
+    private static final ExecutorService RASTERIZER = Executors.newFixedThreadPool(
+        Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), runnable -> {
+            Thread thread = new Thread(runnable, "heatmap-tiles");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+
+    // Angezeigte Matrix samt Stufen; Kachelaufträge halten ihre eigene Referenz
+    private Pyramid data;
+
+    // Aufträge einer inzwischen verlassenen Zoomstufe überspringen
+    private volatile int currentLevel;
+
+    // Nur im Event-Thread benutzt
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_TILES;
+        }
+    };
+    private final Set<Long> pending = new HashSet<>();
+
+    // Bildpunkte pro Zelle und Bildschirmposition der Zelle (0,0)
+    private double scale = 1;
+    private double offsetX;
+    private double offsetY;
+    private boolean userZoomed;
+
+    private Point dragStart;
+
+    public MatrixHeatmapView() {
+        setOpaque(true);
+        setBackground(Theme.PANEL);
+        setToolTipText("");
+        setupInput();
+    }
+
+    private void setupInput() {
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragStart = e.getPoint();
+                if (e.getClickCount() == 2) {
+                    userZoomed = false;
+                    fit();
+                }
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragStart == null) return;
+                offsetX += e.getX() - dragStart.x;
+                offsetY += e.getY() - dragStart.y;
+                dragStart = e.getPoint();
+                userZoomed = true;
+                repaint();
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragStart = null;
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(Math.pow(1.25, -e.getPreciseWheelRotation()), e.getX(), e.getY());
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                if (!userZoomed) fit();
+            }
+        });
+    }
+
+    // ==================== DATEN ====================
+
+    /**
+     * Matrix mit ihren verkleinerten Stufen. Unveränderlich bis auf die
+     * Stufen, die bei Bedarf (auch von mehreren Threads) ergänzt werden.
+     */
+    private static final class Pyramid {
+        final double[][] matrix;
+        final int rows;
+        final int cols;
+        final double maxAbs;
+        final int maxLevel;
+
+        // Stufen 1..maxLevel (Index L-1), zeilenweise als float
+        private final List<float[]> levels = new ArrayList<>();
+
+        Pyramid(double[][] matrix) {
+            this.matrix = matrix;
+            this.rows = matrix.length;
+            this.cols = matrix[0].length;
+
+            double max = 0;
+            for (double[] row : matrix) {
+                for (double value : row) {
+                    double abs = Math.abs(value);
+                    if (abs > max && abs != Double.POSITIVE_INFINITY) max = abs;
+                }
+            }
+            this.maxAbs = max;
+
+            int level = 0;
+            while ((Math.max(rows, cols) - 1) >> level > 0) level++;
+            this.maxLevel = level;
+        }
+
+        int levelRows(int level) {
+            return (rows + (1 << level) - 1) >> level;
+        }
+
+        int levelCols(int level) {
+            return (cols + (1 << level) - 1) >> level;
+        }
+
+        /**
+         * Stufe L (ab 1); wird bei Bedarf aus Stufe L-1 berechnet
+         */
+        float[] level(int level) {
+            synchronized (levels) {
+                while (levels.size() < level) {
+                    int next = levels.size() + 1;
+                    levels.add(downsample(next, next == 1 ? null : levels.get(next - 2)));
+                }
+                return levels.get(level - 1);
+            }
+        }
+
+        /**
+         * Mittelwert je 2×2 Zellen der darunterliegenden Stufe
+         */
+        private float[] downsample(int level, float[] finer) {
+            int finerRows = levelRows(level - 1);
+            int finerCols = levelCols(level - 1);
+            int coarseRows = levelRows(level);
+            int coarseCols = levelCols(level);
+            float[] coarse = new float[coarseRows * coarseCols];
+
+            for (int i = 0; i < coarseRows; i++) {
+                for (int j = 0; j < coarseCols; j++) {
+                    double sum = 0;
+                    int count = 0;
+                    for (int di = 0; di < 2; di++) {
+                        int r = 2 * i + di;
+                        if (r >= finerRows) break;
+                        for (int dj = 0; dj < 2; dj++) {
+                            int c = 2 * j + dj;
+                            if (c >= finerCols) break;
+                            sum += finer == null ? matrix[r][c] : finer[r * finerCols + c];
+                            count++;
+                        }
+                    }
+                    coarse[i * coarseCols + j] = (float) (sum / count);
+                }
+            }
+            return coarse;
+        }
+
+        /**
+         * Eine Kachel der Stufe als Bild (am Rand kleiner als TILE)
+         */
+        BufferedImage rasterize(int level, int tx, int ty) {
+            int levelCols = levelCols(level);
+            int x0 = tx * TILE;
+            int y0 = ty * TILE;
+            int width = Math.min(TILE, levelCols - x0);
+            int height = Math.min(TILE, levelRows(level) - y0);
+
+            float[] values = level == 0 ? null : level(level);
+            int[] pixels = new int[width * height];
+            for (int y = 0; y < height; y++) {
+                int base = (y0 + y) * levelCols + x0;
+                for (int x = 0; x < width; x++) {
+                    double value = values == null ? matrix[y0 + y][x0 + x] : values[base + x];
+                    pixels[y * width + x] = colorFor(value, maxAbs);
+                }
+            }
+
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            image.setRGB(0, 0, width, height, pixels, 0, width);
+            return image;
+        }
+    }
+
+    /**
+     * Zeigt eine neue Matrix an. Die Matrix wird nicht kopiert und darf
+     * danach nicht mehr verändert werden.
+     */
+    public void setMatrix(double[][] matrix) {
+        data = new Pyramid(matrix);
+        tiles.clear();
+        pending.clear();
+        userZoomed = false;
+        fit();
+        repaint();
+    }
+
+    /**
+     * Passt die ganze Matrix in die Komponente ein
+     */
+    public void fit() {
+        if (data == null || getWidth() == 0 || getHeight() == 0) return;
+        scale = Math.min(MAX_CELL_SIZE, Math.min((double) getWidth() / data.cols, (double) getHeight() / data.rows));
+        offsetX = (getWidth() - data.cols * scale) / 2;
+        offsetY = (getHeight() - data.rows * scale) / 2;
+        repaint();
+    }
+
+    private void zoom(double factor, int anchorX, int anchorY) {
+        if (data == null) return;
+        double fitScale = Math.min((double) getWidth() / data.cols, (double) getHeight() / data.rows);
+        double newScale = Math.max(fitScale / 2, Math.min(MAX_CELL_SIZE, scale * factor));
+        // Der Punkt unter dem Mauszeiger bleibt stehen
+        offsetX = anchorX - (anchorX - offsetX) * newScale / scale;
+        offsetY = anchorY - (anchorY - offsetY) * newScale / scale;
+        scale = newScale;
+        userZoomed = true;
+        repaint();
+    }
+
+    // ==================== KACHELN ====================
+
+    private static long tileKey(int level, int tx, int ty) {
+        return ((long) level << 48) | ((long) ty << 24) | tx;
+    }
+
+    private void requestTile(int level, int tx, int ty) {
+        long key = tileKey(level, tx, ty);
+        if (!pending.add(key)) return;
+
+        Pyramid source = data;
+        RASTERIZER.execute(() -> {
+            // Inzwischen andere Zoomstufe: nicht mehr nötig
+            BufferedImage image = level == currentLevel ? source.rasterize(level, tx, ty) : null;
+            SwingUtilities.invokeLater(() -> {
+                // Inzwischen andere Matrix: verwerfen
+                if (source != data) return;
+                pending.remove(key);
+                if (image != null) {
+                    tiles.put(key, image);
+                    repaint();
+                }
+            });
+        });
+    }
+
+    private static int colorFor(double value, double maxAbs) {
+        if (Double.isNaN(value)) return Theme.ERROR.getRGB();
+        double t = maxAbs == 0 ? 0 : Math.max(-1, Math.min(1, value / maxAbs));
+        return COLOR_SCALE[(int) Math.round(t * SCALE_STEPS) + SCALE_STEPS];
+    }
+
+    private static int[] createColorScale() {
+        int[] scale = new int[2 * SCALE_STEPS + 1];
+        for (int k = 0; k < scale.length; k++) {
+            double t = (double) (k - SCALE_STEPS) / SCALE_STEPS;
+            Color end = t < 0 ? Theme.ACCENT : Theme.ERROR;
+            scale[k] = mix(Theme.MATRIX_CELL, end, Math.abs(t));
+        }
+        return scale;
+    }
+
+    private static BufferedImage createLegend(int width, int height) {
+        BufferedImage legend = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < width; x++) {
+            int color = COLOR_SCALE[x * (COLOR_SCALE.length - 1) / (width - 1)];
+            for (int y = 0; y < height; y++) {
+                legend.setRGB(x, y, color);
+            }
+        }
+        return legend;
+    }
+
+    private static int mix(Color from, Color to, double t) {
+        int r = (int) Math.round(from.getRed() + (to.getRed() - from.getRed()) * t);
+        int g = (int) Math.round(from.getGreen() + (to.getGreen() - from.getGreen()) * t);
+        int b = (int) Math.round(from.getBlue() + (to.getBlue() - from.getBlue()) * t);
+        return 0xFF000000 | r << 16 | g << 8 | b;
+    }
+
+    // ==================== ZEICHNEN ====================
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setColor(getBackground());
+        g2d.fillRect(0, 0, getWidth(), getHeight());
+        if (data == null) return;
+
+        // Gröbste Stufe, bei der eine Level-Zelle noch mindestens einen Bildpunkt hat
+        int level = 0;
+        while (level < data.maxLevel && scale * (2 << level) <= 1) level++;
+        currentLevel = level;
+
+        double cellSize = scale * (1 << level);
+        double tileSize = TILE * cellSize;
+        int tilesX = (data.levelCols(level) + TILE - 1) / TILE;
+        int tilesY = (data.levelRows(level) + TILE - 1) / TILE;
+
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        int firstTx = Math.max(0, (int) Math.floor((clip.x - offsetX) / tileSize));
+        int lastTx = Math.min(tilesX - 1, (int) Math.floor((clip.x + clip.width - offsetX) / tileSize));
+        int firstTy = Math.max(0, (int) Math.floor((clip.y - offsetY) / tileSize));
+        int lastTy = Math.min(tilesY - 1, (int) Math.floor((clip.y + clip.height - offsetY) / tileSize));
+
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        for (int ty = firstTy; ty <= lastTy; ty++) {
+            for (int tx = firstTx; tx <= lastTx; tx++) {
+                BufferedImage image = tiles.get(tileKey(level, tx, ty));
+                if (image != null) {
+                    drawTile(g2d, image, tx, ty, cellSize);
+                } else {
+                    requestTile(level, tx, ty);
+                    drawFallback(g2d, level, tx, ty);
+                }
+            }
+        }
+
+        if (scale >= TEXT_CELL_SIZE) {
+            drawValues(g2d, clip);
+        }
+        drawLegend(g2d);
+    }
+
+    private void drawTile(Graphics2D g2d, BufferedImage image, int tx, int ty, double cellSize) {
+        double x = offsetX + tx * TILE * cellSize;
+        double y = offsetY + ty * TILE * cellSize;
+        // Beide Kanten runden, damit zwischen Kacheln keine Lücken entstehen
+        int x0 = (int) Math.floor(x);
+        int y0 = (int) Math.floor(y);
+        int x1 = (int) Math.floor(x + image.getWidth() * cellSize);
+        int y1 = (int) Math.floor(y + image.getHeight() * cellSize);
+        g2d.drawImage(image, x0, y0, x1, y1, 0, 0, image.getWidth(), image.getHeight(), null);
+    }
+
+    /**
+     * Zeichnet bis zur fertigen Kachel eine gröbere aus dem Cache, vergrößert
+     */
+    private void drawFallback(Graphics2D g2d, int level, int tx, int ty) {
+        double cellSize = scale * (1 << level);
+        double tileSize = TILE * cellSize;
+        Shape oldClip = g2d.getClip();
+        g2d.clipRect((int) Math.floor(offsetX + tx * tileSize), (int) Math.floor(offsetY + ty * tileSize),
+                     (int) Math.ceil(tileSize) + 1, (int) Math.ceil(tileSize) + 1);
+
+        for (int coarser = level + 1; coarser <= data.maxLevel; coarser++) {
+            int shift = coarser - level;
+            BufferedImage image = tiles.get(tileKey(coarser, tx >> shift, ty >> shift));
+            if (image != null) {
+                drawTile(g2d, image, tx >> shift, ty >> shift, scale * (1 << coarser));
+                break;
+            }
+        }
+        g2d.setClip(oldClip);
+    }
+
+    private void drawValues(Graphics2D g2d, Rectangle clip) {
+        int firstCol = Math.max(0, (int) Math.floor((clip.x - offsetX) / scale));
+        int lastCol = Math.min(data.cols - 1, (int) Math.floor((clip.x + clip.width - offsetX) / scale));
+        int firstRow = Math.max(0, (int) Math.floor((clip.y - offsetY) / scale));
+        int lastRow = Math.min(data.rows - 1, (int) Math.floor((clip.y + clip.height - offsetY) / scale));
+
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(CELL_FONT);
+        int ascent = CELL_METRICS.getAscent();
+        int descent = CELL_METRICS.getDescent();
+        NumberText numbers = NumberText.forFont(CELL_FONT);
+
+        for (int i = firstRow; i <= lastRow; i++) {
+            int y = (int) Math.floor(offsetY + i * scale);
+            for (int j = firstCol; j <= lastCol; j++) {
+                int x = (int) Math.floor(offsetX + j * scale);
+                g2d.setColor(Theme.PANEL);
+                g2d.drawRect(x, y, (int) scale, (int) scale);
+
+                double value = data.matrix[i][j];
+                int width = numbers.width(value, 2);
+                if (width > scale - 4) continue;
+                g2d.setColor(Theme.TEXT);
+                numbers.draw(g2d, value, 2, x + (int) ((scale - width) / 2),
+                             y + (int) ((scale + ascent - descent) / 2));
+            }
+        }
+    }
+
+    private void drawLegend(Graphics2D g2d) {
+        int width = LEGEND.getWidth();
+        int height = LEGEND.getHeight();
+        int x = getWidth() - width - 10;
+        int y = getHeight() - height - 22;
+        if (x < 0 || y < 0) return;
+
+        g2d.drawImage(LEGEND, x, y, null);
+        g2d.setColor(Theme.TEXT_MUTED);
+        g2d.setFont(LEGEND_FONT);
+        String max = WorkedSolutions.formatValue(data.maxAbs);
+        g2d.drawString("-" + max, x, y + height + 13);
+        g2d.drawString(max, x + width - Theme.metrics(LEGEND_FONT).stringWidth(max), y + height + 13);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        if (data == null) return null;
+        int col = (int) Math.floor((e.getX() - offsetX) / scale);
+        int row = (int) Math.floor((e.getY() - offsetY) / scale);
+        if (row < 0 || col < 0 || row >= data.rows || col >= data.cols) return null;
+        return "a" + (row + 1) + "," + (col + 1) + " = " + WorkedSolutions.formatValue(data.matrix[row][col]);
+    }
+}
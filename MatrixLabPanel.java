@@ -2,6 +2,9 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * MatrixLabPanel - Das Matrix-Labor für freies Experimentieren
@@ -9,30 +12,42 @@ import java.util.*;
  * Hier können Spieler ihre eigenen Matrizen eingeben und
  * verschiedene Operationen darauf ausführen. Das Labor bietet:
  * 
- * - Freie Eingabe von Matrizen beliebiger Größe
+ * - Freie Eingabe von Matrizen bis 1000×1000 ({@link MatrixGridEditor})
  * - Alle Matrix-Operationen zum Ausprobieren
  * - Schritt-für-Schritt Berechnungsanzeige
  * - Visualisierung der Operationen
  * 
  * Perfekt zum Verstehen und Experimentieren!
  */
-public class MatrixLabPanel extends JPanel {
+public class MatrixLabPanel extends JPanel implements PanelRegistry.Disposable {
     
     // Farben
-    private static final Color BACKGROUND_COLOR = new Color(25, 25, 35);
-    private static final Color PANEL_COLOR = new Color(40, 44, 52);
-    private static final Color ACCENT_COLOR = new Color(97, 175, 239);
-    private static final Color SUCCESS_COLOR = new Color(152, 195, 121);
-    private static final Color ERROR_COLOR = new Color(224, 108, 117);
-    private static final Color TEXT_COLOR = new Color(220, 223, 228);
-    private static final Color HIGHLIGHT_COLOR = new Color(229, 192, 123);
-    private static final Color MATRIX_CELL_COLOR = new Color(55, 60, 72);
+    private static final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    private static final Color PANEL_COLOR = Theme.PANEL;
+    private static final Color ACCENT_COLOR = Theme.ACCENT;
+    private static final Color SUCCESS_COLOR = Theme.SUCCESS;
+    private static final Color ERROR_COLOR = Theme.ERROR;
+    private static final Color TEXT_COLOR = Theme.TEXT;
+    private static final Color HIGHLIGHT_COLOR = Theme.HIGHLIGHT;
+    private static final Color MATRIX_CELL_COLOR = Theme.MATRIX_CELL;
+    
+    // Größere Ergebnisse werden als Heatmap statt als Zahlenraster gezeigt
+    private static final int HEATMAP_CELLS = 32 * 32;
+    
+    // Rechnungen laufen nacheinander auf einem eigenen Thread, die Rechenkerne im ForkJoinPool
+    private static final ExecutorService CALCULATOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "lab-calculation");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+    
+    // Kurze Berechnungen zeigen keinen Fortschrittsbalken
+    private static final long PROGRESS_DELAY_NANOS = 200_000_000L;
     
     private MatrixGame game;
     
-    // Matrizen
-    private double[][] matrixA;
-    private double[][] matrixB;
+    // Ergebnis der letzten Berechnung
     private double[][] resultMatrix;
     
     // Größen
@@ -40,14 +55,22 @@ public class MatrixLabPanel extends JPanel {
     private int rowsB = 3, colsB = 3;
     
     // UI-Komponenten
-    private JTextField[][] fieldsA;
-    private JTextField[][] fieldsB;
-    private JPanel matrixAPanel;
-    private JPanel matrixBPanel;
+    private MatrixGridEditor editorA;
+    private MatrixGridEditor editorB;
     private JPanel resultPanel;
-    private JTextArea calculationSteps;
+    private StepLogView calculationSteps;
     private JComboBox<String> operationBox;
     private JTextField scalarField;
+    private JButton calculateBtn;
+    private JButton cancelBtn;
+    private JProgressBar progressBar;
+    
+    // Laufende Berechnung und ihre Fortschrittsanzeige
+    private LabCalculation calculation;
+    private FrameScheduler.Task progressTask;
+    
+    // Liest die Eingabefelder ohne Zwischen-Strings
+    private final AnswerParser answerParser = new AnswerParser();
     
     public MatrixLabPanel(MatrixGame game) {
         this.game = game;
@@ -99,7 +122,7 @@ public class MatrixLabPanel extends JPanel {
         ));
         
         JLabel resultTitle = new JLabel("📊 Ergebnis");
-        resultTitle.setFont(new Font("SansSerif", Font.BOLD, 16));
+        resultTitle.setFont(Theme.sans(Font.BOLD, 16));
         resultTitle.setForeground(SUCCESS_COLOR);
         resultPanel.add(resultTitle, BorderLayout.NORTH);
         
@@ -111,21 +134,18 @@ public class MatrixLabPanel extends JPanel {
         JPanel stepsPanel = new JPanel(new BorderLayout());
         stepsPanel.setBackground(PANEL_COLOR);
         stepsPanel.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(60, 65, 77)),
+            BorderFactory.createLineBorder(Theme.BORDER),
             BorderFactory.createEmptyBorder(10, 15, 10, 15)
         ));
         
         JLabel stepsTitle = new JLabel("📝 Berechnungsschritte");
-        stepsTitle.setFont(new Font("SansSerif", Font.BOLD, 16));
+        stepsTitle.setFont(Theme.sans(Font.BOLD, 16));
         stepsTitle.setForeground(HIGHLIGHT_COLOR);
         stepsPanel.add(stepsTitle, BorderLayout.NORTH);
         
-        calculationSteps = new JTextArea(8, 30);
-        calculationSteps.setEditable(false);
-        calculationSteps.setFont(new Font("Monospaced", Font.PLAIN, 12));
-        calculationSteps.setBackground(PANEL_COLOR);
-        calculationSteps.setForeground(TEXT_COLOR);
-        calculationSteps.setText("Die Berechnungsschritte werden hier angezeigt...");
+        // Formatiert nur die sichtbaren Zeilen des Rechenwegs
+        calculationSteps = new StepLogView();
+        showSteps(StepTrace.of("Die Berechnungsschritte werden hier angezeigt..."), TEXT_COLOR);
         
         JScrollPane stepsScroll = new JScrollPane(calculationSteps);
         stepsScroll.setBorder(BorderFactory.createEmptyBorder(10, 0, 0, 0));
@@ -157,14 +177,13 @@ public class MatrixLabPanel extends JPanel {
         backBtn.addActionListener(e -> game.showMainMenu());
         
         JLabel titleLabel = new JLabel("🔬 Matrix-Labor");
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 24));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 24));
         titleLabel.setForeground(TEXT_COLOR);
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         
         JLabel infoLabel = new JLabel("Experimentiere frei mit Matrizen!");
-        infoLabel.setFont(new Font("SansSerif", Font.ITALIC, 14));
-        infoLabel.setForeground(new Color(TEXT_COLOR.getRed(), TEXT_COLOR.getGreen(), 
-                                          TEXT_COLOR.getBlue(), 180));
+        infoLabel.setFont(Theme.sans(Font.ITALIC, 14));
+        infoLabel.setForeground(Theme.withAlpha(TEXT_COLOR, 180));
         
         panel.add(backBtn, BorderLayout.WEST);
         panel.add(titleLabel, BorderLayout.CENTER);
@@ -180,7 +199,7 @@ public class MatrixLabPanel extends JPanel {
         JPanel section = new JPanel(new BorderLayout(10, 10));
         section.setBackground(PANEL_COLOR);
         section.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(isMatrixA ? ACCENT_COLOR : new Color(198, 120, 221), 2),
+            BorderFactory.createLineBorder(isMatrixA ? ACCENT_COLOR : Theme.LAB, 2),
             BorderFactory.createEmptyBorder(10, 15, 10, 15)
         ));
         
@@ -189,8 +208,8 @@ public class MatrixLabPanel extends JPanel {
         headerPanel.setBackground(PANEL_COLOR);
         
         JLabel titleLabel = new JLabel(title);
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
-        titleLabel.setForeground(isMatrixA ? ACCENT_COLOR : new Color(198, 120, 221));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 16));
+        titleLabel.setForeground(isMatrixA ? ACCENT_COLOR : Theme.LAB);
         
         // Größeneinstellung
         JPanel sizePanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
@@ -199,14 +218,14 @@ public class MatrixLabPanel extends JPanel {
         JLabel sizeLabel = new JLabel("Größe:");
         sizeLabel.setForeground(TEXT_COLOR);
         
-        SpinnerNumberModel rowModel = new SpinnerNumberModel(3, 1, 5, 1);
-        SpinnerNumberModel colModel = new SpinnerNumberModel(3, 1, 5, 1);
+        SpinnerNumberModel rowModel = new SpinnerNumberModel(3, 1, MatrixGridEditor.MAX_SIZE, 1);
+        SpinnerNumberModel colModel = new SpinnerNumberModel(3, 1, MatrixGridEditor.MAX_SIZE, 1);
         
         JSpinner rowSpinner = new JSpinner(rowModel);
         JSpinner colSpinner = new JSpinner(colModel);
         
-        rowSpinner.setPreferredSize(new Dimension(50, 25));
-        colSpinner.setPreferredSize(new Dimension(50, 25));
+        rowSpinner.setPreferredSize(new Dimension(60, 25));
+        colSpinner.setPreferredSize(new Dimension(60, 25));
         
         rowSpinner.addChangeListener(e -> {
             if (isMatrixA) {
@@ -238,16 +257,18 @@ public class MatrixLabPanel extends JPanel {
         
         section.add(headerPanel, BorderLayout.NORTH);
         
-        // Matrix-Eingabefelder
-        JPanel matrixContainer = new JPanel(new GridBagLayout());
-        matrixContainer.setBackground(PANEL_COLOR);
-        
+        // Matrix-Eingabe: ein gezeichnetes Raster statt eines Textfelds pro Zelle
+        MatrixGridEditor editor = new MatrixGridEditor(3, 3);
         if (isMatrixA) {
-            matrixAPanel = matrixContainer;
+            editorA = editor;
         } else {
-            matrixBPanel = matrixContainer;
+            editorB = editor;
         }
         
+        JPanel matrixContainer = new JPanel(new GridBagLayout());
+        matrixContainer.setBackground(PANEL_COLOR);
+        matrixContainer.add(createMatrixScrollPane(editor, ACCENT_COLOR));
+        
         section.add(matrixContainer, BorderLayout.CENTER);
         
         // Buttons
@@ -258,9 +279,9 @@ public class MatrixLabPanel extends JPanel {
         styleSmallButton(randomBtn, HIGHLIGHT_COLOR);
         randomBtn.addActionListener(e -> {
             if (isMatrixA) {
-                fillRandomMatrix(fieldsA);
+                fillRandomMatrix(editorA);
             } else {
-                fillRandomMatrix(fieldsB);
+                fillRandomMatrix(editorB);
             }
         });
         
@@ -268,9 +289,9 @@ public class MatrixLabPanel extends JPanel {
         styleSmallButton(clearBtn, ERROR_COLOR);
         clearBtn.addActionListener(e -> {
             if (isMatrixA) {
-                clearMatrix(fieldsA);
+                clearMatrix(editorA);
             } else {
-                clearMatrix(fieldsB);
+                clearMatrix(editorB);
             }
         });
         
@@ -279,9 +300,9 @@ public class MatrixLabPanel extends JPanel {
         styleSmallButton(identityBtn, SUCCESS_COLOR);
         identityBtn.addActionListener(e -> {
             if (isMatrixA) {
-                fillIdentityMatrix(fieldsA);
+                fillIdentityMatrix(editorA);
             } else {
-                fillIdentityMatrix(fieldsB);
+                fillIdentityMatrix(editorB);
             }
         });
         
@@ -307,7 +328,7 @@ public class MatrixLabPanel extends JPanel {
         ));
         
         JLabel titleLabel = new JLabel("⚙️ Operationen");
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 16));
         titleLabel.setForeground(HIGHLIGHT_COLOR);
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
@@ -337,7 +358,7 @@ public class MatrixLabPanel extends JPanel {
         scalarLabel.setForeground(TEXT_COLOR);
         
         scalarField = new JTextField("2", 4);
-        scalarField.setFont(new Font("Monospaced", Font.BOLD, 14));
+        scalarField.setFont(Theme.mono(Font.BOLD, 14));
         scalarField.setHorizontalAlignment(JTextField.CENTER);
         scalarField.setBackground(MATRIX_CELL_COLOR);
         scalarField.setForeground(TEXT_COLOR);
@@ -347,8 +368,8 @@ public class MatrixLabPanel extends JPanel {
         scalarPanel.add(scalarField);
         
         // Berechnen-Button
-        JButton calculateBtn = new JButton("▶ Berechnen");
-        calculateBtn.setFont(new Font("SansSerif", Font.BOLD, 16));
+        calculateBtn = new JButton("▶ Berechnen");
+        calculateBtn.setFont(Theme.sans(Font.BOLD, 16));
         calculateBtn.setForeground(TEXT_COLOR);
         calculateBtn.setBackground(SUCCESS_COLOR);
         calculateBtn.setMaximumSize(new Dimension(200, 45));
@@ -357,6 +378,24 @@ public class MatrixLabPanel extends JPanel {
         calculateBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
         calculateBtn.addActionListener(e -> performCalculation());
         
+        // Fortschritt und Abbrechen, nur während einer Berechnung sichtbar
+        progressBar = new JProgressBar(0, 1000);
+        progressBar.setMaximumSize(new Dimension(200, 12));
+        progressBar.setAlignmentX(Component.CENTER_ALIGNMENT);
+        progressBar.setForeground(SUCCESS_COLOR);
+        progressBar.setBackground(MATRIX_CELL_COLOR);
+        progressBar.setBorderPainted(false);
+        progressBar.setVisible(false);
+        
+        cancelBtn = new JButton("■ Abbrechen");
+        styleSmallButton(cancelBtn, ERROR_COLOR);
+        cancelBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
+        cancelBtn.setVisible(false);
+        cancelBtn.addActionListener(e -> {
+            cancelCalculation();
+            showSteps(StepTrace.of("Berechnung abgebrochen."), TEXT_COLOR);
+        });
+        
         // Info-Text
         JLabel infoLabel = new JLabel("<html><center><font size='-1' color='#AAB1C0'>" +
             "Wähle eine Operation<br>und klicke Berechnen</font></center></html>");
@@ -369,6 +408,10 @@ public class MatrixLabPanel extends JPanel {
         panel.add(scalarPanel);
         panel.add(Box.createVerticalStrut(20));
         panel.add(calculateBtn);
+        panel.add(Box.createVerticalStrut(10));
+        panel.add(progressBar);
+        panel.add(Box.createVerticalStrut(5));
+        panel.add(cancelBtn);
         panel.add(Box.createVerticalGlue());
         panel.add(infoLabel);
         
@@ -376,7 +419,7 @@ public class MatrixLabPanel extends JPanel {
     }
     
     private void styleSmallButton(JButton button, Color color) {
-        button.setFont(new Font("SansSerif", Font.PLAIN, 12));
+        button.setFont(Theme.sans(Font.PLAIN, 12));
         button.setForeground(TEXT_COLOR);
         button.setBackground(color.darker());
         button.setFocusPainted(false);
@@ -388,367 +431,183 @@ public class MatrixLabPanel extends JPanel {
      * Initialisiert die Matrix-Eingabefelder
      */
     private void initializeMatrices() {
-        fieldsA = new JTextField[rowsA][colsA];
-        fieldsB = new JTextField[rowsB][colsB];
-        
         updateMatrixA();
         updateMatrixB();
     }
     
     private void updateMatrixA() {
-        matrixAPanel.removeAll();
-        fieldsA = new JTextField[rowsA][colsA];
-        
-        JPanel gridPanel = createMatrixGrid(fieldsA, rowsA, colsA);
-        matrixAPanel.add(gridPanel);
-        
-        matrixAPanel.revalidate();
-        matrixAPanel.repaint();
+        editorA.setDimensions(rowsA, colsA);
+        revalidateEditor(editorA);
     }
     
     private void updateMatrixB() {
-        matrixBPanel.removeAll();
-        fieldsB = new JTextField[rowsB][colsB];
-        
-        JPanel gridPanel = createMatrixGrid(fieldsB, rowsB, colsB);
-        matrixBPanel.add(gridPanel);
-        
-        matrixBPanel.revalidate();
-        matrixBPanel.repaint();
+        editorB.setDimensions(rowsB, colsB);
+        revalidateEditor(editorB);
     }
     
-    private JPanel createMatrixGrid(JTextField[][] fields, int rows, int cols) {
-        JPanel gridPanel = new JPanel(new GridLayout(rows, cols, 3, 3));
-        gridPanel.setBackground(PANEL_COLOR);
-        gridPanel.setBorder(BorderFactory.createCompoundBorder(
-            new GamePanel.MatrixBracketBorder(ACCENT_COLOR),
-            BorderFactory.createEmptyBorder(5, 15, 5, 15)
-        ));
-        
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                JTextField field = new JTextField("0", 3);
-                field.setFont(new Font("Monospaced", Font.BOLD, 14));
-                field.setHorizontalAlignment(JTextField.CENTER);
-                field.setBackground(MATRIX_CELL_COLOR);
-                field.setForeground(TEXT_COLOR);
-                field.setCaretColor(TEXT_COLOR);
-                field.setBorder(BorderFactory.createLineBorder(new Color(70, 75, 87)));
-                field.setPreferredSize(new Dimension(45, 35));
-                
-                fields[i][j] = field;
-                gridPanel.add(field);
-            }
+    /**
+     * Der Scrollbereich passt seine Größe an die neue Matrix an
+     */
+    private void revalidateEditor(MatrixGridEditor editor) {
+        Container scrollPane = SwingUtilities.getAncestorOfClass(JScrollPane.class, editor);
+        if (scrollPane != null) {
+            scrollPane.invalidate();
+            scrollPane.getParent().revalidate();
+            scrollPane.getParent().repaint();
         }
-        
-        return gridPanel;
     }
     
-    private void fillRandomMatrix(JTextField[][] fields) {
-        Random rand = new Random();
-        for (JTextField[] row : fields) {
-            for (JTextField field : row) {
-                field.setText(String.valueOf(rand.nextInt(19) - 9)); // -9 bis 9
-            }
-        }
+    private JScrollPane createMatrixScrollPane(MatrixGridEditor editor, Color bracketColor) {
+        JScrollPane scrollPane = new JScrollPane(editor);
+        scrollPane.setBorder(BorderFactory.createCompoundBorder(
+            new GamePanel.MatrixBracketBorder(bracketColor),
+            BorderFactory.createEmptyBorder(5, 15, 5, 15)
+        ));
+        scrollPane.setBackground(PANEL_COLOR);
+        scrollPane.getViewport().setBackground(PANEL_COLOR);
+        return scrollPane;
     }
     
-    private void clearMatrix(JTextField[][] fields) {
-        for (JTextField[] row : fields) {
-            for (JTextField field : row) {
-                field.setText("0");
-            }
-        }
+    private void fillRandomMatrix(MatrixGridEditor editor) {
+        Random rand = new Random();
+        editor.fill((row, col) -> rand.nextInt(19) - 9); // -9 bis 9
     }
     
-    private void fillIdentityMatrix(JTextField[][] fields) {
-        for (int i = 0; i < fields.length; i++) {
-            for (int j = 0; j < fields[i].length; j++) {
-                fields[i][j].setText(i == j ? "1" : "0");
-            }
-        }
+    private void clearMatrix(MatrixGridEditor editor) {
+        editor.fill((row, col) -> 0);
     }
     
-    private double[][] readMatrix(JTextField[][] fields) throws NumberFormatException {
-        double[][] matrix = new double[fields.length][fields[0].length];
-        for (int i = 0; i < fields.length; i++) {
-            for (int j = 0; j < fields[i].length; j++) {
-                String text = fields[i][j].getText().trim().replace(",", ".");
-                matrix[i][j] = Double.parseDouble(text);
-            }
-        }
-        return matrix;
+    private void fillIdentityMatrix(MatrixGridEditor editor) {
+        editor.fill((row, col) -> row == col ? 1 : 0);
     }
     
     /**
-     * Führt die ausgewählte Berechnung durch
+     * Startet die ausgewählte Berechnung im Hintergrund. Die Eingaben werden
+     * hier gelesen, Rechnung und Rechenweg entstehen auf dem Rechen-Thread und
+     * kommen am Ende gesammelt zurück auf den Event-Thread.
      */
     private void performCalculation() {
+        double[][] matrixA;
+        double[][] matrixB;
         try {
-            matrixA = readMatrix(fieldsA);
-            matrixB = readMatrix(fieldsB);
+            matrixA = editorA.toMatrix();
+            matrixB = editorB.toMatrix();
         } catch (NumberFormatException e) {
             showError("Bitte gib gültige Zahlen ein!");
             return;
         }
         
-        int operationIndex = operationBox.getSelectedIndex();
-        StringBuilder steps = new StringBuilder();
-        
-        try {
-            switch (operationIndex) {
-                case 0 -> calculateAddition(steps);
-                case 1 -> calculateSubtraction(steps);
-                case 2 -> calculateScalarMultiplication(steps);
-                case 3 -> calculateMatrixMultiplication(steps);
-                case 4 -> calculateTransposition(steps);
-                case 5 -> calculateDeterminant(steps);
-                case 6 -> calculateInverse(steps);
+        LabCalculation.Operation operation = LabCalculation.Operation.values()[operationBox.getSelectedIndex()];
+        double k = operation == LabCalculation.Operation.SCALAR_MULTIPLICATION
+            ? answerParser.parse(scalarField) : Double.NaN;
+        
+        cancelCalculation();
+        LabCalculation job = new LabCalculation(operation, matrixA, matrixB, k);
+        calculation = job;
+        setCalculating(true);
+        
+        CALCULATOR.execute(() -> {
+            LabCalculation.Result result = null;
+            String error = null;
+            try {
+                result = job.run();
+            } catch (IllegalArgumentException e) {
+                error = e.getMessage();
+            } catch (CancellationException e) {
+                // finishCalculation verwirft abgebrochene Berechnungen
+            } catch (OutOfMemoryError e) {
+                error = "Nicht genug Speicher für diese Berechnung. Bitte kleinere Matrizen verwenden.";
+            } catch (RuntimeException | Error e) {
+                e.printStackTrace();
+                error = "Unerwarteter Fehler bei der Berechnung: " + e;
+            } finally {
+                // Immer zurückmelden, sonst bliebe das Labor im Rechenzustand hängen
+                LabCalculation.Result finalResult = result;
+                String finalError = error;
+                SwingUtilities.invokeLater(() -> finishCalculation(job, finalResult, finalError));
             }
-        } catch (IllegalArgumentException e) {
-            showError(e.getMessage());
-            return;
-        }
-        
-        // Zeige Berechnungsschritte
-        calculationSteps.setText(steps.toString());
-        calculationSteps.setCaretPosition(0);
+        });
     }
     
-    private void calculateAddition(StringBuilder steps) {
-        if (rowsA != rowsB || colsA != colsB) {
-            throw new IllegalArgumentException("Für Addition müssen beide Matrizen die gleiche Größe haben!");
-        }
-        
-        steps.append("=== ADDITION A + B ===\n\n");
-        steps.append("Regel: Addiere die Elemente an gleichen Positionen.\n");
-        steps.append("c_ij = a_ij + b_ij\n\n");
-        
-        resultMatrix = new double[rowsA][colsA];
-        
-        for (int i = 0; i < rowsA; i++) {
-            for (int j = 0; j < colsA; j++) {
-                resultMatrix[i][j] = matrixA[i][j] + matrixB[i][j];
-                steps.append(String.format("c%d%d = %.0f + %.0f = %.0f\n",
-                    i + 1, j + 1, matrixA[i][j], matrixB[i][j], resultMatrix[i][j]));
-            }
-        }
+    /**
+     * Übernimmt das Ergebnis einer Berechnung, sofern sie noch aktuell ist
+     */
+    private void finishCalculation(LabCalculation job, LabCalculation.Result result, String error) {
+        if (job != calculation || job.isCancelled()) return;
+        calculation = null;
+        setCalculating(false);
         
-        displayResult();
-    }
-    
-    private void calculateSubtraction(StringBuilder steps) {
-        if (rowsA != rowsB || colsA != colsB) {
-            throw new IllegalArgumentException("Für Subtraktion müssen beide Matrizen die gleiche Größe haben!");
+        if (error != null) {
+            showError(error);
+            return;
         }
         
-        steps.append("=== SUBTRAKTION A - B ===\n\n");
-        steps.append("Regel: Subtrahiere die Elemente an gleichen Positionen.\n");
-        steps.append("c_ij = a_ij - b_ij\n\n");
-        
-        resultMatrix = new double[rowsA][colsA];
-        
-        for (int i = 0; i < rowsA; i++) {
-            for (int j = 0; j < colsA; j++) {
-                resultMatrix[i][j] = matrixA[i][j] - matrixB[i][j];
-                steps.append(String.format("c%d%d = %.0f - %.0f = %.0f\n",
-                    i + 1, j + 1, matrixA[i][j], matrixB[i][j], resultMatrix[i][j]));
-            }
+        resultMatrix = result.matrix;
+        if (result.label != null) {
+            displaySingleResult(result.value, result.label);
+        } else {
+            displayResult();
         }
         
-        displayResult();
+        // Zeige Berechnungsschritte
+        showSteps(result.steps, TEXT_COLOR);
     }
     
-    private void calculateScalarMultiplication(StringBuilder steps) {
-        double k;
-        try {
-            k = Double.parseDouble(scalarField.getText().trim().replace(",", "."));
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Bitte gib einen gültigen Skalar k ein!");
-        }
-        
-        steps.append(String.format("=== SKALAR-MULTIPLIKATION k · A (k = %.1f) ===\n\n", k));
-        steps.append("Regel: Multipliziere jedes Element mit dem Skalar.\n");
-        steps.append("c_ij = k · a_ij\n\n");
-        
-        resultMatrix = new double[rowsA][colsA];
-        
-        for (int i = 0; i < rowsA; i++) {
-            for (int j = 0; j < colsA; j++) {
-                resultMatrix[i][j] = k * matrixA[i][j];
-                steps.append(String.format("c%d%d = %.1f · %.0f = %.1f\n",
-                    i + 1, j + 1, k, matrixA[i][j], resultMatrix[i][j]));
-            }
-        }
-        
-        displayResult();
+    /**
+     * Bricht eine laufende Berechnung ab; ihr Ergebnis wird verworfen
+     */
+    private void cancelCalculation() {
+        if (calculation == null) return;
+        calculation.cancel();
+        calculation = null;
+        setCalculating(false);
     }
     
-    private void calculateMatrixMultiplication(StringBuilder steps) {
-        if (colsA != rowsB) {
-            throw new IllegalArgumentException(
-                String.format("Matrix-Multiplikation nicht möglich!\n" +
-                    "A ist %dx%d, B ist %dx%d.\n" +
-                    "Spalten von A (%d) müssen gleich Zeilen von B (%d) sein!",
-                    rowsA, colsA, rowsB, colsB, colsA, rowsB));
+    /**
+     * Schaltet zwischen Berechnen und Abbrechen um. Der Fortschritt erscheint
+     * erst bei längeren Berechnungen, damit kurze nicht flackern.
+     */
+    private void setCalculating(boolean calculating) {
+        calculateBtn.setEnabled(!calculating);
+        cancelBtn.setVisible(calculating);
+        if (progressTask != null) {
+            progressTask.cancel();
+            progressTask = null;
         }
         
-        steps.append("=== MATRIX-MULTIPLIKATION A · B ===\n\n");
-        steps.append("Regel: c_ij = Zeile i von A · Spalte j von B (Skalarprodukt)\n");
-        steps.append(String.format("Ergebnis wird %dx%d Matrix\n\n", rowsA, colsB));
-        
-        resultMatrix = new double[rowsA][colsB];
-        
-        for (int i = 0; i < rowsA; i++) {
-            for (int j = 0; j < colsB; j++) {
-                steps.append(String.format("c%d%d = ", i + 1, j + 1));
-                
-                double sum = 0;
-                StringBuilder products = new StringBuilder();
-                
-                for (int k = 0; k < colsA; k++) {
-                    sum += matrixA[i][k] * matrixB[k][j];
-                    if (k > 0) products.append(" + ");
-                    products.append(String.format("%.0f·%.0f", matrixA[i][k], matrixB[k][j]));
-                }
-                
-                resultMatrix[i][j] = sum;
-                steps.append(products.toString());
-                steps.append(String.format(" = %.0f\n", sum));
-            }
-            steps.append("\n");
+        if (!calculating) {
+            progressBar.setVisible(false);
+            return;
         }
         
-        displayResult();
-    }
-    
-    private void calculateTransposition(StringBuilder steps) {
-        steps.append("=== TRANSPOSITION Aᵀ ===\n\n");
-        steps.append("Regel: Zeilen und Spalten werden vertauscht.\n");
-        steps.append("a_ij wird zu a_ji\n\n");
-        steps.append(String.format("Original: %dx%d Matrix\n", rowsA, colsA));
-        steps.append(String.format("Transponiert: %dx%d Matrix\n\n", colsA, rowsA));
-        
-        resultMatrix = new double[colsA][rowsA];
-        
-        for (int i = 0; i < rowsA; i++) {
-            for (int j = 0; j < colsA; j++) {
-                resultMatrix[j][i] = matrixA[i][j];
-                steps.append(String.format("a%d%d = %.0f → Position (%d,%d)\n",
-                    i + 1, j + 1, matrixA[i][j], j + 1, i + 1));
+        LabCalculation job = calculation;
+        long start = System.nanoTime();
+        progressBar.setValue(0);
+        progressTask = FrameScheduler.every(this, FrameScheduler.FRAME_MILLIS, () -> {
+            if (!progressBar.isVisible()) {
+                if (System.nanoTime() - start <= PROGRESS_DELAY_NANOS) return;
+                // Ab jetzt wächst der Rechenweg sichtbar mit
+                progressBar.setVisible(true);
+                showSteps(job.steps(), TEXT_COLOR);
             }
-        }
-        
-        displayResult();
+            progressBar.setValue((int) (job.progress() * progressBar.getMaximum()));
+            calculationSteps.refresh();
+        });
     }
     
-    private void calculateDeterminant(StringBuilder steps) {
-        if (rowsA != colsA) {
-            throw new IllegalArgumentException("Die Determinante existiert nur für quadratische Matrizen!");
-        }
-        
-        steps.append("=== DETERMINANTE det(A) ===\n\n");
-        
-        double det;
-        
-        if (rowsA == 2) {
-            // 2x2 Determinante
-            det = matrixA[0][0] * matrixA[1][1] - matrixA[0][1] * matrixA[1][0];
-            
-            steps.append("Formel für 2×2: det = a·d - b·c\n\n");
-            steps.append(String.format("⎡ %.0f  %.0f ⎤\n", matrixA[0][0], matrixA[0][1]));
-            steps.append(String.format("⎣ %.0f  %.0f ⎦\n\n", matrixA[1][0], matrixA[1][1]));
-            steps.append(String.format("det = %.0f · %.0f - %.0f · %.0f\n",
-                matrixA[0][0], matrixA[1][1], matrixA[0][1], matrixA[1][0]));
-            steps.append(String.format("det = %.0f - %.0f\n",
-                matrixA[0][0] * matrixA[1][1], matrixA[0][1] * matrixA[1][0]));
-            
-        } else if (rowsA == 3) {
-            // 3x3 Determinante (Sarrus)
-            det = matrixA[0][0] * matrixA[1][1] * matrixA[2][2]
-                + matrixA[0][1] * matrixA[1][2] * matrixA[2][0]
-                + matrixA[0][2] * matrixA[1][0] * matrixA[2][1]
-                - matrixA[0][2] * matrixA[1][1] * matrixA[2][0]
-                - matrixA[0][0] * matrixA[1][2] * matrixA[2][1]
-                - matrixA[0][1] * matrixA[1][0] * matrixA[2][2];
-            
-            steps.append("Regel von Sarrus für 3×3:\n\n");
-            steps.append("+ Hauptdiagonalen (links→rechts→unten):\n");
-            steps.append(String.format("  %.0f·%.0f·%.0f = %.0f\n",
-                matrixA[0][0], matrixA[1][1], matrixA[2][2],
-                matrixA[0][0] * matrixA[1][1] * matrixA[2][2]));
-            steps.append(String.format("  %.0f·%.0f·%.0f = %.0f\n",
-                matrixA[0][1], matrixA[1][2], matrixA[2][0],
-                matrixA[0][1] * matrixA[1][2] * matrixA[2][0]));
-            steps.append(String.format("  %.0f·%.0f·%.0f = %.0f\n\n",
-                matrixA[0][2], matrixA[1][0], matrixA[2][1],
-                matrixA[0][2] * matrixA[1][0] * matrixA[2][1]));
-            
-            steps.append("- Nebendiagonalen (rechts→links→unten):\n");
-            steps.append(String.format("  %.0f·%.0f·%.0f = %.0f\n",
-                matrixA[0][2], matrixA[1][1], matrixA[2][0],
-                matrixA[0][2] * matrixA[1][1] * matrixA[2][0]));
-            steps.append(String.format("  %.0f·%.0f·%.0f = %.0f\n",
-                matrixA[0][0], matrixA[1][2], matrixA[2][1],
-                matrixA[0][0] * matrixA[1][2] * matrixA[2][1]));
-            steps.append(String.format("  %.0f·%.0f·%.0f = %.0f\n\n",
-                matrixA[0][1], matrixA[1][0], matrixA[2][2],
-                matrixA[0][1] * matrixA[1][0] * matrixA[2][2]));
-            
-        } else {
-            throw new IllegalArgumentException("Determinante nur für 2×2 und 3×3 Matrizen implementiert!");
-        }
-        
-        steps.append(String.format("\n══════════════════\ndet(A) = %.2f\n══════════════════", det));
-        
-        // Zeige Ergebnis als einzelne Zahl
-        resultMatrix = new double[][]{{det}};
-        displaySingleResult(det, "Determinante");
+    /**
+     * Zeigt einen Rechenweg von Anfang an
+     */
+    private void showSteps(StepTrace steps, Color color) {
+        calculationSteps.setTrace(steps, color);
     }
     
-    private void calculateInverse(StringBuilder steps) {
-        if (rowsA != colsA) {
-            throw new IllegalArgumentException("Die Inverse existiert nur für quadratische Matrizen!");
-        }
-        
-        if (rowsA != 2) {
-            throw new IllegalArgumentException("Inverse nur für 2×2 Matrizen implementiert!");
-        }
-        
-        double det = matrixA[0][0] * matrixA[1][1] - matrixA[0][1] * matrixA[1][0];
-        
-        if (Math.abs(det) < 0.0001) {
-            throw new IllegalArgumentException("Matrix ist singulär (det = 0)!\nKeine Inverse möglich.");
-        }
-        
-        steps.append("=== INVERSE A⁻¹ ===\n\n");
-        steps.append("Formel für 2×2:\n");
-        steps.append("A⁻¹ = (1/det) · ⎡  d  -b ⎤\n");
-        steps.append("                ⎣ -c   a ⎦\n\n");
-        
-        steps.append("Schritt 1: Determinante berechnen\n");
-        steps.append(String.format("det = %.0f·%.0f - %.0f·%.0f = %.2f\n\n",
-            matrixA[0][0], matrixA[1][1], matrixA[0][1], matrixA[1][0], det));
-        
-        steps.append("Schritt 2: Adjunkte bilden\n");
-        steps.append(String.format("⎡  %.0f  %.0f ⎤\n", matrixA[1][1], -matrixA[0][1]));
-        steps.append(String.format("⎣ %.0f   %.0f ⎦\n\n", -matrixA[1][0], matrixA[0][0]));
-        
-        steps.append(String.format("Schritt 3: Mit 1/det = %.4f multiplizieren\n\n", 1.0/det));
-        
-        resultMatrix = new double[2][2];
-        resultMatrix[0][0] = matrixA[1][1] / det;
-        resultMatrix[0][1] = -matrixA[0][1] / det;
-        resultMatrix[1][0] = -matrixA[1][0] / det;
-        resultMatrix[1][1] = matrixA[0][0] / det;
-        
-        steps.append("Ergebnis:\n");
-        steps.append(String.format("⎡ %.3f  %.3f ⎤\n", resultMatrix[0][0], resultMatrix[0][1]));
-        steps.append(String.format("⎣ %.3f  %.3f ⎦\n\n", resultMatrix[1][0], resultMatrix[1][1]));
-        
-        steps.append("Probe: A · A⁻¹ sollte I (Einheitsmatrix) ergeben!");
-        
-        displayResult();
+    /**
+     * Bricht beim Verwerfen des Labors die laufende Berechnung ab
+     */
+    @Override
+    public void dispose() {
+        cancelCalculation();
     }
     
     /**
@@ -758,33 +617,34 @@ public class MatrixLabPanel extends JPanel {
         resultPanel.removeAll();
         
         JLabel titleLabel = new JLabel("📊 Ergebnis");
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 16));
         titleLabel.setForeground(SUCCESS_COLOR);
         resultPanel.add(titleLabel, BorderLayout.NORTH);
         
-        JPanel gridPanel = new JPanel(new GridLayout(resultMatrix.length, resultMatrix[0].length, 3, 3));
-        gridPanel.setBackground(PANEL_COLOR);
-        gridPanel.setBorder(BorderFactory.createCompoundBorder(
-            new GamePanel.MatrixBracketBorder(SUCCESS_COLOR),
-            BorderFactory.createEmptyBorder(5, 15, 5, 15)
-        ));
-        
-        for (double[] row : resultMatrix) {
-            for (double val : row) {
-                JLabel cellLabel = new JLabel(formatValue(val), SwingConstants.CENTER);
-                cellLabel.setFont(new Font("Monospaced", Font.BOLD, 16));
-                cellLabel.setForeground(TEXT_COLOR);
-                cellLabel.setOpaque(true);
-                cellLabel.setBackground(MATRIX_CELL_COLOR);
-                cellLabel.setPreferredSize(new Dimension(55, 35));
-                cellLabel.setBorder(BorderFactory.createLineBorder(SUCCESS_COLOR.darker()));
-                gridPanel.add(cellLabel);
-            }
+        if (resultMatrix.length * resultMatrix[0].length > HEATMAP_CELLS) {
+            MatrixHeatmapView heatmap = new MatrixHeatmapView();
+            heatmap.setMatrix(resultMatrix);
+            resultPanel.add(heatmap, BorderLayout.CENTER);
+            
+            JLabel hintLabel = new JLabel("Mausrad: Zoom · Ziehen: Verschieben · Doppelklick: Einpassen");
+            hintLabel.setFont(Theme.sans(Font.ITALIC, 11));
+            hintLabel.setForeground(Theme.TEXT_MUTED);
+            resultPanel.add(hintLabel, BorderLayout.SOUTH);
+            
+            resultPanel.revalidate();
+            resultPanel.repaint();
+            return;
         }
         
+        // Dasselbe Raster wie bei der Eingabe, nur lesend
+        MatrixGridEditor resultGrid = new MatrixGridEditor(resultMatrix.length, resultMatrix[0].length);
+        resultGrid.setMatrix(resultMatrix);
+        resultGrid.setEditable(false);
+        resultGrid.setCellBorderColor(SUCCESS_COLOR.darker());
+        
         JPanel centerPanel = new JPanel(new GridBagLayout());
         centerPanel.setBackground(PANEL_COLOR);
-        centerPanel.add(gridPanel);
+        centerPanel.add(createMatrixScrollPane(resultGrid, SUCCESS_COLOR));
         
         resultPanel.add(centerPanel, BorderLayout.CENTER);
         
@@ -799,12 +659,12 @@ public class MatrixLabPanel extends JPanel {
         resultPanel.removeAll();
         
         JLabel titleLabel = new JLabel("📊 " + label);
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 16));
         titleLabel.setForeground(SUCCESS_COLOR);
         resultPanel.add(titleLabel, BorderLayout.NORTH);
         
         JLabel valueLabel = new JLabel(formatValue(value));
-        valueLabel.setFont(new Font("Monospaced", Font.BOLD, 36));
+        valueLabel.setFont(Theme.mono(Font.BOLD, 36));
         valueLabel.setForeground(HIGHLIGHT_COLOR);
         valueLabel.setHorizontalAlignment(SwingConstants.CENTER);
         
@@ -815,8 +675,7 @@ public class MatrixLabPanel extends JPanel {
     }
     
     private void showError(String message) {
-        calculationSteps.setForeground(ERROR_COLOR);
-        calculationSteps.setText("❌ FEHLER:\n\n" + message);
+        showSteps(StepTrace.of("❌ FEHLER:\n\n" + message), ERROR_COLOR);
         
         resultPanel.removeAll();
         JLabel errorLabel = new JLabel("<html><center><font color='#E06C75'>⚠️<br>" + 
@@ -0,0 +1,117 @@
+import java.util.Random;
+
+/**
+ * MatrixOps - Reine Matrix-Rechenoperationen ohne Bezug zur Oberfläche
+ *
+ * Wird von den Aufgabentypen und allen Panels gemeinsam verwendet,
+ * damit jede Operation genau einmal implementiert ist.
+ */
+public final class MatrixOps {
+
+    private MatrixOps() {
+    }
+
+    public static double[][] add(double[][] a, double[][] b) {
+        double[][] result = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                result[i][j] = a[i][j] + b[i][j];
+            }
+        }
+        return result;
+    }
+
+    public static double[][] subtract(double[][] a, double[][] b) {
+        double[][] result = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                result[i][j] = a[i][j] - b[i][j];
+            }
+        }
+        return result;
+    }
+
+    public static double[][] scale(double k, double[][] a) {
+        double[][] result = new double[a.length][a[0].length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                result[i][j] = k * a[i][j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A(m×n) · B(n×p) = C(m×p)
+     */
+    public static double[][] multiply(double[][] a, double[][] b) {
+        int m = a.length;
+        int n = a[0].length;
+        int p = b[0].length;
+        double[][] result = new double[m][p];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < p; j++) {
+                double sum = 0;
+                for (int k = 0; k < n; k++) {
+                    sum += a[i][k] * b[k][j];
+                }
+                result[i][j] = sum;
+            }
+        }
+        return result;
+    }
+
+    public static double[][] transpose(double[][] a) {
+        double[][] result = new double[a[0].length][a.length];
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                result[j][i] = a[i][j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Determinante für 2×2 (ad - bc) und 3×3 (Regel von Sarrus)
+     */
+    public static double determinant(double[][] a) {
+        if (a.length == 2) {
+            return a[0][0] * a[1][1] - a[0][1] * a[1][0];
+        }
+        if (a.length == 3) {
+            return a[0][0] * a[1][1] * a[2][2]
+                 + a[0][1] * a[1][2] * a[2][0]
+                 + a[0][2] * a[1][0] * a[2][1]
+                 - a[0][2] * a[1][1] * a[2][0]
+                 - a[0][0] * a[1][2] * a[2][1]
+                 - a[0][1] * a[1][0] * a[2][2];
+        }
+        throw new IllegalArgumentException("Determinante nur für 2×2 und 3×3 Matrizen implementiert!");
+    }
+
+    public static double[][] identity(int size) {
+        double[][] matrix = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            matrix[i][i] = 1;
+        }
+        return matrix;
+    }
+
+    public static double[][] randomMatrix(Random random, int rows, int cols, int min, int max) {
+        double[][] matrix = new double[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                matrix[i][j] = min + random.nextInt(max - min + 1);
+            }
+        }
+        return matrix;
+    }
+
+    public static double[][] copy(double[][] matrix) {
+        double[][] copy = new double[matrix.length][];
+        for (int i = 0; i < matrix.length; i++) {
+            copy[i] = matrix[i].clone();
+        }
+        return copy;
+    }
+}
@@ -12,15 +12,17 @@ import java.awt.event.*;
 public class ModuleSelectionPanel extends JPanel {
     
     // Farben
-    private static final Color BACKGROUND_COLOR = new Color(25, 25, 35);
-    private static final Color PANEL_COLOR = new Color(40, 44, 52);
-    private static final Color ACCENT_COLOR = new Color(97, 175, 239);
-    private static final Color SUCCESS_COLOR = new Color(152, 195, 121);
-    private static final Color TEXT_COLOR = new Color(220, 223, 228);
-    private static final Color HIGHLIGHT_COLOR = new Color(229, 192, 123);
+    private static final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    private static final Color PANEL_COLOR = Theme.PANEL;
+    private static final Color ACCENT_COLOR = Theme.ACCENT;
+    private static final Color SUCCESS_COLOR = Theme.SUCCESS;
+    private static final Color TEXT_COLOR = Theme.TEXT;
+    private static final Color HIGHLIGHT_COLOR = Theme.HIGHLIGHT;
+    private static final Color ACCENT_DARK = ACCENT_COLOR.darker();
     
     private MatrixGame game;
     private String[] modules;
+    private JLabel scoreLabel;
     
     // Modul-Beschreibungen
     private final String[] MODULE_DESCRIPTIONS = {
@@ -96,13 +98,13 @@ public class ModuleSelectionPanel extends JPanel {
         
         // Titel
         JLabel titleLabel = new JLabel("🎯 Wähle ein Modul");
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 24));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 24));
         titleLabel.setForeground(TEXT_COLOR);
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
         
         // Punktestand
-        JLabel scoreLabel = new JLabel("Punkte: " + game.getScore());
-        scoreLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
+        scoreLabel = new JLabel("Punkte: " + game.getScore());
+        scoreLabel.setFont(Theme.sans(Font.BOLD, 16));
         scoreLabel.setForeground(HIGHLIGHT_COLOR);
         
         panel.add(backBtn, BorderLayout.WEST);
@@ -112,6 +114,13 @@ public class ModuleSelectionPanel extends JPanel {
         return panel;
     }
     
+    /**
+     * Aktualisiert den Punktestand, wenn die Übersicht erneut angezeigt wird
+     */
+    public void updateScore() {
+        scoreLabel.setText("Punkte: " + game.getScore());
+    }
+    
     /**
      * Erstellt eine Modul-Karte mit Hover-Effekt und Info
      */
@@ -148,15 +157,15 @@ public class ModuleSelectionPanel extends JPanel {
                 
                 // Hintergrund mit Hover-Effekt
                 if (hovered) {
-                    g2d.setColor(ACCENT_COLOR.darker());
+                    g2d.setColor(ACCENT_DARK);
                 } else {
                     g2d.setColor(PANEL_COLOR);
                 }
                 g2d.fillRoundRect(0, 0, getWidth(), getHeight(), 15, 15);
                 
                 // Rahmen
-                g2d.setColor(hovered ? ACCENT_COLOR : new Color(60, 65, 77));
-                g2d.setStroke(new BasicStroke(2));
+                g2d.setColor(hovered ? ACCENT_COLOR : Theme.BORDER);
+                g2d.setStroke(Theme.stroke(2));
                 g2d.drawRoundRect(1, 1, getWidth() - 2, getHeight() - 2, 15, 15);
             }
         };
@@ -168,19 +177,18 @@ public class ModuleSelectionPanel extends JPanel {
         
         // Modul-Nummer
         JLabel numberLabel = new JLabel("Modul " + (index + 1));
-        numberLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
-        numberLabel.setForeground(new Color(TEXT_COLOR.getRed(), TEXT_COLOR.getGreen(), 
-                                            TEXT_COLOR.getBlue(), 150));
+        numberLabel.setFont(Theme.sans(Font.PLAIN, 12));
+        numberLabel.setForeground(Theme.TEXT_MUTED);
         numberLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
         // Icon
         JLabel iconLabel = new JLabel(MODULE_ICONS[index]);
-        iconLabel.setFont(new Font("SansSerif", Font.PLAIN, 36));
+        iconLabel.setFont(Theme.sans(Font.PLAIN, 36));
         iconLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
         // Titel
         JLabel titleLabel = new JLabel("<html><center>" + modules[index] + "</center></html>");
-        titleLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
+        titleLabel.setFont(Theme.sans(Font.BOLD, 14));
         titleLabel.setForeground(TEXT_COLOR);
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
@@ -213,8 +221,8 @@ public class ModuleSelectionPanel extends JPanel {
         
         for (int i = 1; i <= 5; i++) {
             JLabel star = new JLabel(i <= level ? "★" : "☆");
-            star.setFont(new Font("SansSerif", Font.PLAIN, 12));
-            star.setForeground(i <= level ? HIGHLIGHT_COLOR : new Color(100, 100, 100));
+            star.setFont(Theme.sans(Font.PLAIN, 12));
+            star.setForeground(i <= level ? HIGHLIGHT_COLOR : Theme.INACTIVE);
             panel.add(star);
         }
         
@@ -227,9 +235,8 @@ public class ModuleSelectionPanel extends JPanel {
         panel.setBorder(BorderFactory.createEmptyBorder(10, 0, 20, 0));
         
         JLabel infoLabel = new JLabel("💡 Tipp: Fahre mit der Maus über ein Modul für mehr Infos");
-        infoLabel.setForeground(new Color(TEXT_COLOR.getRed(), TEXT_COLOR.getGreen(), 
-                                          TEXT_COLOR.getBlue(), 150));
-        infoLabel.setFont(new Font("SansSerif", Font.ITALIC, 14));
+        infoLabel.setForeground(Theme.TEXT_MUTED);
+        infoLabel.setFont(Theme.sans(Font.ITALIC, 14));
         
         panel.add(infoLabel);
         
@@ -0,0 +1,138 @@
+import java.awt.*;
+import java.text.DecimalFormatSymbols;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * NumberText - Zellwerte ohne Strings zeichnen
+ *
+ * Zahlen werden Ziffer für Ziffer in einen wiederverwendeten char-Puffer
+ * geschrieben und mit drawChars gezeichnet; die Breite ergibt sich aus den
+ * vorab gemessenen Zeichenbreiten. Pro Zelle entstehen so weder Strings
+ * noch String.format-Aufrufe. Die fertig gerasterten Ziffern hält Java2D
+ * ohnehin in seinem Glyphen-Cache (bei Grafikbeschleunigung als Textur).
+ *
+ * Zahlenformat wie in den Panels: ganze Zahlen ohne Nachkommastellen,
+ * sonst mit fester Anzahl Nachkommastellen und dem Dezimaltrennzeichen der
+ * eingestellten Sprache. NaN erscheint als "?". Werte ab 10^15 werden wie
+ * bisher über {@link WorkedSolutions#formatValue} formatiert.
+ *
+ * Nicht threadsicher: {@link #forFont} ist für den Event-Thread gedacht,
+ * andere Threads legen eigene Instanzen an.
+ */
+public final class NumberText {
+
+    private static final char DECIMAL_SEPARATOR = DecimalFormatSymbols.getInstance().getDecimalSeparator();
+
+    // Größter Betrag, der noch über long formatiert wird
+    private static final double MAX_VALUE = 1e15;
+
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000, 100000};
+
+    private static final Map<Font, NumberText> SHARED = new ConcurrentHashMap<>();
+
+    private final Font font;
+    private final FontMetrics metrics;
+
+    // Breiten von '0'..'9', '-', Trennzeichen und '?'
+    private final int[] digitWidths = new int[10];
+    private final int minusWidth;
+    private final int separatorWidth;
+    private final int questionWidth;
+
+    private final char[] buffer = new char[32];
+
+    public NumberText(Font font) {
+        this.font = font;
+        this.metrics = Theme.metrics(font);
+        for (int d = 0; d < 10; d++) {
+            digitWidths[d] = metrics.charWidth((char) ('0' + d));
+        }
+        this.minusWidth = metrics.charWidth('-');
+        this.separatorWidth = metrics.charWidth(DECIMAL_SEPARATOR);
+        this.questionWidth = metrics.charWidth('?');
+    }
+
+    /**
+     * Gemeinsame Instanz für den Event-Thread
+     */
+    public static NumberText forFont(Font font) {
+        return SHARED.computeIfAbsent(font, NumberText::new);
+    }
+
+    /**
+     * Breite des Werts in Bildpunkten
+     */
+    public int width(double value, int decimals) {
+        if (Double.isNaN(value)) return questionWidth;
+        if (!(Math.abs(value) < MAX_VALUE)) return metrics.stringWidth(WorkedSolutions.formatValue(value));
+
+        int length = format(value, decimals);
+        int width = 0;
+        for (int k = 0; k < length; k++) {
+            char c = buffer[k];
+            width += c >= '0' && c <= '9' ? digitWidths[c - '0'] : c == '-' ? minusWidth : separatorWidth;
+        }
+        return width;
+    }
+
+    /**
+     * Zeichnet den Wert ab x (links) auf der Grundlinie y in Schrift und
+     * Farbe, die der Aufrufer gesetzt hat
+     */
+    public void draw(Graphics2D g2d, double value, int decimals, int x, int y) {
+        if (Double.isNaN(value)) {
+            buffer[0] = '?';
+            g2d.drawChars(buffer, 0, 1, x, y);
+        } else if (!(Math.abs(value) < MAX_VALUE)) {
+            g2d.drawString(WorkedSolutions.formatValue(value), x, y);
+        } else {
+            g2d.drawChars(buffer, 0, format(value, decimals), x, y);
+        }
+    }
+
+    /**
+     * Derselbe Text als String, z.B. für Ausgaben ohne Graphics2D (SVG)
+     */
+    public String toText(double value, int decimals) {
+        if (Double.isNaN(value)) return "?";
+        if (!(Math.abs(value) < MAX_VALUE)) return WorkedSolutions.formatValue(value);
+        return new String(buffer, 0, format(value, decimals));
+    }
+
+    public Font getFont() {
+        return font;
+    }
+
+    /**
+     * Schreibt den Wert in den Puffer und liefert die Anzahl der Zeichen
+     */
+    private int format(double value, int decimals) {
+        decimals = Math.min(decimals, POWERS_OF_TEN.length - 1);
+        if (value == Math.rint(value)) decimals = 0;
+        long unit = POWERS_OF_TEN[decimals];
+        long scaled = Math.round(Math.abs(value) * unit);
+        long integerPart = scaled / unit;
+        long fraction = scaled % unit;
+
+        int length = 0;
+        // Kein "-0" für Werte, die auf 0 gerundet werden
+        if (value < 0 && scaled != 0) {
+            buffer[length++] = '-';
+        }
+
+        long divisor = 1;
+        while (divisor <= integerPart / 10) divisor *= 10;
+        for (; divisor > 0; divisor /= 10) {
+            buffer[length++] = (char) ('0' + integerPart / divisor % 10);
+        }
+
+        if (decimals > 0) {
+            buffer[length++] = DECIMAL_SEPARATOR;
+            for (long d = unit / 10; d > 0; d /= 10) {
+                buffer[length++] = (char) ('0' + fraction / d % 10);
+            }
+        }
+        return length;
+    }
+}
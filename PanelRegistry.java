@@ -0,0 +1,135 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * PanelRegistry - Verwaltet die Karten des Hauptfensters
+ *
+ * Früher wurde bei jedem Wechsel (Tutorial, Module, Herausforderung, Labor,
+ * Lernmodul) ein neues Panel in das CardLayout gelegt und nie wieder
+ * entfernt. Über einen Schultag wuchsen so Speicher und Komponentenzahl
+ * ohne Grenze, und Timer alter Panels liefen im Hintergrund weiter.
+ *
+ * Die Registry hält pro Schlüssel höchstens ein Panel:
+ * - wiederverwendbare Panels ohne eigenen Zustand (z.B. Modulauswahl)
+ *   werden beim nächsten Aufruf wieder angezeigt
+ * - Panels mit Zustand (Spiel, Herausforderung, ...) werden bei jedem Aufruf
+ *   neu erstellt, das alte Panel wird verworfen
+ * - über der Obergrenze fliegt das am längsten nicht angezeigte Panel raus
+ *
+ * Beim Verwerfen werden die Aufgaben im {@link FrameScheduler} abgemeldet und
+ * Panels, die {@link Disposable} implementieren, räumen ihre Listener auf.
+ * Fest angeheftete Panels (Startbildschirm) zählen nicht zur Obergrenze.
+ *
+ * Nur auf dem Event-Thread verwenden.
+ */
+public class PanelRegistry {
+
+    // Höchstens so viele Panels bleiben neben den angehefteten erhalten
+    public static final int DEFAULT_CAPACITY = 4;
+
+    /**
+     * Panels mit Listenern oder Hintergrundarbeit, die beim Verwerfen
+     * aufgeräumt werden muss
+     */
+    public interface Disposable {
+        void dispose();
+    }
+
+    private static final class Entry {
+        final JComponent panel;
+        final boolean reusable;
+
+        Entry(JComponent panel, boolean reusable) {
+            this.panel = panel;
+            this.reusable = reusable;
+        }
+    }
+
+    private final JPanel cards;
+    private final CardLayout layout;
+    private final int capacity;
+
+    // Zugriffsreihenfolge: das älteste Panel steht vorne
+    private final LinkedHashMap<String, Entry> panels = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, JComponent> pinned = new LinkedHashMap<>();
+    private String current;
+
+    public PanelRegistry(JPanel cards, CardLayout layout, int capacity) {
+        this.cards = cards;
+        this.layout = layout;
+        this.capacity = Math.max(1, capacity);
+    }
+
+    /**
+     * Legt ein Panel fest ab; es wird nie verworfen
+     */
+    public void pin(String key, JComponent panel) {
+        pinned.put(key, panel);
+        cards.add(panel, key);
+    }
+
+    /**
+     * Zeigt ein angeheftetes oder noch vorhandenes Panel
+     */
+    public void show(String key) {
+        if (!pinned.containsKey(key) && panels.get(key) == null) {
+            throw new IllegalArgumentException("Kein Panel für " + key);
+        }
+        current = key;
+        layout.show(cards, key);
+    }
+
+    /**
+     * Zeigt das Panel zum Schlüssel. Ein wiederverwendbares Panel wird nur beim
+     * ersten Mal mit factory erstellt, sonst ersetzt jedes Mal ein neues Panel
+     * das alte.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends JComponent> T show(String key, Supplier<T> factory, boolean reusable) {
+        Entry entry = panels.get(key);
+        if (entry != null && !entry.reusable) {
+            discard(panels.remove(key));
+            entry = null;
+        }
+        if (entry == null) {
+            entry = new Entry(factory.get(), reusable);
+            panels.put(key, entry);
+            cards.add(entry.panel, key);
+        }
+
+        current = key;
+        layout.show(cards, key);
+        evict();
+        return (T) entry.panel;
+    }
+
+    /**
+     * Anzahl der gehaltenen, nicht angehefteten Panels
+     */
+    public int size() {
+        return panels.size();
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> it = panels.entrySet().iterator();
+        while (panels.size() > capacity && it.hasNext()) {
+            Map.Entry<String, Entry> oldest = it.next();
+            // Das sichtbare Panel bleibt, auch wenn die Grenze sehr klein ist
+            if (oldest.getKey().equals(current)) continue;
+            it.remove();
+            discard(oldest.getValue());
+        }
+    }
+
+    private void discard(Entry entry) {
+        FrameScheduler.cancelAll(entry.panel);
+        if (entry.panel instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+        cards.remove(entry.panel);
+    }
+}
@@ -0,0 +1,514 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * ProgressStore - Dauerhafter Spielstand aller Spieler eines Rechners
+ *
+ * Punkte, Streak und zuletzt gespieltes Modul werden pro Spielername in zwei
+ * Dateien eines Verzeichnisses gehalten:
+ *
+ * - progress.journal: jede Änderung als eigenes Ereignis angehängt, mit
+ *   Laufnummer und CRC32-Prüfsumme
+ * - progress.snapshot: kompakter Stand aller Spieler bis zu einer Laufnummer
+ *
+ * Beim Öffnen wird der Snapshot gelesen und nur das Journal dahinter
+ * nachgespielt. Ein beim Absturz halb geschriebenes Ereignis am Ende des
+ * Journals fällt an der Prüfsumme auf und wird abgeschnitten; alles davor
+ * bleibt erhalten.
+ *
+ * Geschrieben wird nie auf dem Event-Thread. Änderungen landen in einer
+ * Warteschlange, ein Hintergrund-Thread schreibt alle bis dahin angefallenen
+ * Ereignisse gesammelt und erzwingt sie mit einem einzigen force auf die
+ * Platte (Group Commit). Wird das Journal größer als {@link #COMPACT_BYTES},
+ * schreibt derselbe Thread einen neuen Snapshot und leert das Journal.
+ *
+ * Dateiformate (Big Endian):
+ * - Snapshot: Magic, Version, Laufnummer, Anzahl Spieler, CRC32 über
+ *   Laufnummer, Anzahl und Daten, dann pro Spieler Name (Länge + UTF-8), Punkte, Streak, Modul
+ * - Journal-Ereignis: Länge, CRC32, Laufnummer, Art, Name, Wert
+ *
+ * Das Journal wird exklusiv gesperrt; ein zweites Spiel auf demselben
+ * Verzeichnis läuft ohne Speichern weiter.
+ */
+public class ProgressStore {
+
+    // Ab dieser Journalgröße wird ein neuer Snapshot geschrieben
+    public static final long COMPACT_BYTES = 1 << 20;
+
+    private static final int SNAPSHOT_MAGIC = 0x4D585053; // "MXPS"
+    private static final int VERSION = 1;
+    private static final int SNAPSHOT_HEADER = 24;
+
+    // Länge und CRC vor jedem Ereignis; Laufnummer, Art, Namenslänge und Wert darin
+    private static final int EVENT_HEADER = 8;
+    private static final int EVENT_FIXED = 8 + 1 + 2 + 4;
+    static final int MAX_NAME_BYTES = 256;
+
+    // Arten von Ereignissen
+    private static final byte ADD_SCORE = 1;
+    private static final byte RESET_STREAK = 2;
+    private static final byte SET_LEVEL = 3;
+
+    // Felder des Spielstands im int-Array
+    private static final int SCORE = 0;
+    private static final int STREAK = 1;
+    private static final int LEVEL = 2;
+
+    private static final String JOURNAL_FILE = "progress.journal";
+    private static final String SNAPSHOT_FILE = "progress.snapshot";
+    private static final String DEFAULT_DIR = "progress";
+    private static ProgressStore defaultStore;
+    private static boolean defaultLoaded = false;
+
+    /**
+     * Spielstand eines Spielers zum Zeitpunkt der Abfrage
+     */
+    public static final class Profile {
+        public final int score;
+        public final int streak;
+        public final int level;
+
+        Profile(int score, int streak, int level) {
+            this.score = score;
+            this.streak = streak;
+            this.level = level;
+        }
+    }
+
+    private final Path snapshotFile;
+    private final FileChannel journal;
+    private final FileLock journalLock;
+    private final Thread writer;
+
+    // Alles Folgende ist durch lock geschützt
+    private final Object lock = new Object();
+    private final Map<String, int[]> profiles;
+    private final List<ByteBuffer> pending = new ArrayList<>();
+    private long nextSeq;
+    private long durableSeq;
+    private boolean closing;
+    private boolean writerDone;
+
+    // Nur für den schreibenden Thread
+    private long journalBytes;
+
+    private ProgressStore(Path dir, FileChannel journal, FileLock journalLock) throws IOException {
+        this.snapshotFile = dir.resolve(SNAPSHOT_FILE);
+        this.journal = journal;
+        this.journalLock = journalLock;
+
+        long seq = 0;
+        Map<String, int[]> loaded = new HashMap<>();
+        if (Files.isRegularFile(snapshotFile)) {
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+            seq = readSnapshot(data, loaded);
+        }
+        profiles = loaded;
+        nextSeq = replayJournal(seq) + 1;
+        durableSeq = nextSeq - 1;
+
+        writer = new Thread(this::writeLoop, "progress-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Öffnet (oder erstellt) den Spielstand im angegebenen Verzeichnis
+     *
+     * @throws IOException wenn die Dateien nicht lesbar sind oder ein anderes
+     *                     Spiel das Journal gesperrt hat
+     */
+    public static ProgressStore open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        FileChannel journal = FileChannel.open(dir.resolve(JOURNAL_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            FileLock journalLock;
+            try {
+                journalLock = journal.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // Schon in dieser JVM geöffnet
+                journalLock = null;
+            }
+            if (journalLock == null) {
+                throw new IOException("Spielstand wird bereits von einem anderen Spiel verwendet: " + dir);
+            }
+            return new ProgressStore(dir, journal, journalLock);
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Liefert den Standard-Spielstand (Systemproperty "matrixgame.progress" oder
+     * das Verzeichnis progress im Arbeitsverzeichnis). Gibt null zurück, wenn er
+     * nicht geöffnet werden kann - das Spiel zählt dann wie bisher nur im
+     * Speicher. Beim Beenden der JVM wird er geschlossen.
+     */
+    public static synchronized ProgressStore getDefault() {
+        if (!defaultLoaded) {
+            defaultLoaded = true;
+            Path dir = Paths.get(System.getProperty("matrixgame.progress", DEFAULT_DIR));
+            try {
+                ProgressStore store = open(dir);
+                Runtime.getRuntime().addShutdownHook(new Thread(store::close, "progress-close"));
+                defaultStore = store;
+            } catch (IOException | RuntimeException e) {
+                // Auch unerwartete Fehler dürfen den Start nicht verhindern
+                System.err.println("Spielstand konnte nicht geladen werden: " + e);
+            }
+        }
+        return defaultStore;
+    }
+
+    // ==================== SPIELSTAND ====================
+
+    /**
+     * Stand eines Spielers; unbekannte Spieler beginnen bei 0
+     */
+    public Profile get(String player) {
+        synchronized (lock) {
+            int[] values = profiles.get(player);
+            return values == null ? new Profile(0, 0, 0) : new Profile(values[SCORE], values[STREAK], values[LEVEL]);
+        }
+    }
+
+    /**
+     * Anzahl gespeicherter Spieler
+     */
+    public int size() {
+        synchronized (lock) {
+            return profiles.size();
+        }
+    }
+
+    /**
+     * Ob der Name gespeichert werden kann (höchstens {@link #MAX_NAME_BYTES}
+     * Bytes in UTF-8); andere Namen lehnen die Änderungsmethoden ab
+     */
+    public static boolean isValidPlayerName(String player) {
+        return player.getBytes(StandardCharsets.UTF_8).length <= MAX_NAME_BYTES;
+    }
+
+    /**
+     * Punkte gutschreiben; wie im Spiel erhöht das auch den Streak
+     */
+    public void addScore(String player, int points) {
+        record(ADD_SCORE, player, points);
+    }
+
+    public void resetStreak(String player) {
+        record(RESET_STREAK, player, 0);
+    }
+
+    public void setLevel(String player, int level) {
+        record(SET_LEVEL, player, level);
+    }
+
+    /**
+     * Wendet die Änderung sofort an und reiht das Ereignis zum Schreiben ein;
+     * kehrt ohne Plattenzugriff zurück
+     */
+    private void record(byte kind, String player, int value) {
+        byte[] name = player.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Spielername ist zu lang: " + player);
+        }
+        synchronized (lock) {
+            if (closing) return;
+            long seq = nextSeq++;
+            apply(profiles, kind, player, value);
+            pending.add(encodeEvent(seq, kind, name, value));
+            lock.notifyAll();
+        }
+    }
+
+    private static void apply(Map<String, int[]> profiles, byte kind, String player, int value) {
+        int[] values = profiles.computeIfAbsent(player, key -> new int[3]);
+        switch (kind) {
+            case ADD_SCORE -> {
+                values[SCORE] += value;
+                values[STREAK]++;
+            }
+            case RESET_STREAK -> values[STREAK] = 0;
+            case SET_LEVEL -> values[LEVEL] = value;
+            default -> { }
+        }
+    }
+
+    /**
+     * Wartet, bis alle bisher gemeldeten Änderungen auf der Platte sind
+     */
+    public void flush() {
+        synchronized (lock) {
+            long target = nextSeq - 1;
+            while (durableSeq < target && !writerDone) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Schreibt alles Ausstehende, legt bei Bedarf einen Snapshot an und gibt
+     * die Dateien frei. Spätere Änderungen werden ignoriert.
+     */
+    public void close() {
+        synchronized (lock) {
+            closing = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== SCHREIBEN ====================
+
+    private static ByteBuffer encodeEvent(long seq, byte kind, byte[] name, int value) {
+        int length = EVENT_FIXED + name.length;
+        ByteBuffer event = ByteBuffer.allocate(EVENT_HEADER + length);
+        event.position(EVENT_HEADER);
+        event.putLong(seq).put(kind).putShort((short) name.length).put(name).putInt(value);
+
+        CRC32 crc = new CRC32();
+        crc.update(event.array(), EVENT_HEADER, length);
+        event.putInt(0, length).putInt(4, (int) crc.getValue());
+        event.flip();
+        return event;
+    }
+
+    /**
+     * Schreibt gesammelte Ereignisse mit einem force pro Durchgang, bis
+     * {@link #close} aufgerufen wurde
+     */
+    private void writeLoop() {
+        try {
+            while (true) {
+                ByteBuffer[] batch;
+                long batchSeq;
+                boolean stop;
+                synchronized (lock) {
+                    while (pending.isEmpty() && !closing) {
+                        lock.wait();
+                    }
+                    batch = pending.toArray(new ByteBuffer[0]);
+                    pending.clear();
+                    batchSeq = nextSeq - 1;
+                    stop = closing;
+                }
+
+                if (batch.length > 0) {
+                    long remaining = 0;
+                    for (ByteBuffer event : batch) {
+                        remaining += event.remaining();
+                    }
+                    journalBytes += remaining;
+                    while (remaining > 0) {
+                        remaining -= journal.write(batch);
+                    }
+                    journal.force(false);
+                }
+                synchronized (lock) {
+                    durableSeq = batchSeq;
+                    lock.notifyAll();
+                }
+
+                if (journalBytes >= COMPACT_BYTES || (stop && journalBytes > 0)) {
+                    compact();
+                }
+                if (stop) break;
+            }
+        } catch (IOException e) {
+            System.err.println("Spielstand konnte nicht gespeichert werden: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            synchronized (lock) {
+                closing = true;
+                writerDone = true;
+                lock.notifyAll();
+            }
+            try {
+                journalLock.release();
+                journal.close();
+            } catch (IOException e) {
+                // Beim Beenden nicht mehr zu retten
+            }
+        }
+    }
+
+    /**
+     * Schreibt den aktuellen Stand als Snapshot und leert danach das Journal.
+     * Ereignisse, die erst danach ins Journal kommen, aber schon im Snapshot
+     * stecken, werden beim Nachspielen an ihrer Laufnummer erkannt.
+     */
+    private void compact() throws IOException {
+        String[] names;
+        int[] values;
+        long seq;
+        synchronized (lock) {
+            // Unter der Sperre nur kopieren, kodiert wird danach
+            seq = nextSeq - 1;
+            names = new String[profiles.size()];
+            values = new int[names.length * 3];
+            int n = 0;
+            for (Map.Entry<String, int[]> entry : profiles.entrySet()) {
+                names[n] = entry.getKey();
+                System.arraycopy(entry.getValue(), 0, values, n * 3, 3);
+                n++;
+            }
+        }
+
+        byte[][] encoded = new byte[names.length][];
+        int size = SNAPSHOT_HEADER;
+        for (int n = 0; n < names.length; n++) {
+            encoded[n] = names[n].getBytes(StandardCharsets.UTF_8);
+            size += 2 + encoded[n].length + 12;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.position(SNAPSHOT_HEADER);
+        for (int n = 0; n < names.length; n++) {
+            buffer.putShort((short) encoded[n].length).put(encoded[n]);
+            buffer.putInt(values[n * 3]).putInt(values[n * 3 + 1]).putInt(values[n * 3 + 2]);
+        }
+        buffer.putInt(0, SNAPSHOT_MAGIC).putInt(4, VERSION).putLong(8, seq).putInt(16, names.length);
+        buffer.putInt(20, snapshotCrc(buffer.array(), size));
+        buffer.rewind();
+
+        Path tmp = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Erst wenn der Snapshot sicher liegt, darf das Journal weg
+        journal.truncate(0);
+        journal.force(true);
+        journalBytes = 0;
+    }
+
+    // ==================== LADEN ====================
+
+    /**
+     * Liest einen Snapshot in profiles
+     *
+     * @return Laufnummer des letzten enthaltenen Ereignisses
+     */
+    private static long readSnapshot(ByteBuffer data, Map<String, int[]> profiles) throws IOException {
+        if (data.capacity() < SNAPSHOT_HEADER || data.getInt(0) != SNAPSHOT_MAGIC || data.getInt(4) != VERSION) {
+            throw new IOException("Kein gültiger Spielstand-Snapshot (falsches Format oder Version)");
+        }
+        long seq = data.getLong(8);
+        int count = data.getInt(16);
+        // Jeder Spieler braucht mindestens Namenslänge und drei Werte
+        if (snapshotCrc(data.array(), data.capacity()) != data.getInt(20)
+                || count < 0 || count > (data.capacity() - SNAPSHOT_HEADER) / 14) {
+            throw new IOException("Beschädigter Spielstand-Snapshot");
+        }
+
+        data.position(SNAPSHOT_HEADER);
+        for (int n = 0; n < count; n++) {
+            if (data.remaining() < 14) {
+                throw new IOException("Beschädigter Spielstand-Snapshot");
+            }
+            String name = readName(data);
+            if (data.remaining() < 12) {
+                throw new IOException("Beschädigter Spielstand-Snapshot");
+            }
+            profiles.put(name, new int[] {data.getInt(), data.getInt(), data.getInt()});
+        }
+        return seq;
+    }
+
+    /**
+     * CRC32 über Laufnummer und Anzahl im Kopf sowie alle Spielerdaten
+     */
+    private static int snapshotCrc(byte[] snapshot, int size) {
+        CRC32 crc = new CRC32();
+        crc.update(snapshot, 8, 12);
+        crc.update(snapshot, SNAPSHOT_HEADER, size - SNAPSHOT_HEADER);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Spielt das Journal ab der Laufnummer nach dem Snapshot nach. Ab dem
+     * ersten unvollständigen oder beschädigten Ereignis wird es abgeschnitten.
+     *
+     * @return höchste bekannte Laufnummer
+     */
+    private long replayJournal(long snapshotSeq) throws IOException {
+        long size = journal.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Spielstand-Journal ist zu groß");
+        }
+        ByteBuffer data = ByteBuffer.allocate((int) size);
+        while (data.hasRemaining() && journal.read(data, data.position()) >= 0) {
+            // weiterlesen, bis alles da ist
+        }
+        data.flip();
+
+        long seq = snapshotSeq;
+        CRC32 crc = new CRC32();
+        int valid = 0;
+        while (data.remaining() >= EVENT_HEADER) {
+            int length = data.getInt(valid);
+            if (length < EVENT_FIXED || length > EVENT_FIXED + MAX_NAME_BYTES
+                    || data.remaining() < EVENT_HEADER + length) {
+                break;
+            }
+            crc.reset();
+            crc.update(data.array(), valid + EVENT_HEADER, length);
+            if ((int) crc.getValue() != data.getInt(valid + 4)) break;
+
+            data.position(valid + EVENT_HEADER);
+            long eventSeq = data.getLong();
+            byte kind = data.get();
+            String name = readName(data);
+            int value = data.getInt();
+            // Schon im Snapshot enthalten (Absturz zwischen Snapshot und Leeren)
+            if (eventSeq > snapshotSeq) {
+                apply(profiles, kind, name, value);
+                seq = Math.max(seq, eventSeq);
+            }
+            valid = data.position();
+        }
+
+        if (valid < size) {
+            System.err.println("Spielstand-Journal ab Byte " + valid + " unvollständig, Rest verworfen");
+            journal.truncate(valid);
+            journal.force(true);
+        }
+        journal.position(valid);
+        journalBytes = valid;
+        return seq;
+    }
+
+    private static String readName(ByteBuffer data) throws IOException {
+        int length = data.getShort() & 0xFFFF;
+        if (length > MAX_NAME_BYTES || data.remaining() < length) {
+            throw new IOException("Beschädigter Spielername im Spielstand");
+        }
+        String name = new String(data.array(), data.position(), length, StandardCharsets.UTF_8);
+        data.position(data.position() + length);
+        return name;
+    }
+}
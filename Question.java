@@ -0,0 +1,72 @@
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Question - Eine fertig generierte Aufgabe als reine Daten
+ *
+ * Enthält Operanden, erwartetes Ergebnis und Punkte, aber keine
+ * Swing-Komponenten. Die Panels entscheiden selbst, wie sie die
+ * Aufgabe darstellen:
+ * - matrixB gesetzt: zweistellige Operation "A op B"
+ * - scalar ungleich 0: "k × A"
+ * - sonst: nur Matrix A
+ * Ist answerLabel gesetzt, wird ein einzelner Wert abgefragt,
+ * sonst eine Matrix mit den Dimensionen von expected.
+ */
+public class Question {
+    final String typeId;
+    final String prompt;
+    final double[][] matrixA;
+    final String operator;
+    final double[][] matrixB;
+    final double scalar;
+    final double[][] expected;
+    final String answerLabel;
+    final String formula;
+    final int basePoints;
+
+    // Zwischenergebnisse der richtigen Lösung (typabhängig, z.B. Diagonalprodukte), kann null sein
+    final double[] terms;
+
+    // Vergleich der Antwort mit expected (exakt ganzzahlig, Bruch, relativ, ...)
+    final AnswerComparator comparator;
+
+    // Im Hintergrund vorbereitete Texte (siehe WorkedSolutions), null falls nicht angefordert
+    CompletableFuture<String> solution;
+    CompletableFuture<String> hint;
+
+    Question(String typeId, String prompt, double[][] matrixA, String operator, double[][] matrixB,
+             double scalar, double[][] expected, String answerLabel, String formula, int basePoints) {
+        this(typeId, prompt, matrixA, operator, matrixB, scalar, expected, answerLabel, formula, basePoints, null);
+    }
+
+    Question(String typeId, String prompt, double[][] matrixA, String operator, double[][] matrixB,
+             double scalar, double[][] expected, String answerLabel, String formula, int basePoints,
+             double[] terms) {
+        this(typeId, prompt, matrixA, operator, matrixB, scalar, expected, answerLabel, formula, basePoints,
+             terms, AnswerComparator.forExpected(expected));
+    }
+
+    Question(String typeId, String prompt, double[][] matrixA, String operator, double[][] matrixB,
+             double scalar, double[][] expected, String answerLabel, String formula, int basePoints,
+             double[] terms, AnswerComparator comparator) {
+        this.typeId = typeId;
+        this.prompt = prompt;
+        this.matrixA = matrixA;
+        this.operator = operator;
+        this.matrixB = matrixB;
+        this.scalar = scalar;
+        this.expected = expected;
+        this.answerLabel = answerLabel;
+        this.formula = formula;
+        this.basePoints = basePoints;
+        this.terms = terms;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Wird nur ein einzelner Wert abgefragt (z.B. Determinante)?
+     */
+    boolean isSingleValue() {
+        return answerLabel != null;
+    }
+}
@@ -0,0 +1,65 @@
+import java.util.Random;
+
+/**
+ * QuestionType - Erweiterungspunkt (SPI) für Aufgabentypen
+ *
+ * Implementierungen werden über {@link java.util.ServiceLoader} gefunden
+ * (META-INF/services/QuestionType) und erzeugen reine {@link Question}-Daten.
+ * Die Generierung ist damit unabhängig von der Darstellung und kann
+ * gebündelt, gecacht oder außerhalb des Event-Threads ausgeführt werden.
+ *
+ * Implementierungen müssen zustandslos und threadsicher sein.
+ */
+public interface QuestionType {
+
+    /**
+     * Eindeutige Kennung, z.B. "addition"
+     */
+    String id();
+
+    /**
+     * Modulindex (wie in MatrixGame.MODULES), den dieser Typ bedient
+     */
+    int module();
+
+    /**
+     * Erzeugt eine Aufgabe aus vorgegebenen Operanden (z.B. aus der ExerciseBank).
+     * Nicht benötigte Operanden sind null bzw. 0.
+     */
+    Question create(double[][] matrixA, double[][] matrixB, double scalar);
+
+    /**
+     * Erzeugt eine zufällige Aufgabe mit Matrizen bis maxSize × maxSize
+     */
+    Question generate(Random random, int maxSize);
+
+    /**
+     * Zufällige Aufgabe für den Herausforderungsmodus, der kleine Aufgaben
+     * mit eigenen Zahlenbereichen stellt; ohne eigene Regel 2 × 2
+     */
+    default Question generateChallenge(Random random) {
+        return generate(random, 2);
+    }
+
+    /**
+     * Schritt-für-Schritt-Lösungsweg für eine Aufgabe dieses Typs.
+     * Wird im Hintergrund aufgerufen und darf daher keine Swing-Objekte anfassen.
+     */
+    default String explain(Question question) {
+        return WorkedSolutions.answerOnly(question);
+    }
+
+    /**
+     * Hinweis für eine Aufgabe dieses Typs (ebenfalls im Hintergrund berechnet)
+     */
+    default String hint(Question question) {
+        return "Denke an die Grundregeln der Matrix-Operationen!";
+    }
+
+    /**
+     * Soll der Typ im Herausforderungsmodus vorkommen?
+     */
+    default boolean availableInChallenge() {
+        return true;
+    }
+}
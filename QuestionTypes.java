@@ -0,0 +1,67 @@
+import java.util.*;
+
+/**
+ * QuestionTypes - Registry aller verfügbaren Aufgabentypen
+ *
+ * Lädt die Typen einmalig über den {@link ServiceLoader}. Zusätzliche
+ * Typen können als eigene Klassen mit Eintrag in
+ * META-INF/services/QuestionType ergänzt werden, ohne die Panels zu ändern.
+ */
+public final class QuestionTypes {
+
+    private static List<QuestionType> types;
+
+    private QuestionTypes() {
+    }
+
+    /**
+     * Alle registrierten Typen in Ladereihenfolge
+     */
+    public static synchronized List<QuestionType> all() {
+        if (types == null) {
+            Map<String, QuestionType> byId = new LinkedHashMap<>();
+            for (QuestionType type : ServiceLoader.load(QuestionType.class)) {
+                byId.putIfAbsent(type.id(), type);
+            }
+            // Fehlt die META-INF-Datei (z.B. in einer IDE), die eingebauten Typen verwenden
+            if (byId.isEmpty()) {
+                for (QuestionType type : BuiltinQuestionTypes.all()) {
+                    byId.put(type.id(), type);
+                }
+            }
+            types = List.copyOf(byId.values());
+        }
+        return types;
+    }
+
+    /**
+     * Typ mit der angegebenen Kennung oder null
+     */
+    public static QuestionType byId(String id) {
+        for (QuestionType type : all()) {
+            if (type.id().equals(id)) return type;
+        }
+        return null;
+    }
+
+    /**
+     * Erster Typ, der das angegebene Modul bedient, oder null
+     */
+    public static QuestionType forModule(int module) {
+        for (QuestionType type : all()) {
+            if (type.module() == module) return type;
+        }
+        return null;
+    }
+
+    /**
+     * Alle Typen für den Herausforderungsmodus
+     */
+    public static List<QuestionType> challengeTypes() {
+        List<QuestionType> result = new ArrayList<>();
+        for (QuestionType type : all()) {
+            if (type.availableInChallenge()) result.add(type);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,270 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.util.function.Consumer;
+
+/**
+ * QuestionView - Wiederverwendbare Bausteine der Aufgabenfläche
+ *
+ * GamePanel und ChallengePanel bauen ihre Aufgabenfläche einmal auf und
+ * tauschen pro Aufgabe nur noch die Daten aus. Bleibt die Form gleich
+ * (Zeilen × Spalten, Art der Eingabe), ist ein Aufgabenwechsel ein repaint
+ * ohne neue Komponenten und ohne Layout-Durchlauf; nur bei einer anderen
+ * Form wird das betroffene Raster neu aufgebaut.
+ *
+ * - {@link MatrixDisplay}: Name und gezeichnete Matrixzellen in Klammern
+ * - {@link InputGrid}: Raster aus Eingabefeldern, beim Wiederverwenden geleert
+ * - {@link #showOnly}: blendet von mehreren festen Varianten genau eine ein
+ */
+public final class QuestionView {
+
+    private static final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    private static final Color TEXT_COLOR = Theme.TEXT;
+    private static final Color HIGHLIGHT_COLOR = Theme.HIGHLIGHT;
+    private static final Color MATRIX_CELL_COLOR = Theme.MATRIX_CELL;
+
+    private QuestionView() {
+    }
+
+    /**
+     * Macht genau eine der Varianten sichtbar (oder keine bei null). BoxLayout
+     * und FlowLayout überspringen unsichtbare Komponenten, ein Layout-Durchlauf
+     * entsteht nur, wenn sich die Sichtbarkeit tatsächlich ändert.
+     */
+    public static void showOnly(JComponent visible, JComponent... variants) {
+        for (JComponent variant : variants) {
+            variant.setVisible(variant == visible);
+        }
+    }
+
+    // ==================== MATRIX-ANZEIGE ====================
+
+    /**
+     * Beschriftete Matrix, deren Zellen direkt gezeichnet werden. Ein neuer
+     * Inhalt gleicher Form löst nur ein repaint aus.
+     */
+    public static final class MatrixDisplay extends JPanel {
+        private final Cells cells;
+
+        /**
+         * @param compact kleinere Zellen wie im Herausforderungsmodus
+         */
+        public MatrixDisplay(String name, Color bracketColor, boolean compact) {
+            super(new BorderLayout(compact ? 3 : 5, compact ? 3 : 5));
+            setBackground(BACKGROUND_COLOR);
+
+            JLabel nameLabel = new JLabel(name, SwingConstants.CENTER);
+            nameLabel.setFont(Theme.sans(Font.BOLD, compact ? 12 : 14));
+            nameLabel.setForeground(HIGHLIGHT_COLOR);
+            add(nameLabel, BorderLayout.NORTH);
+
+            cells = new Cells(compact);
+            cells.setBorder(BorderFactory.createCompoundBorder(
+                new GamePanel.MatrixBracketBorder(bracketColor),
+                compact ? BorderFactory.createEmptyBorder(3, 10, 3, 10) : BorderFactory.createEmptyBorder(5, 15, 5, 15)
+            ));
+            add(cells, BorderLayout.CENTER);
+        }
+
+        /**
+         * Zeigt eine neue Matrix; die Matrix wird nicht kopiert
+         */
+        public void setMatrix(double[][] matrix) {
+            cells.setMatrix(matrix);
+        }
+    }
+
+    private static final class Cells extends JComponent {
+        private final int cellWidth;
+        private final int cellHeight;
+        private final int gap;
+        private final boolean cellBorders;
+        private final NumberText numbers;
+
+        private double[][] matrix = new double[0][0];
+        private int rows;
+        private int cols;
+
+        Cells(boolean compact) {
+            cellWidth = compact ? 35 : 45;
+            cellHeight = compact ? 28 : 35;
+            gap = compact ? 2 : 3;
+            cellBorders = !compact;
+            numbers = NumberText.forFont(Theme.mono(Font.BOLD, compact ? 14 : 16));
+        }
+
+        void setMatrix(double[][] matrix) {
+            boolean reshaped = matrix.length != rows || matrix[0].length != cols;
+            this.matrix = matrix;
+            rows = matrix.length;
+            cols = matrix[0].length;
+            if (reshaped) {
+                revalidate();
+            }
+            repaint();
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            Insets insets = getInsets();
+            return new Dimension(
+                insets.left + insets.right + cols * cellWidth + Math.max(0, cols - 1) * gap,
+                insets.top + insets.bottom + rows * cellHeight + Math.max(0, rows - 1) * gap);
+        }
+
+        @Override
+        public Dimension getMinimumSize() {
+            return getPreferredSize();
+        }
+
+        @Override
+        public Dimension getMaximumSize() {
+            return getPreferredSize();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setFont(numbers.getFont());
+            FontMetrics fm = Theme.metrics(numbers.getFont());
+            int baseline = (cellHeight + fm.getAscent() - fm.getDescent()) / 2;
+
+            // Zentriert wie zuvor das GridLayout, falls der Platz größer ausfällt
+            Dimension preferred = getPreferredSize();
+            Insets insets = getInsets();
+            int x0 = insets.left + Math.max(0, (getWidth() - preferred.width) / 2);
+            int y0 = insets.top + Math.max(0, (getHeight() - preferred.height) / 2);
+
+            for (int i = 0; i < rows; i++) {
+                int y = y0 + i * (cellHeight + gap);
+                for (int j = 0; j < cols; j++) {
+                    int x = x0 + j * (cellWidth + gap);
+                    g2d.setColor(MATRIX_CELL_COLOR);
+                    g2d.fillRect(x, y, cellWidth, cellHeight);
+                    if (cellBorders) {
+                        g2d.setColor(Theme.CELL_BORDER);
+                        g2d.drawRect(x, y, cellWidth - 1, cellHeight - 1);
+                    }
+                    double value = matrix[i][j];
+                    g2d.setColor(TEXT_COLOR);
+                    numbers.draw(g2d, value, 1, x + (cellWidth - numbers.width(value, 1)) / 2, y + baseline);
+                }
+            }
+        }
+
+        @Override
+        protected void paintBorder(Graphics g) {
+            // Klammern eng um die Zellen, nicht um den ganzen Platz
+            Dimension preferred = getPreferredSize();
+            int x = Math.max(0, (getWidth() - preferred.width) / 2);
+            int y = Math.max(0, (getHeight() - preferred.height) / 2);
+            getBorder().paintBorder(this, g, x, y, preferred.width, preferred.height);
+        }
+    }
+
+    // ==================== EINGABERASTER ====================
+
+    /**
+     * Überschrift und Raster aus Eingabefeldern. {@link #reset} leert bei
+     * gleicher Form nur die vorhandenen Felder.
+     */
+    public static final class InputGrid extends JPanel {
+        private final JPanel grid;
+        private final Consumer<JTextField> styler;
+        private final boolean compact;
+        private final int gap;
+
+        private JTextField[][] fields = new JTextField[0][0];
+        private Color fieldBackground;
+        private Runnable onSubmit;
+
+        /**
+         * @param styler gestaltet jedes neu angelegte Feld
+         */
+        public InputGrid(String title, Color color, boolean compact, Consumer<JTextField> styler) {
+            super(new BorderLayout(compact ? 3 : 5, compact ? 3 : 5));
+            this.styler = styler;
+            this.compact = compact;
+            this.gap = compact ? 2 : 3;
+            setBackground(BACKGROUND_COLOR);
+
+            JLabel titleLabel = new JLabel(title, SwingConstants.CENTER);
+            titleLabel.setFont(Theme.sans(Font.BOLD, compact ? 12 : 14));
+            titleLabel.setForeground(color);
+            add(titleLabel, BorderLayout.NORTH);
+
+            grid = new JPanel();
+            grid.setBackground(BACKGROUND_COLOR);
+            grid.setBorder(BorderFactory.createCompoundBorder(
+                new GamePanel.MatrixBracketBorder(color),
+                compact ? BorderFactory.createEmptyBorder(3, 10, 3, 10) : BorderFactory.createEmptyBorder(5, 15, 5, 15)
+            ));
+            add(grid, BorderLayout.CENTER);
+        }
+
+        /**
+         * Enter springt zum nächsten Feld und löst im letzten Feld die Aktion aus
+         */
+        public void setOnSubmit(Runnable onSubmit) {
+            this.onSubmit = onSubmit;
+        }
+
+        /**
+         * Leere Felder in der gewünschten Form; bei gleicher Form dieselben
+         * Felder wie zuvor. Eine vorherige {@link AnswerValidator} muss vorher
+         * mit {@link AnswerValidator#dispose} abgehängt werden.
+         */
+        public JTextField[][] reset(int rows, int cols) {
+            if (rows == fields.length && cols == fields[0].length) {
+                for (JTextField[] row : fields) {
+                    for (JTextField field : row) {
+                        field.setText("");
+                        field.setBackground(fieldBackground);
+                    }
+                }
+                return fields;
+            }
+
+            grid.removeAll();
+            grid.setLayout(new GridLayout(rows, cols, gap, gap));
+            fields = new JTextField[rows][cols];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    JTextField field = new JTextField(compact ? 3 : 4);
+                    styler.accept(field);
+                    if (compact) {
+                        field.setPreferredSize(new Dimension(35, 28));
+                    }
+                    addNavigation(field, i, j);
+                    fields[i][j] = field;
+                    grid.add(field);
+                }
+            }
+            fieldBackground = fields[0][0].getBackground();
+            grid.revalidate();
+            grid.repaint();
+            return fields;
+        }
+
+        private void addNavigation(JTextField field, int row, int col) {
+            field.addKeyListener(new KeyAdapter() {
+                @Override
+                public void keyPressed(KeyEvent e) {
+                    if (e.getKeyCode() != KeyEvent.VK_ENTER || onSubmit == null) return;
+                    int rows = fields.length;
+                    int cols = fields[0].length;
+                    // Zum nächsten Feld oder Absenden
+                    if (row == rows - 1 && col == cols - 1) {
+                        onSubmit.run();
+                    } else if (col < cols - 1) {
+                        fields[row][col + 1].requestFocus();
+                    } else {
+                        fields[row + 1][0].requestFocus();
+                    }
+                }
+            });
+        }
+    }
+}
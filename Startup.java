@@ -0,0 +1,212 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Startup - Startablauf des Spiels
+ *
+ * Bis das Hauptfenster steht, vergeht vor allem Zeit mit Klassenladen: Look
+ * and Feel, Swing, Schriften und beim ersten Klick die Klassen des jeweiligen
+ * Panels. Das Tutorial baut außerdem seine HTML-Inhalte. Der Start läuft
+ * deshalb in Stufen:
+ *
+ * 1. Ein schlichter Ladebildschirm (reines AWT, ohne Look and Feel) erscheint
+ *    sofort, außer die JVM zeigt bereits einen mit -splash an.
+ * 2. Ein Hintergrund-Thread lädt parallel die Panel-Klassen, Aufgabentypen,
+ *    Schriften, die Tutorial-Inhalte und den gespeicherten Spielstand vor.
+ * 3. Das Hauptfenster wird auf dem Event-Thread gebaut und angezeigt, danach
+ *    schließt der Ladebildschirm.
+ * 4. Direkt nach dem ersten Bild wird die HTML-Darstellung des Tutorials auf
+ *    dem Event-Thread vorgewärmt, solange noch niemand klickt.
+ *
+ * Für einen Kaltstart ohne Klassenladen aus den .class-Dateien kann ein
+ * AppCDS-Archiv erzeugt werden: Mit {@link #CDS_TRAINING} lädt das Spiel
+ * alles vor, baut jedes Panel einmal unsichtbar und beendet sich, sodass die
+ * JVM dabei alle geladenen Klassen in das Archiv schreibt (siehe README).
+ *
+ * Mit -Dmatrixgame.timing=true wird die Zeit bis zum geöffneten Fenster
+ * ausgegeben.
+ */
+public final class Startup {
+
+    public static final String CDS_TRAINING = "--cds-training";
+
+    // Klassen, die sonst erst beim ersten Klick geladen werden
+    private static final String[] PRELOAD_CLASSES = {
+        "TutorialPanel", "ModuleSelectionPanel", "GamePanel", "ChallengePanel", "MatrixLabPanel",
+        "QuestionView", "MatrixExplorer", "MatrixGridEditor", "MatrixHeatmapView", "StepLogView",
+        "AnswerValidator", "AnswerParser", "AnswerComparator", "DistractorEngine", "WorkedSolutions", "MatrixOps",
+        "javax.swing.JTextField", "javax.swing.JProgressBar", "javax.swing.JComboBox",
+        "javax.swing.JTextArea", "javax.swing.JScrollPane", "javax.swing.JOptionPane"
+    };
+
+    // Schriften, deren Dateien sonst beim ersten Zeichnen gelesen werden
+    private static final Font[] PRELOAD_FONTS = {
+        Theme.sans(Font.PLAIN, 14), Theme.sans(Font.BOLD, 18), Theme.sans(Font.ITALIC, 14),
+        Theme.mono(Font.BOLD, 16)
+    };
+
+    private Startup() {
+    }
+
+    /**
+     * Startet das Spiel mit Ladebildschirm und Vorladen im Hintergrund
+     */
+    public static void launch(String[] args) {
+        boolean timing = Boolean.getBoolean("matrixgame.timing");
+        if (java.util.Arrays.asList(args).contains(CDS_TRAINING)) {
+            train();
+            return;
+        }
+
+        Thread preloader = new Thread(() -> {
+            // Das Hauptfenster wartet sonst beim Bauen auf das Laden des Spielstands
+            ProgressStore.getDefault();
+            preload();
+        }, "preload");
+        preloader.setDaemon(true);
+        preloader.setPriority(Thread.NORM_PRIORITY - 1);
+        preloader.start();
+
+        Window splash = SplashScreen.getSplashScreen() == null ? showSplash() : null;
+
+        setLookAndFeel();
+
+        SwingUtilities.invokeLater(() -> {
+            MatrixGame game = new MatrixGame();
+            game.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    if (splash != null) {
+                        splash.dispose();
+                    }
+                    if (timing) {
+                        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+                        System.err.println("Fenster geöffnet nach " + uptime + " ms");
+                    }
+                    // Läuft erst nach dem ersten Bild, bevor der erste Klick kommt
+                    SwingUtilities.invokeLater(TutorialPanel::warmUp);
+                }
+            });
+            game.setVisible(true);
+        });
+    }
+
+    private static void setLookAndFeel() {
+        try {
+            UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Lädt Klassen und Inhalte vor; nur threadsichere Arbeit ohne Komponenten
+     */
+    static void preload() {
+        ClassLoader loader = Startup.class.getClassLoader();
+        for (String name : PRELOAD_CLASSES) {
+            try {
+                Class.forName(name, true, loader);
+            } catch (ClassNotFoundException e) {
+                // Fehlt eine Klasse, wird sie eben beim ersten Klick geladen
+            }
+        }
+        for (Font font : PRELOAD_FONTS) {
+            Theme.metrics(font).stringWidth("Matrix 0123456789");
+        }
+        QuestionTypes.all();
+        ExerciseBank.getDefault();
+        TutorialPanel.preload();
+    }
+
+    // ==================== LADEBILDSCHIRM ====================
+
+    private static Window showSplash() {
+        if (GraphicsEnvironment.isHeadless()) return null;
+
+        Window splash = new Window(null) {
+            @Override
+            public void paint(Graphics g) {
+                Graphics2D g2d = (Graphics2D) g;
+                g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                g2d.setColor(Theme.BACKGROUND);
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+                g2d.setColor(Theme.ACCENT);
+                g2d.drawRect(0, 0, getWidth() - 1, getHeight() - 1);
+
+                drawCentered(g2d, "MATRIX MEISTER", Theme.sans(Font.BOLD, 36), Theme.ACCENT, 95);
+                drawCentered(g2d, "wird geladen …", Theme.sans(Font.PLAIN, 16), Theme.TEXT_MUTED, 135);
+            }
+
+            private void drawCentered(Graphics2D g2d, String text, Font font, Color color, int baseline) {
+                g2d.setFont(font);
+                g2d.setColor(color);
+                g2d.drawString(text, (getWidth() - g2d.getFontMetrics().stringWidth(text)) / 2, baseline);
+            }
+        };
+        splash.setBackground(Theme.BACKGROUND);
+        splash.setSize(440, 200);
+        splash.setLocationRelativeTo(null);
+        splash.setVisible(true);
+        return splash;
+    }
+
+    // ==================== APPCDS-TRAINING ====================
+
+    /**
+     * Lädt alles, was ein normaler Start und die ersten Klicks brauchen, und
+     * beendet die JVM; mit -XX:ArchiveClassesAtExit entsteht dabei das Archiv
+     */
+    private static void train() {
+        preload();
+        if (!GraphicsEnvironment.isHeadless()) {
+            setLookAndFeel();
+            try {
+                SwingUtilities.invokeAndWait(Startup::buildAllPanels);
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Baut jedes Panel einmal unsichtbar und zeichnet es in ein Bild, damit
+     * auch Layout- und Zeichenklassen im Archiv landen
+     */
+    private static void buildAllPanels() {
+        // Ohne Spielstand: kein Verzeichnis, keine Sperre, kein Shutdown-Hook
+        MatrixGame game = new MatrixGame(null);
+        JComponent[] panels = {
+            new TutorialPanel(game),
+            new ModuleSelectionPanel(game, java.util.Collections.nCopies(10, "Modul").toArray(new String[0])),
+            new ChallengePanel(game),
+            new MatrixLabPanel(game),
+            new GamePanel(game, 1),
+            new GamePanel(game, 6)
+        };
+        BufferedImage image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+        for (JComponent panel : panels) {
+            panel.setSize(1200, 800);
+            layoutTree(panel);
+            Graphics2D g2d = image.createGraphics();
+            panel.paint(g2d);
+            g2d.dispose();
+            FrameScheduler.cancelAll(panel);
+        }
+        game.dispose();
+    }
+
+    private static void layoutTree(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container nested) {
+                layoutTree(nested);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * StepLogView - Virtuelle Anzeige eines Rechenwegs
+ *
+ * Statt den ganzen Rechenweg als einen String in eine JTextArea zu legen,
+ * zeichnet die Ansicht nur die Zeilen im sichtbaren Ausschnitt und holt sie
+ * seitenweise aus dem {@link StepTrace}. Formatierte Seiten werden in einem
+ * kleinen LRU-Zwischenspeicher gehalten, sodass der Speicherbedarf der Ansicht
+ * nicht von der Länge des Rechenwegs abhängt.
+ *
+ * Während eine Berechnung noch schreibt, kann die Ansicht den Rechenweg schon
+ * zeigen: {@link #refresh} übernimmt neu hinzugekommene Zeilen und folgt dem
+ * Ende, solange der Spieler nicht nach oben gescrollt hat.
+ *
+ * Die Breite wächst mit der längsten bisher gezeichneten Zeile; anfangs wird
+ * sie an den ersten Zeilen geschätzt.
+ */
+public class StepLogView extends JComponent implements Scrollable {
+
+    private static final Font LOG_FONT = Theme.mono(Font.PLAIN, 12);
+    private static final FontMetrics LOG_METRICS = Theme.metrics(LOG_FONT);
+    private static final int LINE_HEIGHT = LOG_METRICS.getHeight();
+    private static final int PADDING = 4;
+
+    // Formatierte Zeilen werden seitenweise zwischengespeichert
+    private static final int PAGE_LINES = 256;
+    private static final int CACHED_PAGES = 16;
+
+    // Zeilen, an denen die Anfangsbreite geschätzt wird
+    private static final int WIDTH_SAMPLE_LINES = 200;
+
+    // Sichtbare Zeilen und Zeichen, bevor gescrollt wird
+    private static final int VISIBLE_LINES = 8;
+    private static final int VISIBLE_COLUMNS = 30;
+
+    private StepTrace trace = StepTrace.of("");
+    private int lineCount;
+    private int contentWidth;
+
+    private final Map<Integer, String[]> pages = new LinkedHashMap<>(CACHED_PAGES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String[]> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+
+    public StepLogView() {
+        setOpaque(true);
+        setFont(LOG_FONT);
+        setBackground(Theme.PANEL);
+        setForeground(Theme.TEXT);
+    }
+
+    /**
+     * Zeigt einen (auch noch wachsenden) Rechenweg von Anfang an
+     */
+    public void setTrace(StepTrace trace, Color color) {
+        this.trace = trace;
+        pages.clear();
+        lineCount = trace.size();
+        contentWidth = 0;
+        for (int i = 0, n = Math.min(lineCount, WIDTH_SAMPLE_LINES); i < n; i++) {
+            contentWidth = Math.max(contentWidth, LOG_METRICS.stringWidth(line(i)));
+        }
+        setForeground(color);
+        revalidate();
+        repaint();
+        scrollRectToVisible(new Rectangle(0, 0, 1, 1));
+    }
+
+    /**
+     * Übernimmt inzwischen geschriebene Zeilen; liefert true, wenn neue dazukamen
+     */
+    public boolean refresh() {
+        int count = trace.size();
+        if (count == lineCount) return false;
+
+        // Ans Ende gescrollt: dem Ende weiter folgen
+        Rectangle visible = getVisibleRect();
+        boolean follow = visible.height > 0 && visible.y + visible.height >= lineCount * LINE_HEIGHT;
+
+        // Die bisher letzte Seite war evtl. unvollständig
+        pages.remove((lineCount - 1) / PAGE_LINES);
+        int oldCount = lineCount;
+        lineCount = count;
+        revalidate();
+        repaint(0, oldCount * LINE_HEIGHT, Integer.MAX_VALUE, (count - oldCount) * LINE_HEIGHT + LINE_HEIGHT);
+        if (follow) {
+            // Neue Höhe sofort übernehmen, sonst begrenzt der Viewport auf die alte
+            setSize(getWidth(), getPreferredSize().height);
+            scrollRectToVisible(new Rectangle(visible.x, count * LINE_HEIGHT + 2 * PADDING - 1, 1, 1));
+        }
+        return true;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Zeile aus dem Zwischenspeicher, die Seite wird bei Bedarf formatiert
+     */
+    private String line(int index) {
+        int pageIndex = index / PAGE_LINES;
+        String[] page = pages.get(pageIndex);
+        if (page == null) {
+            int first = pageIndex * PAGE_LINES;
+            page = new String[Math.min(PAGE_LINES, lineCount - first)];
+            for (int k = 0; k < page.length; k++) {
+                page[k] = trace.line(first + k);
+            }
+            pages.put(pageIndex, page);
+        }
+        return page[index - pageIndex * PAGE_LINES];
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(contentWidth + 2 * PADDING, lineCount * LINE_HEIGHT + 2 * PADDING);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+
+        g2d.setColor(getBackground());
+        g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(LOG_FONT);
+        g2d.setColor(getForeground());
+
+        // Nur die Zeilen im neu zu zeichnenden Bereich
+        int first = Math.max(0, (clip.y - PADDING) / LINE_HEIGHT);
+        int last = Math.min(lineCount - 1, (clip.y + clip.height - PADDING) / LINE_HEIGHT);
+        int ascent = LOG_METRICS.getAscent();
+        int widest = contentWidth;
+        for (int i = first; i <= last; i++) {
+            String text = line(i);
+            g2d.drawString(text, PADDING, PADDING + i * LINE_HEIGHT + ascent);
+            widest = Math.max(widest, LOG_METRICS.stringWidth(text));
+        }
+
+        if (widest > contentWidth) {
+            // Längere Zeile gefunden: Scrollbereich verbreitern
+            contentWidth = widest;
+            revalidate();
+        }
+    }
+
+    // ==================== SCROLLABLE ====================
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(VISIBLE_COLUMNS * LOG_METRICS.charWidth('m') + 2 * PADDING,
+                             VISIBLE_LINES * LINE_HEIGHT + 2 * PADDING);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? LINE_HEIGHT : LOG_METRICS.charWidth('m');
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL
+            ? Math.max(LINE_HEIGHT, visibleRect.height - LINE_HEIGHT)
+            : Math.max(LINE_HEIGHT, visibleRect.width - LINE_HEIGHT);
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        // Schmale Rechenwege füllen die Breite, breite lassen sich verschieben
+        Container parent = getParent();
+        return parent instanceof JViewport && parent.getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        Container parent = getParent();
+        return parent instanceof JViewport && parent.getHeight() > getPreferredSize().height;
+    }
+}
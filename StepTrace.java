@@ -0,0 +1,252 @@
+/**
+ * StepTrace - Rechenweg als Folge von Schritten statt als fertiger Text
+ *
+ * Jede Zeile des Rechenwegs ist genau ein Schritt: ein fester Text (Überschrift,
+ * Regel, Leerzeile) oder ein Rechenschritt mit Art, Indizes, Operanden und
+ * Ergebnis. Die Schritte liegen in primitiven Arrays, seitenweise zu je
+ * {@link #PAGE_SIZE} Einträgen; formatiert wird erst mit {@link #line}, also nur
+ * für die Zeilen, die tatsächlich angezeigt werden.
+ *
+ * Große Rechnungen werden automatisch zusammengefasst:
+ * - Skalarprodukte mit mehr als {@link #MAX_TERMS} Summanden zeigen nur Anfang
+ *   und Ende der Summe
+ * - ab {@link #SUMMARY_THRESHOLD} Einträgen gibt es einen Schritt pro
+ *   Matrixzeile statt pro Eintrag (siehe {@link #summarize})
+ *
+ * Ein Thread schreibt (die Berechnung), beliebige Threads dürfen gleichzeitig
+ * lesen: {@link #size} wird erst erhöht, wenn der Schritt vollständig ist, und
+ * bereits geschriebene Seiten werden nie verschoben.
+ */
+final class StepTrace {
+
+    // Arten von Schritten
+    static final byte TEXT = 0;
+    static final byte ADD = 1;
+    static final byte SUBTRACT = 2;
+    static final byte SCALE = 3;
+    static final byte PRODUCT = 4;
+    static final byte TRANSPOSE = 5;
+    static final byte ROW = 6;
+
+    static final int PAGE_SIZE = 4096;
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    // Ab so vielen Einträgen wird pro Matrixzeile zusammengefasst
+    static final int SUMMARY_THRESHOLD = 50_000;
+
+    // Längere Skalarprodukte werden gekürzt: die ersten Summanden, "…", der letzte
+    static final int MAX_TERMS = 8;
+
+    // Zeilen einer Zusammenfassung zeigen so viele Werte am Anfang
+    private static final int ROW_PREVIEW = 3;
+
+    private static final class Page {
+        final byte[] kind = new byte[PAGE_SIZE];
+        final int[] row = new int[PAGE_SIZE];
+        final int[] col = new int[PAGE_SIZE];
+        final double[] left = new double[PAGE_SIZE];
+        final double[] right = new double[PAGE_SIZE];
+        final double[] value = new double[PAGE_SIZE];
+        final String[] text = new String[PAGE_SIZE];
+    }
+
+    private volatile Page[] pages = new Page[4];
+    private volatile int size;
+
+    // Angefangene Textzeile, nur für den schreibenden Thread
+    private final StringBuilder pending = new StringBuilder();
+
+    // Matrizen, aus denen Skalarprodukte und Zusammenfassungen gelesen werden
+    private volatile double[][] matrixA;
+    private volatile double[][] matrixB;
+    private volatile double[][] result;
+
+    /**
+     * Rechenweg aus reinem Text, z.B. für Meldungen
+     */
+    static StepTrace of(String text) {
+        StepTrace trace = new StepTrace();
+        trace.text(text);
+        trace.finish();
+        return trace;
+    }
+
+    /**
+     * Ob eine Ergebnismatrix dieser Größe pro Zeile zusammengefasst wird
+     */
+    static boolean summarize(int rows, int cols) {
+        return (long) rows * cols >= SUMMARY_THRESHOLD;
+    }
+
+    /**
+     * Matrizen für Skalarprodukte und Zeilen-Zusammenfassungen; werden nicht
+     * kopiert und dürfen danach nicht mehr verändert werden
+     */
+    void setMatrices(double[][] matrixA, double[][] matrixB, double[][] result) {
+        this.matrixA = matrixA;
+        this.matrixB = matrixB;
+        this.result = result;
+    }
+
+    // ==================== SCHREIBEN ====================
+
+    /**
+     * Hängt Text an; jede abgeschlossene Zeile wird ein eigener Schritt
+     */
+    void text(String text) {
+        int start = 0;
+        for (int k = text.indexOf('\n'); k >= 0; k = text.indexOf('\n', start)) {
+            pending.append(text, start, k);
+            add(TEXT, 0, 0, 0, 0, 0, pending.toString());
+            pending.setLength(0);
+            start = k + 1;
+        }
+        pending.append(text, start, text.length());
+    }
+
+    /**
+     * c_ij = a + b (ADD), a - b (SUBTRACT) oder a · b mit a = k (SCALE)
+     */
+    void cell(byte kind, int row, int col, double left, double right, double value) {
+        add(kind, row, col, left, right, value, null);
+    }
+
+    /**
+     * c_ij als Skalarprodukt aus Zeile i von A und Spalte j von B
+     */
+    void product(int row, int col, double value) {
+        add(PRODUCT, row, col, 0, 0, value, null);
+    }
+
+    /**
+     * a_ij wandert an Position (j, i)
+     */
+    void transpose(int row, int col, double value) {
+        add(TRANSPOSE, row, col, value, 0, 0, null);
+    }
+
+    /**
+     * Eine ganze Matrixzeile zusammengefasst; kind ist die Art der Einträge
+     */
+    void row(byte kind, int row) {
+        add(ROW, row, kind, 0, 0, 0, null);
+    }
+
+    /**
+     * Schließt eine angefangene Textzeile ab
+     */
+    void finish() {
+        if (pending.length() > 0) {
+            add(TEXT, 0, 0, 0, 0, 0, pending.toString());
+            pending.setLength(0);
+        }
+    }
+
+    private void add(byte kind, int row, int col, double left, double right, double value, String text) {
+        int index = size;
+        int pageIndex = index >>> PAGE_SHIFT;
+        Page[] current = pages;
+        if (pageIndex == current.length) {
+            current = java.util.Arrays.copyOf(current, current.length * 2);
+            pages = current;
+        }
+        Page page = current[pageIndex];
+        if (page == null) {
+            page = new Page();
+            current[pageIndex] = page;
+        }
+
+        int slot = index & PAGE_MASK;
+        page.kind[slot] = kind;
+        page.row[slot] = row;
+        page.col[slot] = col;
+        page.left[slot] = left;
+        page.right[slot] = right;
+        page.value[slot] = value;
+        page.text[slot] = text;
+        // Erst jetzt sichtbar für lesende Threads
+        size = index + 1;
+    }
+
+    // ==================== LESEN ====================
+
+    /**
+     * Anzahl der vollständigen Schritte (= Zeilen)
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Formatiert die Zeile mit dem angegebenen Index
+     */
+    String line(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        Page page = pages[index >>> PAGE_SHIFT];
+        int slot = index & PAGE_MASK;
+        int i = page.row[slot];
+        int j = page.col[slot];
+        double left = page.left[slot];
+        double right = page.right[slot];
+        double value = page.value[slot];
+
+        return switch (page.kind[slot]) {
+            case ADD -> String.format("c%d%d = %.0f + %.0f = %.0f", i + 1, j + 1, left, right, value);
+            case SUBTRACT -> String.format("c%d%d = %.0f - %.0f = %.0f", i + 1, j + 1, left, right, value);
+            case SCALE -> String.format("c%d%d = %.1f · %.0f = %.1f", i + 1, j + 1, left, right, value);
+            case PRODUCT -> formatProduct(i, j, value);
+            case TRANSPOSE -> String.format("a%d%d = %.0f → Position (%d,%d)", i + 1, j + 1, left, j + 1, i + 1);
+            case ROW -> formatRow(i, (byte) j);
+            default -> page.text[slot];
+        };
+    }
+
+    private String formatProduct(int i, int j, double value) {
+        double[][] a = matrixA;
+        double[][] b = matrixB;
+        int terms = b.length;
+        StringBuilder line = new StringBuilder(String.format("c%d%d = ", i + 1, j + 1));
+        boolean shorten = terms > MAX_TERMS;
+        for (int k = 0; k < terms; k++) {
+            if (shorten && k == MAX_TERMS - 1) {
+                // Mitte auslassen, letzten Summanden zeigen
+                line.append(" + … + ");
+                k = terms - 1;
+            } else if (k > 0) {
+                line.append(" + ");
+            }
+            line.append(String.format("%.0f·%.0f", a[i][k], b[k][j]));
+        }
+        if (shorten) {
+            line.append(" (").append(terms).append(" Produkte)");
+        }
+        line.append(String.format(" = %.0f", value));
+        return line.toString();
+    }
+
+    private String formatRow(int i, byte kind) {
+        double[][] values = result;
+        if (kind == TRANSPOSE) {
+            return String.format("Zeile %d von A → Spalte %d von Aᵀ (%d Einträge)", i + 1, i + 1, values.length);
+        }
+        double[] row = values[i];
+        StringBuilder line = new StringBuilder(String.format("Zeile %d:", i + 1));
+        int shown = Math.min(ROW_PREVIEW, row.length);
+        for (int j = 0; j < shown; j++) {
+            line.append(j > 0 ? ", " : " ");
+            line.append(String.format("c%d,%d = %s", i + 1, j + 1, format(kind, row[j])));
+        }
+        if (row.length > shown) {
+            line.append(String.format(", …, c%d,%d = %s", i + 1, row.length, format(kind, row[row.length - 1])));
+        }
+        line.append(" (").append(row.length).append(" Einträge)");
+        return line.toString();
+    }
+
+    private static String format(byte kind, double value) {
+        return String.format(kind == SCALE ? "%.1f" : "%.0f", value);
+    }
+}
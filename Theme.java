@@ -0,0 +1,100 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Theme - Gemeinsame Farben, Schriften und Linien aller Panels
+ *
+ * Die Farbpalette steht nur noch hier; die Panels übernehmen ihre
+ * Farbkonstanten aus dieser Klasse. Schriften, Farben und Linienstärken
+ * werden als Flyweights gecacht, sodass paintComponent-Methoden pro Frame
+ * keine neuen Objekte anlegen. Zu jeder Schrift werden die FontMetrics
+ * einmal bestimmt und wiederverwendet.
+ */
+public final class Theme {
+
+    // Farbpalette
+    public static final Color BACKGROUND = new Color(25, 25, 35);
+    public static final Color PANEL = new Color(40, 44, 52);
+    public static final Color ACCENT = new Color(97, 175, 239);
+    public static final Color SUCCESS = new Color(152, 195, 121);
+    public static final Color ERROR = new Color(224, 108, 117);
+    public static final Color TEXT = new Color(220, 223, 228);
+    public static final Color HIGHLIGHT = new Color(229, 192, 123);
+    public static final Color MATRIX_CELL = new Color(55, 60, 72);
+    public static final Color LAB = new Color(198, 120, 221);
+
+    // Rahmen und abgeschwächte Töne
+    public static final Color BORDER = new Color(60, 65, 77);
+    public static final Color CELL_BORDER = new Color(70, 75, 87);
+    public static final Color TEXT_MUTED = new Color(220, 223, 228, 150);
+    public static final Color INACTIVE = new Color(100, 100, 100);
+
+    private static final Map<String, Font> FONTS = new ConcurrentHashMap<>();
+    private static final Map<Integer, Color> COLORS = new ConcurrentHashMap<>();
+    private static final Map<Float, BasicStroke> STROKES = new ConcurrentHashMap<>();
+    private static final Map<Font, FontMetrics> METRICS = new ConcurrentHashMap<>();
+
+    // Nur zum Ausmessen von Schriften, wird nie angezeigt
+    private static final Graphics2D MEASURE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    private Theme() {
+    }
+
+    /**
+     * Schrift (gecacht). Zum Zeichnen die Schrift einmal in einer Konstante
+     * ablegen, statt sie in jedem paintComponent neu nachzuschlagen.
+     */
+    public static Font font(String family, int style, int size) {
+        return FONTS.computeIfAbsent(family + '|' + style + '|' + size, key -> new Font(family, style, size));
+    }
+
+    public static Font sans(int style, int size) {
+        return font(Font.SANS_SERIF, style, size);
+    }
+
+    public static Font mono(int style, int size) {
+        return font(Font.MONOSPACED, style, size);
+    }
+
+    /**
+     * Farbe aus RGB-Anteilen (gecacht)
+     */
+    public static Color color(int r, int g, int b) {
+        return color(r, g, b, 255);
+    }
+
+    public static Color color(int r, int g, int b, int alpha) {
+        int argb = (alpha & 0xFF) << 24 | (r & 0xFF) << 16 | (g & 0xFF) << 8 | (b & 0xFF);
+        return COLORS.computeIfAbsent(argb, key -> new Color(key, true));
+    }
+
+    /**
+     * Dieselbe Farbe mit anderer Deckkraft (gecacht)
+     */
+    public static Color withAlpha(Color color, int alpha) {
+        return color(color.getRed(), color.getGreen(), color.getBlue(), alpha);
+    }
+
+    /**
+     * Durchgehende Linie der angegebenen Breite (gecacht)
+     */
+    public static BasicStroke stroke(float width) {
+        return STROKES.computeIfAbsent(width, BasicStroke::new);
+    }
+
+    /**
+     * FontMetrics einer Schrift, einmal bestimmt und wiederverwendet
+     */
+    public static FontMetrics metrics(Font font) {
+        FontMetrics metrics = METRICS.get(font);
+        if (metrics == null) {
+            synchronized (MEASURE) {
+                metrics = MEASURE.getFontMetrics(font);
+            }
+            METRICS.put(font, metrics);
+        }
+        return metrics;
+    }
+}
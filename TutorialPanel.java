@@ -1,9 +1,9 @@
 import javax.swing.*;
-import javax.swing.Timer;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.geom.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -20,13 +20,20 @@ import java.util.List;
 public class TutorialPanel extends JPanel {
     
     // Farbdefinitionen
-    private static final Color BACKGROUND_COLOR = new Color(25, 25, 35);
-    private static final Color PANEL_COLOR = new Color(40, 44, 52);
-    private static final Color ACCENT_COLOR = new Color(97, 175, 239);
-    private static final Color SUCCESS_COLOR = new Color(152, 195, 121);
-    private static final Color TEXT_COLOR = new Color(220, 223, 228);
-    private static final Color HIGHLIGHT_COLOR = new Color(229, 192, 123);
-    private static final Color MATRIX_CELL_COLOR = new Color(55, 60, 72);
+    private static final Color BACKGROUND_COLOR = Theme.BACKGROUND;
+    private static final Color PANEL_COLOR = Theme.PANEL;
+    private static final Color ACCENT_COLOR = Theme.ACCENT;
+    private static final Color SUCCESS_COLOR = Theme.SUCCESS;
+    private static final Color TEXT_COLOR = Theme.TEXT;
+    private static final Color HIGHLIGHT_COLOR = Theme.HIGHLIGHT;
+    private static final Color MATRIX_CELL_COLOR = Theme.MATRIX_CELL;
+    
+    // Für die Visualisierung einmal angelegt statt bei jedem Neuzeichnen
+    private static final Color SUCCESS_DARK = SUCCESS_COLOR.darker();
+    private static final Font VALUE_FONT = Theme.sans(Font.BOLD, 18);
+    private static final Font DIMENSION_FONT = Theme.sans(Font.BOLD, 16);
+    private static final Font CAPTION_FONT = Theme.sans(Font.PLAIN, 14);
+    private static final Font HINT_FONT = Theme.sans(Font.ITALIC, 14);
     
     private MatrixGame game;
     private int currentStep = 0;
@@ -44,7 +51,7 @@ public class TutorialPanel extends JPanel {
     private MatrixVisualizationPanel matrixVis;
     
     // Animation
-    private Timer animationTimer;
+    private FrameScheduler.Task animation;
     private int animationFrame = 0;
     private int highlightRow = -1;
     private int highlightCol = -1;
@@ -54,16 +61,49 @@ public class TutorialPanel extends JPanel {
         setLayout(new BorderLayout());
         setBackground(BACKGROUND_COLOR);
         
-        initializeTutorialSteps();
+        tutorialSteps = Content.STEPS;
+        totalSteps = tutorialSteps.size();
         initializeUI();
         showStep(0);
     }
     
     /**
-     * Initialisiert alle Tutorial-Schritte mit Erklärungen und Visualisierungen
+     * Die Schritte ändern sich nie und werden einmal für alle Tutorials
+     * angelegt, beim Start schon im Hintergrund (siehe {@link #preload})
      */
-    private void initializeTutorialSteps() {
-        tutorialSteps = new ArrayList<>();
+    private static final class Content {
+        static final List<TutorialStep> STEPS = createTutorialSteps();
+    }
+    
+    /**
+     * Legt die Tutorial-Inhalte an und lädt den HTML-Parser samt DTD. Reine
+     * Daten ohne Komponenten, daher auf einem Hintergrund-Thread erlaubt.
+     */
+    static void preload() {
+        List<TutorialStep> steps = Content.STEPS;
+        try {
+            new javax.swing.text.html.parser.ParserDelegator().parse(
+                new java.io.StringReader(steps.get(0).content),
+                new javax.swing.text.html.HTMLEditorKit.ParserCallback(), true);
+        } catch (java.io.IOException e) {
+            // Nur Vorwärmen: der Fehler zeigt sich sonst beim ersten Anzeigen
+        }
+    }
+    
+    /**
+     * Erstellt die HTML-Darstellung des ersten Schritts einmal vorab, damit der
+     * erste Klick auf das Tutorial nicht Stylesheet und Views laden muss.
+     * Nur auf dem Event-Thread, z.B. direkt nach dem ersten Bild.
+     */
+    static void warmUp() {
+        new JLabel(Content.STEPS.get(0).content).getPreferredSize();
+    }
+    
+    /**
+     * Erstellt alle Tutorial-Schritte mit Erklärungen und Visualisierungen
+     */
+    private static List<TutorialStep> createTutorialSteps() {
+        List<TutorialStep> tutorialSteps = new ArrayList<>();
         
         // Schritt 1: Was ist eine Matrix?
         tutorialSteps.add(new TutorialStep(
@@ -341,7 +381,7 @@ public class TutorialPanel extends JPanel {
             TutorialStep.VisualizationType.CELEBRATION
         ));
         
-        totalSteps = tutorialSteps.size();
+        return Collections.unmodifiableList(tutorialSteps);
     }
     
     /**
@@ -382,7 +422,7 @@ public class TutorialPanel extends JPanel {
         
         // Titel
         stepLabel = new JLabel("Tutorial");
-        stepLabel.setFont(new Font("SansSerif", Font.BOLD, 20));
+        stepLabel.setFont(Theme.sans(Font.BOLD, 20));
         stepLabel.setForeground(TEXT_COLOR);
         stepLabel.setHorizontalAlignment(SwingConstants.CENTER);
         
@@ -439,14 +479,14 @@ public class TutorialPanel extends JPanel {
      * Stylt einen Navigationsbutton
      */
     private void styleNavigationButton(JButton button, boolean isPrimary) {
-        button.setFont(new Font("SansSerif", Font.BOLD, 16));
+        button.setFont(Theme.sans(Font.BOLD, 16));
         button.setForeground(TEXT_COLOR);
         button.setBackground(isPrimary ? ACCENT_COLOR : PANEL_COLOR);
         button.setPreferredSize(new Dimension(150, 45));
         button.setFocusPainted(false);
         button.setCursor(new Cursor(Cursor.HAND_CURSOR));
         button.setBorder(BorderFactory.createLineBorder(
-            isPrimary ? ACCENT_COLOR : new Color(60, 65, 77), 2));
+            isPrimary ? ACCENT_COLOR : Theme.BORDER, 2));
     }
     
     /**
@@ -473,7 +513,7 @@ public class TutorialPanel extends JPanel {
         JPanel textPanel = new JPanel(new BorderLayout());
         textPanel.setBackground(PANEL_COLOR);
         textPanel.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(60, 65, 77), 1),
+            BorderFactory.createLineBorder(Theme.BORDER, 1),
             BorderFactory.createEmptyBorder(20, 25, 20, 25)
         ));
         
@@ -501,20 +541,20 @@ public class TutorialPanel extends JPanel {
      * Startet die passende Animation für den Visualisierungstyp
      */
     private void startVisualizationAnimation(TutorialStep.VisualizationType type) {
-        if (animationTimer != null) {
-            animationTimer.stop();
+        if (animation != null) {
+            animation.cancel();
         }
         
         animationFrame = 0;
         
         if (type == TutorialStep.VisualizationType.HIGHLIGHT_ROWS ||
             type == TutorialStep.VisualizationType.HIGHLIGHT_COLS) {
-            animationTimer = new Timer(1000, e -> {
-                animationFrame = (animationFrame + 1) % 3;
+            // Endet von selbst, sobald das Tutorial ausgeblendet wird
+            animation = FrameScheduler.every(matrixVis, 1000, () -> {
+                animationFrame = (animationFrame + 1) % matrixVis.getHighlightCount();
+                // Zeichnet nur die alte und die neue Zeile bzw. Spalte neu
                 matrixVis.setHighlightIndex(animationFrame);
-                matrixVis.repaint();
             });
-            animationTimer.start();
         }
     }
     
@@ -542,195 +582,110 @@ public class TutorialPanel extends JPanel {
     }
     
     /**
-     * Panel zur Visualisierung von Matrizen
+     * Visualisierung einer Tutorial-Matrix auf Basis des MatrixExplorer
+     * (Zoom, Verschieben und Trefferprüfung ohne Schleife)
      */
-    class MatrixVisualizationPanel extends JPanel {
-        private double[][] matrix;
-        private TutorialStep.VisualizationType type;
-        private int highlightIndex = 0;
-        private int selectedRow = -1;
-        private int selectedCol = -1;
-        private int cellSize = 60;
+    class MatrixVisualizationPanel extends MatrixExplorer {
+        private final TutorialStep.VisualizationType type;
         
         public MatrixVisualizationPanel(double[][] matrix, TutorialStep.VisualizationType type) {
-            this.matrix = matrix;
+            super(matrix);
             this.type = type;
-            setBackground(BACKGROUND_COLOR);
-            setPreferredSize(new Dimension(400, 400));
+            
+            // Erste Zeile bzw. Spalte sofort hervorheben, nicht erst nach dem ersten Takt
+            if (type == TutorialStep.VisualizationType.HIGHLIGHT_ROWS ||
+                type == TutorialStep.VisualizationType.HIGHLIGHT_COLS) {
+                setHighlightIndex(0);
+            }
             
             // Mausinteraktion für interaktive Elemente
             if (type == TutorialStep.VisualizationType.INTERACTIVE_ELEMENTS) {
-                addMouseListener(new MouseAdapter() {
-                    @Override
-                    public void mouseClicked(MouseEvent e) {
-                        handleClick(e.getX(), e.getY());
-                    }
-                });
-                addMouseMotionListener(new MouseMotionAdapter() {
-                    @Override
-                    public void mouseMoved(MouseEvent e) {
-                        handleHover(e.getX(), e.getY());
-                    }
-                });
+                setSelectable(true);
+                setCrosshair(true);
             }
         }
         
-        public void setHighlightIndex(int index) {
-            this.highlightIndex = index;
-        }
-        
-        private void handleClick(int x, int y) {
-            int[] cell = getCellAt(x, y);
-            if (cell != null) {
-                selectedRow = cell[0];
-                selectedCol = cell[1];
-                repaint();
-            }
+        /**
+         * Anzahl der Schritte der Zeilen- bzw. Spaltenanimation
+         */
+        public int getHighlightCount() {
+            return type == TutorialStep.VisualizationType.HIGHLIGHT_COLS ? cols : rows;
         }
         
-        private void handleHover(int x, int y) {
-            // Optional: Hover-Effekt
-        }
-        
-        private int[] getCellAt(int x, int y) {
-            int startX = (getWidth() - matrix[0].length * cellSize) / 2;
-            int startY = (getHeight() - matrix.length * cellSize) / 2;
-            
-            for (int i = 0; i < matrix.length; i++) {
-                for (int j = 0; j < matrix[0].length; j++) {
-                    int cellX = startX + j * cellSize;
-                    int cellY = startY + i * cellSize;
-                    if (x >= cellX && x < cellX + cellSize &&
-                        y >= cellY && y < cellY + cellSize) {
-                        return new int[]{i, j};
-                    }
-                }
+        public void setHighlightIndex(int index) {
+            // Zeichnet nur die alte und die neue Zeile bzw. Spalte neu
+            if (type == TutorialStep.VisualizationType.HIGHLIGHT_ROWS) {
+                setHighlightRow(index);
+            } else if (type == TutorialStep.VisualizationType.HIGHLIGHT_COLS) {
+                setHighlightColumn(index);
             }
-            return null;
         }
         
         @Override
-        protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            
-            int rows = matrix.length;
-            int cols = matrix[0].length;
-            int startX = (getWidth() - cols * cellSize) / 2;
-            int startY = (getHeight() - rows * cellSize) / 2;
-            
-            // Matrix-Klammern zeichnen
-            drawMatrixBrackets(g2d, startX, startY, rows, cols);
-            
-            // Zellen zeichnen
-            for (int i = 0; i < rows; i++) {
-                for (int j = 0; j < cols; j++) {
-                    int x = startX + j * cellSize;
-                    int y = startY + i * cellSize;
-                    
-                    // Hintergrundfarbe basierend auf Typ
-                    Color cellColor = getCellColor(i, j);
-                    
-                    g2d.setColor(cellColor);
-                    g2d.fillRoundRect(x + 3, y + 3, cellSize - 6, cellSize - 6, 8, 8);
-                    
-                    // Rahmen
-                    g2d.setColor(new Color(70, 75, 87));
-                    g2d.drawRoundRect(x + 3, y + 3, cellSize - 6, cellSize - 6, 8, 8);
-                    
-                    // Wert
-                    g2d.setColor(TEXT_COLOR);
-                    g2d.setFont(new Font("SansSerif", Font.BOLD, 18));
-                    String value = formatValue(matrix[i][j]);
-                    FontMetrics fm = g2d.getFontMetrics();
-                    int textX = x + (cellSize - fm.stringWidth(value)) / 2;
-                    int textY = y + (cellSize + fm.getAscent() - fm.getDescent()) / 2;
-                    g2d.drawString(value, textX, textY);
-                }
-            }
-            
-            // Zusätzliche Visualisierungen
-            drawAdditionalVisuals(g2d, startX, startY, rows, cols);
+        protected void selectionChanged() {
+            // Beschriftung unter der Matrix
+            repaint(toScreen(-CELL, rows * CELL, (cols + 2) * CELL, 80));
         }
         
-        private Color getCellColor(int row, int col) {
+        @Override
+        protected Color cellColor(int row, int col) {
             switch (type) {
-                case HIGHLIGHT_ROWS:
-                    return row == highlightIndex ? SUCCESS_COLOR.darker() : MATRIX_CELL_COLOR;
-                case HIGHLIGHT_COLS:
-                    return col == highlightIndex ? new Color(224, 108, 117, 150) : MATRIX_CELL_COLOR;
                 case HIGHLIGHT_DIAGONAL:
-                    return row == col ? SUCCESS_COLOR.darker() : MATRIX_CELL_COLOR;
+                    return row == col ? SUCCESS_DARK : MATRIX_CELL_COLOR;
                 case INTERACTIVE_ELEMENTS:
-                    if (row == selectedRow && col == selectedCol) {
+                    if (row == getSelectedRow() && col == getSelectedColumn()) {
                         return HIGHLIGHT_COLOR;
                     }
                     return MATRIX_CELL_COLOR;
                 case CELEBRATION:
                     // Regenbogeneffekt
-                    float hue = (float)(row * matrix[0].length + col) / (matrix.length * matrix[0].length);
+                    float hue = (float)(row * cols + col) / (rows * cols);
                     return Color.getHSBColor(hue, 0.5f, 0.7f);
                 default:
-                    return MATRIX_CELL_COLOR;
+                    return super.cellColor(row, col);
             }
         }
         
-        private void drawMatrixBrackets(Graphics2D g2d, int startX, int startY, int rows, int cols) {
-            g2d.setColor(ACCENT_COLOR);
-            g2d.setStroke(new BasicStroke(3));
-            
-            int width = cols * cellSize;
-            int height = rows * cellSize;
-            int bracketWidth = 15;
-            
-            // Linke Klammer
-            g2d.drawLine(startX - bracketWidth, startY, startX - 5, startY);
-            g2d.drawLine(startX - bracketWidth, startY, startX - bracketWidth, startY + height);
-            g2d.drawLine(startX - bracketWidth, startY + height, startX - 5, startY + height);
-            
-            // Rechte Klammer
-            g2d.drawLine(startX + width + 5, startY, startX + width + bracketWidth, startY);
-            g2d.drawLine(startX + width + bracketWidth, startY, startX + width + bracketWidth, startY + height);
-            g2d.drawLine(startX + width + 5, startY + height, startX + width + bracketWidth, startY + height);
-        }
-        
-        private void drawAdditionalVisuals(Graphics2D g2d, int startX, int startY, int rows, int cols) {
+        @Override
+        protected void paintOverlay(Graphics2D g2d) {
             switch (type) {
                 case SHOW_DIMENSION:
                     // Dimensionsanzeige
-                    g2d.setFont(new Font("SansSerif", Font.BOLD, 16));
+                    g2d.setFont(DIMENSION_FONT);
                     g2d.setColor(HIGHLIGHT_COLOR);
                     String dimension = rows + " × " + cols;
-                    g2d.drawString(dimension, startX + (cols * cellSize - 50) / 2, startY + rows * cellSize + 35);
+                    g2d.drawString(dimension, (cols * CELL - 50) / 2, rows * CELL + 35);
                     
                     // Pfeile für Zeilen/Spalten
                     g2d.setColor(SUCCESS_COLOR);
-                    g2d.drawString("m = " + rows, startX - 70, startY + rows * cellSize / 2);
-                    g2d.setColor(new Color(224, 108, 117));
-                    g2d.drawString("n = " + cols, startX + cols * cellSize / 2 - 15, startY - 15);
+                    g2d.drawString("m = " + rows, -70, rows * CELL / 2);
+                    g2d.setColor(Theme.ERROR);
+                    g2d.drawString("n = " + cols, cols * CELL / 2 - 15, -15);
                     break;
                     
                 case INTERACTIVE_ELEMENTS:
+                    int selectedRow = getSelectedRow();
+                    int selectedCol = getSelectedColumn();
                     if (selectedRow >= 0 && selectedCol >= 0) {
-                        g2d.setFont(new Font("SansSerif", Font.BOLD, 18));
+                        g2d.setFont(VALUE_FONT);
                         g2d.setColor(HIGHLIGHT_COLOR);
                         String notation = "a" + (selectedRow + 1) + (selectedCol + 1) + " = " + 
                                          formatValue(matrix[selectedRow][selectedCol]);
-                        g2d.drawString(notation, startX, startY + rows * cellSize + 40);
+                        g2d.drawString(notation, 0, rows * CELL + 40);
                         
                         g2d.setColor(TEXT_COLOR);
-                        g2d.setFont(new Font("SansSerif", Font.PLAIN, 14));
+                        g2d.setFont(CAPTION_FONT);
                         g2d.drawString("Zeile " + (selectedRow + 1) + ", Spalte " + (selectedCol + 1), 
-                                      startX, startY + rows * cellSize + 65);
+                                      0, rows * CELL + 65);
                     } else {
-                        g2d.setColor(new Color(TEXT_COLOR.getRed(), TEXT_COLOR.getGreen(), 
-                                              TEXT_COLOR.getBlue(), 150));
-                        g2d.setFont(new Font("SansSerif", Font.ITALIC, 14));
-                        g2d.drawString("Klicke auf ein Element!", 
-                                      startX + 20, startY + rows * cellSize + 40);
+                        g2d.setColor(Theme.TEXT_MUTED);
+                        g2d.setFont(HINT_FONT);
+                        g2d.drawString("Klicke auf ein Element!", 20, rows * CELL + 40);
                     }
                     break;
+                    
+                default:
+                    break;
             }
         }
         
@@ -0,0 +1,117 @@
+import java.util.concurrent.*;
+
+/**
+ * WorkedSolutions - Lösungswege und Hinweise im Hintergrund vorbereiten
+ *
+ * Sobald eine Aufgabe generiert ist, werden Lösungsweg und Hinweis auf
+ * einem Hintergrund-Thread formatiert und als Future an die {@link Question}
+ * gehängt. Bei einer falschen Antwort liegt der Text dann bereits fertig vor
+ * und der Event-Thread muss nichts mehr formatieren.
+ *
+ * Enthält außerdem die gemeinsamen Formatierungshilfen für die Lösungstexte.
+ */
+public final class WorkedSolutions {
+
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "worked-solutions");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private WorkedSolutions() {
+    }
+
+    /**
+     * Startet die Vorberechnung von Lösungsweg und Hinweis für eine Aufgabe
+     */
+    public static void precompute(QuestionType type, Question question) {
+        question.solution = CompletableFuture.supplyAsync(() -> type.explain(question), EXECUTOR);
+        question.hint = CompletableFuture.supplyAsync(() -> type.hint(question), EXECUTOR);
+    }
+
+    // ==================== Formatierung ====================
+
+    static String formatValue(double value) {
+        if (Double.isNaN(value)) return "?";
+        if (value == (int) value) {
+            return String.valueOf((int) value);
+        }
+        return String.format("%.2f", value);
+    }
+
+    /**
+     * Wert als gekürzter Bruch mit höchstens dem angegebenen Nenner, z.B. "-2/3"
+     */
+    static String formatFraction(double value, double denominator) {
+        long den = Math.round(Math.abs(denominator));
+        long num = Math.round(value * den);
+        if (den == 0 || Math.abs(num - value * den) > 1e-6) return formatValue(value);
+        long gcd = gcd(Math.abs(num), den);
+        num /= gcd;
+        den /= gcd;
+        return den == 1 ? String.valueOf(num) : num + "/" + den;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a == 0 ? 1 : a;
+    }
+
+    /**
+     * Matrix zeilenweise als [a, b]-Zeilen, jede Zeile mit Zeilenumbruch
+     */
+    static void appendMatrix(StringBuilder sb, double[][] matrix) {
+        for (double[] row : matrix) {
+            sb.append("[");
+            for (int j = 0; j < row.length; j++) {
+                sb.append(formatValue(row[j]));
+                if (j < row.length - 1) sb.append(", ");
+            }
+            sb.append("]\n");
+        }
+    }
+
+    /**
+     * Schlussteil jedes Lösungswegs: die richtige Antwort
+     */
+    static void appendAnswer(StringBuilder sb, Question question) {
+        sb.append("Richtige Antwort: ");
+        if (question.isSingleValue()) {
+            sb.append(formatAnswer(question, question.expected[0][0]));
+        } else {
+            sb.append("\n");
+            for (double[] row : question.expected) {
+                sb.append("[");
+                for (int j = 0; j < row.length; j++) {
+                    sb.append(formatAnswer(question, row[j]));
+                    if (j < row.length - 1) sb.append(", ");
+                }
+                sb.append("]\n");
+            }
+        }
+    }
+
+    /**
+     * Ergebniswert so, wie er eingegeben werden soll (Brüche bei exakt rationalen Aufgaben)
+     */
+    static String formatAnswer(Question question, double value) {
+        if (question.comparator.getMode() == AnswerComparator.Mode.EXACT_RATIONAL) {
+            return formatFraction(value, question.comparator.getDenominator());
+        }
+        return formatValue(value);
+    }
+
+    /**
+     * Lösung ohne Rechenweg (Standard für Aufgabentypen ohne eigene Erklärung)
+     */
+    static String answerOnly(Question question) {
+        StringBuilder sb = new StringBuilder();
+        appendAnswer(sb, question);
+        return sb.toString();
+    }
+}